@@ -53,6 +53,8 @@ dependencies {
     implementation(libs.navigation.ui)
     implementation(libs.volley)
     implementation(libs.gson)
+    implementation(libs.okhttp)
+    implementation(libs.okhttp.brotli)
     implementation("com.squareup.picasso:picasso:2.8")
     implementation("jp.wasabeef:richeditor-android:2.0.0")
 
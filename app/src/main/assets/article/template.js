@@ -0,0 +1,9 @@
+// Called by ArticleHtmlRenderer through evaluateJavascript; the body is sanitized before it gets here
+function setBody(html) {
+    document.getElementById('content').innerHTML = html;
+    window.scrollTo(0, 0);
+}
+
+function setFontSize(px) {
+    document.documentElement.style.setProperty('--article-font-size', px + 'px');
+}
@@ -1,21 +1,17 @@
 package com.example.newsapplication;
 
-import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.media.MediaPlayer;
 import android.net.Uri;
-import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
-import android.webkit.WebSettings;
-import android.webkit.WebView;
 import android.widget.EditText;
+import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.widget.SeekBar;
@@ -30,23 +26,34 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.newsapplication.adapter.CommentsAdapter;
 import com.example.newsapplication.model.Article;
 import com.example.newsapplication.model.Comment;
+import com.example.newsapplication.ui.ArticleHtmlRenderer;
+import com.example.newsapplication.ui.ArticleWebViewPool;
 import com.example.newsapplication.ui.FontSizeDialog;
 import com.example.newsapplication.utils.FontSizeManager;
 import com.example.newsapplication.utils.DateUtils;
+import com.example.newsapplication.repository.ArticleRegistry;
+import com.example.newsapplication.repository.MutationQueue;
 import com.example.newsapplication.repository.NewsRepository;
 import com.example.newsapplication.api.ApiResponse;
 import com.example.newsapplication.auth.UserSessionManager;
 import com.example.newsapplication.audio.AudioPlayerService;
+import com.example.newsapplication.audio.PlaybackState;
+import com.example.newsapplication.audio.PlaybackStateObserver;
+import com.example.newsapplication.audio.TtsAudioCache;
 import com.example.newsapplication.utils.JsonParsingUtils;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class ArticleDetailActivity extends AppCompatActivity {
 
+    public static final String EXTRA_ARTICLE_ID = "article_id";
+    // Only for articles without an id; everything else is looked up in ArticleRegistry
+    private static final String EXTRA_ARTICLE = "article";
+
     private ImageView backImageView;
     private ImageView articleImageView;
     private ImageView bookmarkImageView;
@@ -64,7 +71,11 @@ public class ArticleDetailActivity extends AppCompatActivity {
     private TextView categoryTextView;
     private TextView summaryTextView;
     private TextView contentTextView;
-    private WebView contentWebView;
+    private ViewGroup contentWebViewContainer;
+    private ArticleHtmlRenderer htmlRenderer;
+    // Comments shown before the server has them, by the key addComment returned
+    private final Map<String, Comment> pendingComments = new HashMap<>();
+    private final MutationQueue.Listener commentFailureListener = this::onCommentFailed;
 
     // Font size controls
     private TextView fontSizeIcon;
@@ -87,40 +98,38 @@ public class ArticleDetailActivity extends AppCompatActivity {
     
     // Audio player
     private boolean isPlaying = false;
-    private Handler uiProgressHandler;
-    private Runnable uiProgressRunnable;
     private boolean isUserSeeking = false;
     private int audioDurationMs = 0;
     
-    // BroadcastReceiver for audio state updates
-    private BroadcastReceiver audioStateReceiver = new BroadcastReceiver() {
+    // Playback state pushed by the bound audio service; progress is ticked locally in between
+    private final PlaybackStateObserver playbackObserver = new PlaybackStateObserver(this,
+            new PlaybackStateObserver.Callback() {
         @Override
-        public void onReceive(Context context, Intent intent) {
-            if (AudioPlayerService.ACTION_AUDIO_STATE.equals(intent.getAction())) {
-                boolean playing = intent.getBooleanExtra(AudioPlayerService.EXTRA_IS_PLAYING, false);
-                int position = intent.getIntExtra(AudioPlayerService.EXTRA_POSITION_MS, 0);
-                int duration = intent.getIntExtra(AudioPlayerService.EXTRA_DURATION_MS_BROADCAST, 0);
-                String title = intent.getStringExtra(AudioPlayerService.EXTRA_AUDIO_TITLE);
-                if (title == null) {
-                    title = "";
-                }
-                
-                isPlaying = playing;
+        public void onPlaybackStateChanged(PlaybackState state) {
+            // Only reflect the service when it is playing this article
+            String articleId = state.getArticleId();
+            boolean thisArticle = articleId == null || currentArticle == null || articleId.equals(currentArticle.getId());
+            isPlaying = state.isPlaying() && thisArticle;
+            if (thisArticle) {
+                int duration = state.getDurationMs();
                 if (duration > 0 && audioDurationMs == 0) {
                     audioDurationMs = duration;
                     audioProgressSeekBar.setMax(duration);
                     audioDurationTextView.setText(formatMillis(duration));
                 }
-                
-                if (!isUserSeeking) {
-                    audioProgressSeekBar.setProgress(position);
-                    audioCurrentTimeTextView.setText(formatMillis(position));
-                }
-                
-                updateAudioIcons();
+                onPositionTick(playbackObserver.getPositionMs());
             }
+            updateAudioIcons();
         }
-    };
+
+        @Override
+        public void onPositionTick(int positionMs) {
+            if (!isUserSeeking) {
+                audioProgressSeekBar.setProgress(positionMs);
+                audioCurrentTimeTextView.setText(formatMillis(positionMs));
+            }
+        }
+    });
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -133,7 +142,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         // Initialize repository and session manager
         newsRepository = new NewsRepository(this);
         sessionManager = new UserSessionManager(this);
-        uiProgressHandler = new Handler(Looper.getMainLooper());
 
         initViews();
         setupCommentsRecyclerView();
@@ -141,6 +149,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
         setupClickListeners();
         applyFontSize();
         loadComments();
+        MutationQueue.getInstance(this).addListener(commentFailureListener);
     }
 
     private void initViews() {
@@ -162,7 +171,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         categoryTextView = findViewById(R.id.categoryTextView);
         summaryTextView = findViewById(R.id.summaryTextView);
         contentTextView = findViewById(R.id.contentTextView);
-        contentWebView = findViewById(R.id.contentWebView);
         
         // Setup WebView
         setupWebView();
@@ -178,13 +186,11 @@ public class ArticleDetailActivity extends AppCompatActivity {
     }
     
     private void setupWebView() {
-        if (contentWebView != null) {
-            WebSettings webSettings = contentWebView.getSettings();
-            webSettings.setJavaScriptEnabled(false);
-            webSettings.setLoadWithOverviewMode(true);
-            webSettings.setUseWideViewPort(true);
-            contentWebView.setBackgroundColor(android.graphics.Color.TRANSPARENT);
-        }
+        // Usually a pooled view with the template already loaded, so the article can show at once
+        htmlRenderer = ArticleWebViewPool.acquire(this, fontSizeManager.getFontSize());
+        contentWebViewContainer = findViewById(R.id.contentWebViewContainer);
+        contentWebViewContainer.addView(htmlRenderer.getWebView(), new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
     }
 
     private void setupCommentsRecyclerView() {
@@ -194,6 +200,23 @@ public class ArticleDetailActivity extends AppCompatActivity {
         commentsRecyclerView.setNestedScrollingEnabled(false);
     }
 
+    /**
+     * Intent that opens the given article. Only its id is put in the Intent; the article
+     * itself is handed over through {@link ArticleRegistry}, which avoids serializing the
+     * full HTML content on the main thread and the Binder transaction size limit.
+     */
+    public static Intent newIntent(Context context, Article article) {
+        Intent intent = new Intent(context, ArticleDetailActivity.class);
+        String articleId = article.getId();
+        if (articleId != null && !articleId.isEmpty()) {
+            ArticleRegistry.getInstance().put(article);
+            intent.putExtra(EXTRA_ARTICLE_ID, articleId);
+        } else {
+            intent.putExtra(EXTRA_ARTICLE, article);
+        }
+        return intent;
+    }
+
     private void setupData() {
         // ✅ THÊM: Handle deep link intent
         Intent intent = getIntent();
@@ -209,12 +232,16 @@ public class ArticleDetailActivity extends AppCompatActivity {
         }
 
         // Existing logic
-        if (getIntent().hasExtra("article")) {
-            currentArticle = (Article) getIntent().getSerializableExtra("article");
-        } else if (getIntent().hasExtra("article_id")) {
-            String articleId = getIntent().getStringExtra("article_id");
-            fetchArticleById(articleId);
-            return;
+        if (getIntent().hasExtra(EXTRA_ARTICLE)) {
+            currentArticle = (Article) getIntent().getSerializableExtra(EXTRA_ARTICLE);
+        } else if (getIntent().hasExtra(EXTRA_ARTICLE_ID)) {
+            String articleId = getIntent().getStringExtra(EXTRA_ARTICLE_ID);
+            // Opened from a list in this process: the article is already in memory
+            currentArticle = ArticleRegistry.getInstance().get(articleId);
+            if (currentArticle == null) {
+                fetchArticleById(articleId);
+                return;
+            }
         }
 
         if (currentArticle != null) {
@@ -242,11 +269,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
         }
 
         // Format and add published date using DateUtils
-        String publishedAt = currentArticle.getPublishedAt();
-        if (publishedAt == null || publishedAt.isEmpty()) {
-            publishedAt = currentArticle.getDate();
-        }
-        String formattedDate = DateUtils.formatToFullDate(publishedAt);
+        String formattedDate = DateUtils.formatToFullDate(currentArticle.getPublishedAtMillis());
         if (!formattedDate.isEmpty()) {
             if (sourceBuilder.length() > 0) {
                 sourceBuilder.append(" • ");
@@ -271,12 +294,12 @@ public class ArticleDetailActivity extends AppCompatActivity {
         if (content != null && !content.isEmpty()) {
             if (isHtmlContent(content)) {
                 // Use WebView for HTML content
-                contentWebView.setVisibility(View.VISIBLE);
+                contentWebViewContainer.setVisibility(View.VISIBLE);
                 contentTextView.setVisibility(View.GONE);
                 loadHtmlContent(content);
             } else {
                 // Use TextView for plain text
-                contentWebView.setVisibility(View.GONE);
+                contentWebViewContainer.setVisibility(View.GONE);
                 contentTextView.setVisibility(View.VISIBLE);
                 contentTextView.setText(content);
             }
@@ -285,12 +308,9 @@ public class ArticleDetailActivity extends AppCompatActivity {
         // Load article image from URL using Picasso
         try {
             if (currentArticle.getImageUrl() != null && !currentArticle.getImageUrl().isEmpty()) {
-                com.squareup.picasso.Picasso.get()
-                    .load(currentArticle.getImageUrl())
+                com.example.newsapplication.utils.ImageLoader.thumbnail(currentArticle.getImageUrl())
                     .noPlaceholder()
                     .error(R.drawable.placeholder_image)
-                    .fit()
-                    .centerCrop()
                     .into(articleImageView);
             } else {
                 articleImageView.setImageResource(R.drawable.placeholder_image);
@@ -324,6 +344,11 @@ public class ArticleDetailActivity extends AppCompatActivity {
                         int ttsDurationSeconds = articleJson.optInt("tts_duration_seconds", 0);
                         currentArticle.setTtsAudioUrl(ttsUrl);
                         currentArticle.setTtsDurationSeconds(ttsDurationSeconds);
+
+                        // Readers who open an article often listen to it; fetch the first seconds now
+                        if (ttsUrl != null && ttsUrl.startsWith("http")) {
+                            TtsAudioCache.getInstance(ArticleDetailActivity.this).prefetch(currentArticle.getId(), ttsUrl);
+                        }
                         
                         // Update audio player setup if needed
                         if (ttsDurationSeconds > 0) {
@@ -349,6 +374,23 @@ public class ArticleDetailActivity extends AppCompatActivity {
         titleTextView.setText("Loading...");
         sourceTextView.setText("");
 
+        // Pushed articles are usually prefetched; open those straight from the local store.
+        // setupArticleUI still refreshes the TTS details from the network afterwards.
+        newsRepository.getStoredArticle(articleId, stored -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            if (stored.isSuccess()) {
+                currentArticle = stored.getData();
+                ArticleRegistry.getInstance().put(currentArticle);
+                setupArticleUI();
+            } else {
+                fetchArticleFromNetwork(articleId);
+            }
+        });
+    }
+
+    private void fetchArticleFromNetwork(String articleId) {
         newsRepository.getArticle(articleId, new NewsRepository.RepositoryCallback<JSONObject>() {
             @Override
             public void onResult(ApiResponse<JSONObject> response) {
@@ -370,6 +412,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
                         Article article = JsonParsingUtils.parseSingleArticleResponse(articleJson);
                         if (article != null) {
                             currentArticle = article;
+                            ArticleRegistry.getInstance().put(article);
                             // Call UI setup directly to avoid infinite loop
                             setupArticleUI();
                         } else {
@@ -478,30 +521,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         audioControlPlayPause.setImageResource(icon);
     }
     
-    private void startLocalUIUpdates() {
-        if (uiProgressRunnable != null) {
-            uiProgressHandler.removeCallbacks(uiProgressRunnable);
-        }
-        uiProgressRunnable = new Runnable() {
-            @Override
-            public void run() {
-                if (isPlaying && audioDurationMs > 0 && !isUserSeeking) {
-                    // Update UI locally based on duration
-                    // The actual position will come from the service via broadcast
-                    uiProgressHandler.postDelayed(this, 1000);
-                }
-            }
-        };
-        uiProgressHandler.post(uiProgressRunnable);
-    }
-    
-    private void stopLocalUIUpdates() {
-        if (uiProgressRunnable != null) {
-            uiProgressHandler.removeCallbacks(uiProgressRunnable);
-            uiProgressRunnable = null;
-        }
-    }
-    
     private String formatMillis(int millis) {
         if (millis <= 0) {
             return "00:00";
@@ -521,7 +540,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
             return currentArticle.getTtsAudioUrl();
         }
         if (currentArticle.getId() != null) {
-            return "https://byvkcpdtprodvhadpdix.supabase.co/storage/v1/object/public/audio_articles/" + currentArticle.getId() + ".mp3";
+            return com.example.newsapplication.api.ApiConfig.TTS_AUDIO_BASE_URL + currentArticle.getId() + ".mp3";
         }
         return null;
     }
@@ -559,6 +578,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
         Intent playIntent = new Intent(this, AudioPlayerService.class);
         playIntent.setAction(AudioPlayerService.ACTION_PLAY);
         playIntent.putExtra(AudioPlayerService.EXTRA_AUDIO_URL, audioUrl);
+        playIntent.putExtra(AudioPlayerService.EXTRA_ARTICLE_ID, currentArticle.getId());
         String articleTitle = currentArticle.getTitle();
         playIntent.putExtra(AudioPlayerService.EXTRA_AUDIO_TITLE, articleTitle != null ? articleTitle : "Audio");
         playIntent.putExtra(AudioPlayerService.EXTRA_DURATION_MS, durationMs);
@@ -566,7 +586,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         
         isPlaying = true;
         updateAudioIcons();
-        startLocalUIUpdates();
     }
     
     private void pauseAudio() {
@@ -576,7 +595,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         
         isPlaying = false;
         updateAudioIcons();
-        stopLocalUIUpdates();
     }
     
     private boolean isHtmlContent(String content) {
@@ -584,28 +602,7 @@ public class ArticleDetailActivity extends AppCompatActivity {
     }
     
     private void loadHtmlContent(String htmlContent) {
-        int fontSize = (int) fontSizeManager.getFontSize();
-        loadHtmlContentWithFontSize(htmlContent, fontSize);
-    }
-    
-    private void loadHtmlContentWithFontSize(String htmlContent, int fontSize) {
-        // Wrap HTML content with proper styling using dynamic font size
-        String styledHtml = "<!DOCTYPE html><html><head>" +
-                "<meta name='viewport' content='width=device-width, initial-scale=1.0'>" +
-                "<style>" +
-                "body { font-family: sans-serif; font-size: " + fontSize + "px; line-height: 1.6; color: #333; margin: 0; padding: 0; }" +
-                "img { max-width: 100%; height: auto; border-radius: 8px; margin: 12px 0; }" +
-                "p { margin: 12px 0; }" +
-                "a { color: #0866FF; text-decoration: none; }" +
-                ".Normal { margin: 12px 0; }" +
-                "video, iframe { max-width: 100%; }" +
-                ".box_embed_video_parent { margin: 16px 0; }" +
-                ".box_img_video img { width: 100%; border-radius: 8px; }" +
-                "</style></head><body>" +
-                htmlContent +
-                "</body></html>";
-        
-        contentWebView.loadDataWithBaseURL(null, styledHtml, "text/html", "UTF-8", null);
+        htmlRenderer.showArticle(currentArticle.getId(), htmlContent);
     }
     
     private void setupClickListeners() {
@@ -622,45 +619,9 @@ public class ArticleDetailActivity extends AppCompatActivity {
                 boolean isBookmarked = currentArticle.isBookmarked();
                 currentArticle.setBookmarked(!isBookmarked);
                 
-                // Call bookmark API
-                if (!isBookmarked) {
-                    // Add bookmark
-                    newsRepository.bookmarkArticle(currentArticle.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                        @Override
-                        public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                            if (response.isSuccess()) {
-                                updateBookmarkIcon();
-                                Toast.makeText(ArticleDetailActivity.this, "Article bookmarked", Toast.LENGTH_SHORT).show();
-                            } else {
-                                // Check for duplicate bookmark error (400)
-                                if (response.getStatusCode() == 400 || (response.getErrorMessage() != null && response.getErrorMessage().contains("duplicate"))) {
-                                    // Treat as success since it's already bookmarked
-                                    updateBookmarkIcon();
-                                    Toast.makeText(ArticleDetailActivity.this, "Article already bookmarked", Toast.LENGTH_SHORT).show();
-                                } else {
-                                    currentArticle.setBookmarked(false);
-                                    updateBookmarkIcon();
-                                    Toast.makeText(ArticleDetailActivity.this, response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                                }
-                            }
-                        }
-                    });
-                } else {
-                    // Remove bookmark
-                    newsRepository.removeBookmark(currentArticle.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                        @Override
-                        public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                            if (response.isSuccess()) {
-                                updateBookmarkIcon();
-                                Toast.makeText(ArticleDetailActivity.this, "Bookmark removed", Toast.LENGTH_SHORT).show();
-                            } else {
-                                currentArticle.setBookmarked(true);
-                                updateBookmarkIcon();
-                                Toast.makeText(ArticleDetailActivity.this, response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                            }
-                        }
-                    });
-                }
+                updateBookmarkIcon();
+                newsRepository.setBookmarked(currentArticle.getId(), !isBookmarked);
+                Toast.makeText(this, isBookmarked ? "Bookmark removed" : "Article bookmarked", Toast.LENGTH_SHORT).show();
             }
         });
 
@@ -706,24 +667,13 @@ public class ArticleDetailActivity extends AppCompatActivity {
         
         showCommentsLoading();
         
-        newsRepository.getComments(articleId, new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getCommentsList(articleId, new NewsRepository.RepositoryCallback<List<Comment>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Comment>> response) {
                 hideCommentsLoading();
                 
-                if (response.isSuccess()) {
-                    try {
-                        JSONObject data = response.getData();
-                        List<Comment> comments = parseComments(data);
-                        
-                        if (comments.isEmpty()) {
-                            showNoComments();
-                        } else {
-                            showComments(comments);
-                        }
-                    } catch (Exception e) {
-                        showNoComments();
-                    }
+                if (response.isSuccess() && response.getData() != null && !response.getData().isEmpty()) {
+                    showComments(response.getData());
                 } else {
                     showNoComments();
                 }
@@ -731,40 +681,6 @@ public class ArticleDetailActivity extends AppCompatActivity {
         });
     }
 
-    private List<Comment> parseComments(JSONObject data) {
-        List<Comment> comments = new ArrayList<>();
-        try {
-            JSONArray commentsArray = null;
-            
-            // Check different possible structures
-            if (data.has("comments")) {
-                commentsArray = data.getJSONArray("comments");
-            } else if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONArray) {
-                    commentsArray = (JSONArray) dataObj;
-                } else if (dataObj instanceof JSONObject) {
-                    JSONObject dataObject = (JSONObject) dataObj;
-                    if (dataObject.has("comments")) {
-                        commentsArray = dataObject.getJSONArray("comments");
-                    }
-                }
-            } else if (data.has("items")) {
-                commentsArray = data.getJSONArray("items");
-            }
-            
-            if (commentsArray != null) {
-                for (int i = 0; i < commentsArray.length(); i++) {
-                    JSONObject commentJson = commentsArray.getJSONObject(i);
-                    Comment comment = Comment.fromJson(commentJson);
-                    comments.add(comment);
-                }
-            }
-        } catch (Exception e) {
-        }
-        return comments;
-    }
-
     private void showCommentsLoading() {
         commentsProgressBar.setVisibility(View.VISIBLE);
         noCommentsTextView.setVisibility(View.GONE);
@@ -808,47 +724,40 @@ public class ArticleDetailActivity extends AppCompatActivity {
             return;
         }
         
-        commentEditText.setEnabled(false);
-        sendCommentButton.setEnabled(false);
-        
-        newsRepository.addComment(articleId, commentText, new NewsRepository.RepositoryCallback<JSONObject>() {
-            @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                commentEditText.setEnabled(true);
-                sendCommentButton.setEnabled(true);
-                
-                if (response.isSuccess()) {
-                    commentEditText.setText("");
-                    hideKeyboard();
-                    Toast.makeText(ArticleDetailActivity.this, "Comment posted", Toast.LENGTH_SHORT).show();
-                    
-                    try {
-                        JSONObject data = response.getData();
-                        Comment newComment = Comment.fromJson(data);
-                        
-                        if (newComment.getContent() == null || newComment.getContent().isEmpty()) {
-                            newComment = new Comment();
-                            newComment.setContent(commentText);
-                            newComment.setUserName(sessionManager.getUserName());
-                            newComment.setCreatedAt(java.time.Instant.now().toString());
-                        }
-                        
-                        commentsAdapter.addComment(newComment);
-                        
-                        int count = commentsAdapter.getItemCount();
-                        commentCountTextView.setText("(" + count + ")");
-                        
-                        noCommentsTextView.setVisibility(View.GONE);
-                        commentsRecyclerView.setVisibility(View.VISIBLE);
-                        
-                    } catch (Exception e) {
-                        loadComments();
-                    }
-                } else {
-                    Toast.makeText(ArticleDetailActivity.this, response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                }
+        // Shown right away; the comment is sent as soon as there is a connection
+        String commentKey = newsRepository.addComment(articleId, commentText);
+        commentEditText.setText("");
+        hideKeyboard();
+
+        Comment newComment = new Comment();
+        newComment.setContent(commentText);
+        newComment.setUserName(sessionManager.getUserName());
+        newComment.setCreatedAt(java.time.Instant.now().toString());
+        pendingComments.put(commentKey, newComment);
+        commentsAdapter.addComment(newComment, () ->
+            commentCountTextView.setText("(" + commentsAdapter.getItemCount() + ")"));
+
+        noCommentsTextView.setVisibility(View.GONE);
+        commentsRecyclerView.setVisibility(View.VISIBLE);
+    }
+
+    // The server refused the comment or it was given up on; MutationQueue has told the user
+    private void onCommentFailed(String articleId, String commentKey, String content) {
+        Comment comment = pendingComments.remove(commentKey);
+        if (comment == null) {
+            return;
+        }
+        commentsAdapter.removeComment(comment, () -> {
+            int count = commentsAdapter.getItemCount();
+            commentCountTextView.setText("(" + count + ")");
+            if (count == 0) {
+                showNoComments();
             }
         });
+        // Give the text back so it can be sent again
+        if (commentEditText.getText().toString().trim().isEmpty()) {
+            commentEditText.setText(content);
+        }
     }
 
     private void shareArticle() {
@@ -888,12 +797,9 @@ public class ArticleDetailActivity extends AppCompatActivity {
         // Apply font size to plain text content
         contentTextView.setTextSize(fontSize);
         
-        // Apply font size to WebView HTML content
-        if (currentArticle != null && contentWebView.getVisibility() == View.VISIBLE) {
-            String content = currentArticle.getContent();
-            if (content != null && !content.isEmpty() && isHtmlContent(content)) {
-                loadHtmlContentWithFontSize(content, (int) fontSize);
-            }
+        // Apply font size to WebView HTML content; only a CSS variable changes, nothing reloads
+        if (htmlRenderer != null) {
+            htmlRenderer.setFontSize(fontSize);
         }
     }
 
@@ -915,32 +821,24 @@ public class ArticleDetailActivity extends AppCompatActivity {
     @Override
     protected void onStart() {
         super.onStart();
-        // Register broadcast receiver
-        IntentFilter filter = new IntentFilter(AudioPlayerService.ACTION_AUDIO_STATE);
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-            registerReceiver(audioStateReceiver, filter, Context.RECEIVER_NOT_EXPORTED);
-        } else {
-            registerReceiver(audioStateReceiver, filter);
-        }
+        playbackObserver.start();
     }
     
     @Override
     protected void onStop() {
         super.onStop();
-        // Unregister broadcast receiver
-        try {
-            unregisterReceiver(audioStateReceiver);
-        } catch (Exception e) {
-            // Already unregistered
-        }
+        playbackObserver.stop();
         // Hide control bar when leaving article, but keep service running
         audioControlBar.setVisibility(View.GONE);
-        stopLocalUIUpdates();
     }
-    
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        stopLocalUIUpdates();
+        MutationQueue.getInstance(this).removeListener(commentFailureListener);
+        if (htmlRenderer != null) {
+            ArticleWebViewPool.release(htmlRenderer);
+            htmlRenderer = null;
+        }
     }
 }
\ No newline at end of file
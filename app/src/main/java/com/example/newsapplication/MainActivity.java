@@ -1,16 +1,12 @@
 package com.example.newsapplication;
 
-import android.annotation.SuppressLint;
 import android.app.ActivityManager;
-import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -19,7 +15,6 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.core.content.ContextCompat;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
@@ -34,7 +29,11 @@ import com.example.newsapplication.auth.AuthService;
 import com.example.newsapplication.auth.EditProfileDialog;
 import com.example.newsapplication.auth.PasswordSetupDialog;
 import com.example.newsapplication.audio.AudioPlayerService;
+import com.example.newsapplication.audio.PlaybackState;
+import com.example.newsapplication.audio.PlaybackStateObserver;
+import com.example.newsapplication.firebase.PushNotifier;
 import com.example.newsapplication.ui.home.HomeFragment;
+import com.example.newsapplication.ui.notifications.NotificationHistoryActivity;
 
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GoogleApiAvailability;
@@ -63,26 +62,24 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
 
     private static final String TAG = "MainActivity";
 
-    // BroadcastReceiver for audio state updates
-    private BroadcastReceiver audioStateReceiver = new BroadcastReceiver() {
-        @Override
-        public void onReceive(Context context, Intent intent) {
-            if (AudioPlayerService.ACTION_AUDIO_STATE.equals(intent.getAction())) {
-                boolean playing = intent.getBooleanExtra(AudioPlayerService.EXTRA_IS_PLAYING, false);
-                int position = intent.getIntExtra(AudioPlayerService.EXTRA_POSITION_MS, 0);
-                int duration = intent.getIntExtra(AudioPlayerService.EXTRA_DURATION_MS_BROADCAST, 0);
-                String title = intent.getStringExtra(AudioPlayerService.EXTRA_AUDIO_TITLE);
-                if (title == null) {
-                    title = "";
+    // Playback state pushed by the bound audio service; progress is ticked locally in between
+    private final PlaybackStateObserver playbackObserver = new PlaybackStateObserver(this,
+            new PlaybackStateObserver.Callback() {
+                @Override
+                public void onPlaybackStateChanged(PlaybackState state) {
+                    String title = state.getTitle() != null ? state.getTitle() : "";
+                    updateAudioMiniBar(state.isPlaying(), playbackObserver.getPositionMs(),
+                            state.getDurationMs(), title);
                 }
 
-                Log.d(TAG, "Broadcast received - playing: " + playing + ", position: " + position +
-                        ", duration: " + duration + ", title: " + title);
-
-                updateAudioMiniBar(playing, position, duration, title);
-            }
-        }
-    };
+                @Override
+                public void onPositionTick(int positionMs) {
+                    if (!isUserSeeking && audioMiniPlayerBar.getVisibility() == View.VISIBLE) {
+                        audioMiniSeekBar.setProgress(positionMs);
+                        audioMiniCurrentTime.setText(formatMillis(positionMs));
+                    }
+                }
+            });
 
     // Navigation state constants
     private static final int NAV_HOME = 1;
@@ -445,6 +442,9 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
             new Handler().postDelayed(() -> {
                 openArticleFromNotification(articleId);
             }, 300);
+        } else if (PushNotifier.SCREEN_NOTIFICATION_HISTORY.equals(getIntent().getStringExtra("screen"))) {
+            // Summary of a burst of pushes
+            startActivity(new Intent(this, NotificationHistoryActivity.class));
         } else {
             Log.d(TAG, "No article_id found in intent");
         }
@@ -455,7 +455,7 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
 
         try {
             Intent intent = new Intent(this, ArticleDetailActivity.class);
-            intent.putExtra("article_id", articleId);
+            intent.putExtra(ArticleDetailActivity.EXTRA_ARTICLE_ID, articleId);
             intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
 
             Log.d(TAG, "Starting ArticleDetailActivity with article_id: " + articleId);
@@ -548,27 +548,13 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
         return false;
     }
 
-    // ✅ THÊM ANNOTATION NÀY CHO onStart()
-    @SuppressLint("UnspecifiedRegisterReceiverFlag")
     @Override
     protected void onStart() {
         super.onStart();
         Log.d(TAG, "onStart() called");
 
-        // Register broadcast receiver
-        IntentFilter filter = new IntentFilter(AudioPlayerService.ACTION_AUDIO_STATE);
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-            ContextCompat.registerReceiver(
-                    this,
-                    audioStateReceiver,
-                    filter,
-                    ContextCompat.RECEIVER_NOT_EXPORTED
-            );
-        } else {
-            registerReceiver(audioStateReceiver, filter);
-        }
-
+        // The service delivers its current state as soon as the binding connects
+        playbackObserver.start();
 
         boolean sIsPlaying = AudioPlayerService.sIsPlaying;
         String sCurrentTitle = AudioPlayerService.sCurrentTitle;
@@ -603,14 +589,6 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
             }
             audioMiniPlayPause.setImageResource(sIsPlaying ? R.drawable.ic_pause_circle : R.drawable.ic_play_circle);
             Log.d(TAG, "onStart() - Set play/pause icon, sIsPlaying: " + sIsPlaying);
-
-            new Handler(Looper.getMainLooper()).postDelayed(() -> {
-                Log.d(TAG, "onStart() - Requesting state from service");
-                Intent requestIntent = new Intent(MainActivity.this, AudioPlayerService.class);
-                requestIntent.setAction(AudioPlayerService.ACTION_SEEK);
-                requestIntent.putExtra(AudioPlayerService.EXTRA_SEEK_POSITION, -1);
-                startService(requestIntent);
-            }, 50);
         } else {
             Log.d(TAG, "onStart() - NOT showing mini-player (no audio state)");
         }
@@ -654,14 +632,6 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
             }
             audioMiniPlayPause.setImageResource(sIsPlaying ? R.drawable.ic_pause_circle : R.drawable.ic_play_circle);
             Log.d(TAG, "onResume() - Set play/pause icon, sIsPlaying: " + sIsPlaying);
-
-            new Handler(Looper.getMainLooper()).postDelayed(() -> {
-                Log.d(TAG, "onResume() - Requesting state from service");
-                Intent requestIntent = new Intent(MainActivity.this, AudioPlayerService.class);
-                requestIntent.setAction(AudioPlayerService.ACTION_SEEK);
-                requestIntent.putExtra(AudioPlayerService.EXTRA_SEEK_POSITION, -1);
-                startService(requestIntent);
-            }, 50);
         } else {
             Log.d(TAG, "onResume() - NOT showing mini-player (no audio state)");
         }
@@ -670,11 +640,7 @@ public class MainActivity extends AppCompatActivity implements AuthenticationDia
     @Override
     protected void onStop() {
         super.onStop();
-        try {
-            unregisterReceiver(audioStateReceiver);
-        } catch (Exception e) {
-            // Already unregistered
-        }
+        playbackObserver.stop();
     }
 
     @Override
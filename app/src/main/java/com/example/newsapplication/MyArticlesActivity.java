@@ -1,6 +1,5 @@
 package com.example.newsapplication;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.ProgressBar;
@@ -50,9 +49,7 @@ public class MyArticlesActivity extends AppCompatActivity {
     private void setupRecyclerView() {
         adapter = new MyArticlesAdapter(articles, article -> {
             if (article != null) {
-                Intent intent = new Intent(MyArticlesActivity.this, ArticleDetailActivity.class);
-                intent.putExtra("article", article);
-                startActivity(intent);
+                startActivity(ArticleDetailActivity.newIntent(MyArticlesActivity.this, article));
             }
         });
 
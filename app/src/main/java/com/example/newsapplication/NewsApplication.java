@@ -1,18 +1,29 @@
 package com.example.newsapplication;
 
 import android.app.Application;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.firebase.PushCoalescer;
+import com.example.newsapplication.ui.ArticleWebViewPool;
+import com.example.newsapplication.utils.ImageLoader;
 
 public class NewsApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
         
-        // Disable Picasso debug indicators (blue/green/red corners)
-        Picasso picasso = new Picasso.Builder(this)
-                .indicatorsEnabled(false)
-                .loggingEnabled(false)
-                .build();
-        Picasso.setSingletonInstance(picasso);
+        // Bounded memory/disk image caches for Picasso
+        ImageLoader.install(this);
+
+        // Warms an article WebView once an activity has started and the main thread goes idle
+        ArticleWebViewPool.install(this);
+
+        // Pushes whose burst was cut short when an earlier process was killed
+        PushCoalescer.getInstance(this).resume();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        ImageLoader.onTrimMemory(level);
+        ArticleWebViewPool.onTrimMemory(level);
     }
 }
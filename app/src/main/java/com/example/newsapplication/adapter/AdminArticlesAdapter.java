@@ -13,7 +13,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.Article;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.utils.ImageLoader;
 
 import java.util.List;
 
@@ -77,8 +77,7 @@ public class AdminArticlesAdapter extends RecyclerView.Adapter<AdminArticlesAdap
         }
 
         if (article.getImageUrl() != null && !article.getImageUrl().isEmpty()) {
-            Picasso.get()
-                    .load(article.getImageUrl())
+            ImageLoader.thumbnail(article.getImageUrl())
                     .placeholder(R.drawable.ic_launcher_foreground)
                     .error(R.drawable.ic_launcher_foreground)
                     .into(holder.articleImage);
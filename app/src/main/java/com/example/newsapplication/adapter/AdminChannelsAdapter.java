@@ -12,8 +12,7 @@ import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
-import com.example.newsapplication.utils.CircleTransform;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.utils.ImageLoader;
 
 import org.json.JSONObject;
 
@@ -55,9 +54,7 @@ public class AdminChannelsAdapter extends RecyclerView.Adapter<AdminChannelsAdap
 
         String logoUrl = channel.optString("logo_url", null);
         if (logoUrl != null && !logoUrl.isEmpty()) {
-            Picasso.get()
-                    .load(logoUrl)
-                    .transform(new CircleTransform())
+            ImageLoader.avatar(logoUrl)
                     .placeholder(R.drawable.ic_launcher_foreground)
                     .error(R.drawable.ic_launcher_foreground)
                     .into(holder.channelLogo);
@@ -13,8 +13,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.User;
-import com.example.newsapplication.utils.CircleTransform;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.utils.ImageLoader;
 
 import java.util.List;
 
@@ -75,9 +74,7 @@ public class AdminUsersAdapter extends RecyclerView.Adapter<AdminUsersAdapter.Us
         }
         
         if (user.getAvatarUrl() != null && !user.getAvatarUrl().isEmpty()) {
-            Picasso.get()
-                .load(user.getAvatarUrl())
-                .transform(new CircleTransform())
+            ImageLoader.avatar(user.getAvatarUrl())
                 .placeholder(R.drawable.ic_launcher_foreground)
                 .error(R.drawable.ic_launcher_foreground)
                 .into(holder.userAvatar);
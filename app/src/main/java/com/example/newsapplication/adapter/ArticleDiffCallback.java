@@ -0,0 +1,37 @@
+package com.example.newsapplication.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.newsapplication.model.Article;
+
+import java.util.Objects;
+
+// Article list diffing: items are matched by ID and compared on the fields the rows render
+public class ArticleDiffCallback extends DiffUtil.ItemCallback<Article> {
+    public static final ArticleDiffCallback INSTANCE = new ArticleDiffCallback();
+
+    private ArticleDiffCallback() {}
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Article oldItem, @NonNull Article newItem) {
+        String oldId = oldItem.getId();
+        if (oldId == null || oldId.isEmpty()) {
+            return oldItem == newItem;
+        }
+        return oldId.equals(newItem.getId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Article oldItem, @NonNull Article newItem) {
+        return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                && Objects.equals(oldItem.getSummary(), newItem.getSummary())
+                && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                && Objects.equals(oldItem.getSource(), newItem.getSource())
+                && Objects.equals(oldItem.getChannelName(), newItem.getChannelName())
+                && Objects.equals(oldItem.getPublishedAt(), newItem.getPublishedAt())
+                && Objects.equals(oldItem.getDate(), newItem.getDate())
+                && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl())
+                && oldItem.isBookmarked() == newItem.isBookmarked();
+    }
+}
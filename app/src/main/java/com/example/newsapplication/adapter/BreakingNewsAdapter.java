@@ -7,14 +7,17 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.Article;
+import java.util.ArrayList;
 import java.util.List;
 
 public class BreakingNewsAdapter extends RecyclerView.Adapter<BreakingNewsAdapter.BreakingNewsViewHolder> {
-    private List<Article> articles;
+    private final AsyncListDiffer<Article> differ = new AsyncListDiffer<>(this, ArticleDiffCallback.INSTANCE);
+    private final StableIds stableIds = new StableIds();
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -22,8 +25,9 @@ public class BreakingNewsAdapter extends RecyclerView.Adapter<BreakingNewsAdapte
     }
 
     public BreakingNewsAdapter(List<Article> articles, OnItemClickListener listener) {
-        this.articles = articles;
         this.listener = listener;
+        setHasStableIds(true);
+        submitList(articles);
     }
 
     @NonNull
@@ -36,6 +40,7 @@ public class BreakingNewsAdapter extends RecyclerView.Adapter<BreakingNewsAdapte
 
     @Override
     public void onBindViewHolder(@NonNull BreakingNewsViewHolder holder, int position) {
+        List<Article> articles = differ.getCurrentList();
         if (position < 0 || position >= articles.size()) {
             return;
         }
@@ -59,12 +64,9 @@ public class BreakingNewsAdapter extends RecyclerView.Adapter<BreakingNewsAdapte
         if (holder.imageView != null) {
             if (article.getImageUrl() != null && !article.getImageUrl().isEmpty()) {
                 // Load image without placeholder to avoid blue/green indicator
-                com.squareup.picasso.Picasso.get()
-                    .load(article.getImageUrl())
+                com.example.newsapplication.utils.ImageLoader.thumbnail(article.getImageUrl())
                     .noPlaceholder()
                     .error(R.drawable.placeholder_image)
-                    .fit()
-                    .centerCrop()
                     .into(holder.imageView);
             } else {
                 holder.imageView.setImageResource(R.drawable.placeholder_image);
@@ -81,7 +83,26 @@ public class BreakingNewsAdapter extends RecyclerView.Adapter<BreakingNewsAdapte
 
     @Override
     public int getItemCount() {
-        return articles.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Article article = differ.getCurrentList().get(position);
+        return stableIds.idFor(article.getId(), article);
+    }
+
+    // Diff against the shown list off the main thread; the list is copied
+    public void submitList(List<Article> newArticles) {
+        differ.submitList(newArticles != null ? new ArrayList<>(newArticles) : null);
+    }
+
+    // Rebind a single article that was changed in place
+    public void notifyArticleChanged(Article article) {
+        int position = differ.getCurrentList().indexOf(article);
+        if (position >= 0) {
+            notifyItemChanged(position);
+        }
     }
 
     public static class BreakingNewsViewHolder extends RecyclerView.ViewHolder {
@@ -8,19 +8,37 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.Channel;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.utils.ImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 // Adapter for displaying channels in a RecyclerView
 public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.ChannelViewHolder> {
 
-    private List<Channel> channels;
+    private static final DiffUtil.ItemCallback<Channel> DIFF_CALLBACK = new DiffUtil.ItemCallback<Channel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Channel oldItem, @NonNull Channel newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Channel oldItem, @NonNull Channel newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Objects.equals(oldItem.getLogoUrl(), newItem.getLogoUrl())
+                    && oldItem.isFollowing() == newItem.isFollowing();
+        }
+    };
+
+    private final AsyncListDiffer<Channel> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnChannelClickListener listener;
 
     public interface OnChannelClickListener {
@@ -29,12 +47,13 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
     }
 
     public ChannelsAdapter() {
-        this.channels = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     public ChannelsAdapter(List<Channel> channels, OnChannelClickListener listener) {
-        this.channels = channels != null ? channels : new ArrayList<>();
         this.listener = listener;
+        setHasStableIds(true);
+        setChannels(channels);
     }
 
     @NonNull
@@ -47,18 +66,23 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
 
     @Override
     public void onBindViewHolder(@NonNull ChannelViewHolder holder, int position) {
-        Channel channel = channels.get(position);
-        holder.bind(channel, listener, position);
+        Channel channel = differ.getCurrentList().get(position);
+        holder.bind(channel, listener);
     }
 
     @Override
     public int getItemCount() {
-        return channels.size();
+        return differ.getCurrentList().size();
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
+    }
+
+    // Diff against the shown list off the main thread; the list is copied
     public void setChannels(List<Channel> channels) {
-        this.channels = channels != null ? channels : new ArrayList<>();
-        notifyDataSetChanged();
+        differ.submitList(channels != null ? new ArrayList<>(channels) : null);
     }
 
     public void setListener(OnChannelClickListener listener) {
@@ -66,6 +90,7 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
     }
 
     public void updateChannelFollowStatus(int position, boolean isFollowing) {
+        List<Channel> channels = differ.getCurrentList();
         if (position >= 0 && position < channels.size()) {
             channels.get(position).setFollowing(isFollowing);
             notifyItemChanged(position);
@@ -86,7 +111,7 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
             followButton = itemView.findViewById(R.id.followButton);
         }
 
-        public void bind(Channel channel, OnChannelClickListener listener, int position) {
+        public void bind(Channel channel, OnChannelClickListener listener) {
             // Set channel name
             nameTextView.setText(channel.getName());
             
@@ -103,8 +128,7 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
             // Load logo
             String logoUrl = channel.getLogoUrl();
             if (logoUrl != null && !logoUrl.isEmpty() && !logoUrl.equals("null")) {
-                Picasso.get()
-                        .load(logoUrl)
+                ImageLoader.icon(logoUrl)
                         .noPlaceholder()
                         .error(R.drawable.default_avatar)
                         .into(logoImageView);
@@ -122,8 +146,10 @@ public class ChannelsAdapter extends RecyclerView.Adapter<ChannelsAdapter.Channe
                 }
             });
             
+            // Rows move when the list is diffed, so resolve the position at click time
             followButton.setOnClickListener(v -> {
-                if (listener != null) {
+                int position = getAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
                     listener.onFollowClick(channel, position);
                 }
             });
@@ -7,26 +7,58 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.Comment;
-import com.squareup.picasso.Picasso;
+import com.example.newsapplication.utils.DateUtils;
+import com.example.newsapplication.utils.ImageLoader;
+import com.example.newsapplication.utils.RelativeTimeTicker;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 // Adapter for displaying comments in a RecyclerView
 public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.CommentViewHolder> {
 
-    private List<Comment> comments;
+    // Partial rebind that only redraws the "5 min ago" label
+    private static final Object PAYLOAD_TIME = new Object();
+
+    private static final DiffUtil.ItemCallback<Comment> DIFF_CALLBACK = new DiffUtil.ItemCallback<Comment>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Comment oldItem, @NonNull Comment newItem) {
+            // Locally added comments may not have a server ID yet
+            return oldItem.getId() != 0 ? oldItem.getId() == newItem.getId() : oldItem == newItem;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Comment oldItem, @NonNull Comment newItem) {
+            return Objects.equals(oldItem.getUserName(), newItem.getUserName())
+                    && Objects.equals(oldItem.getUserAvatar(), newItem.getUserAvatar())
+                    && Objects.equals(oldItem.getContent(), newItem.getContent())
+                    && Objects.equals(oldItem.getCreatedAt(), newItem.getCreatedAt());
+        }
+    };
+
+    private final AsyncListDiffer<Comment> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final StableIds stableIds = new StableIds();
+    private final RelativeTimeTicker ticker = RelativeTimeTicker.getInstance();
+    private final RelativeTimeTicker.Listener timeListener = this::refreshTimeLabels;
+    // Rows on screen; only their labels are kept current
+    private final Set<CommentViewHolder> attachedHolders = new HashSet<>();
 
     public CommentsAdapter() {
-        this.comments = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     public CommentsAdapter(List<Comment> comments) {
-        this.comments = comments != null ? comments : new ArrayList<>();
+        setHasStableIds(true);
+        setComments(comments);
     }
 
     @NonNull
@@ -39,28 +71,102 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
 
     @Override
     public void onBindViewHolder(@NonNull CommentViewHolder holder, int position) {
-        Comment comment = comments.get(position);
+        Comment comment = differ.getCurrentList().get(position);
         holder.bind(comment);
+        ticker.scheduleAt(timeListener, holder.timeChangesAt);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CommentViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !onlyTimeChanged(payloads)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.bindTime(differ.getCurrentList().get(position), System.currentTimeMillis());
+        ticker.scheduleAt(timeListener, holder.timeChangesAt);
+    }
+
+    private static boolean onlyTimeChanged(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_TIME) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull CommentViewHolder holder) {
+        attachedHolders.add(holder);
+        // A row brought back from the view cache may have gone stale while off screen
+        ticker.scheduleAt(timeListener, holder.timeChangesAt);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull CommentViewHolder holder) {
+        attachedHolders.remove(holder);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        attachedHolders.clear();
+        ticker.cancel(timeListener);
+    }
+
+    // Rebind the label of each visible row that has crossed into its next minute, hour or day
+    private void refreshTimeLabels(long now) {
+        long next = Long.MAX_VALUE;
+        for (CommentViewHolder holder : attachedHolders) {
+            if (holder.timeChangesAt > now) {
+                next = Math.min(next, holder.timeChangesAt);
+                continue;
+            }
+            int position = holder.getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                notifyItemChanged(position, PAYLOAD_TIME);
+            }
+        }
+        ticker.scheduleAt(timeListener, next);
     }
 
     @Override
     public int getItemCount() {
-        return comments.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Comment comment = differ.getCurrentList().get(position);
+        return stableIds.idFor(comment.getId() != 0 ? String.valueOf(comment.getId()) : null, comment);
     }
 
+    // Diff against the shown list off the main thread; the list is copied
     public void setComments(List<Comment> comments) {
-        this.comments = comments != null ? comments : new ArrayList<>();
-        notifyDataSetChanged();
+        differ.submitList(comments != null ? new ArrayList<>(comments) : null);
     }
 
     public void addComment(Comment comment) {
-        this.comments.add(0, comment); // Add to beginning
-        notifyItemInserted(0);
+        addComment(comment, null);
+    }
+
+    // The callback runs once the new comment is part of the displayed list
+    public void addComment(Comment comment, Runnable onCommitted) {
+        List<Comment> updated = new ArrayList<>(differ.getCurrentList());
+        updated.add(0, comment); // Add to beginning
+        differ.submitList(updated, onCommitted);
+    }
+
+    // Take down a comment shown ahead of the server once it is known not to have been posted
+    public void removeComment(Comment comment, Runnable onCommitted) {
+        List<Comment> updated = new ArrayList<>(differ.getCurrentList());
+        if (!updated.remove(comment)) {
+            return;
+        }
+        differ.submitList(updated, onCommitted);
     }
 
     public void clearComments() {
-        this.comments.clear();
-        notifyDataSetChanged();
+        differ.submitList(null);
     }
 
     static class CommentViewHolder extends RecyclerView.ViewHolder {
@@ -68,6 +174,8 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
         private final TextView userNameTextView;
         private final TextView timeTextView;
         private final TextView contentTextView;
+        // When the time label next needs redrawing
+        long timeChangesAt = Long.MAX_VALUE;
 
         public CommentViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -82,7 +190,7 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
             userNameTextView.setText(comment.getUserName());
             
             // Set time
-            timeTextView.setText(comment.getTimeAgo());
+            bindTime(comment, System.currentTimeMillis());
             
             // Set content
             contentTextView.setText(comment.getContent());
@@ -90,8 +198,7 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
             // Load avatar
             String avatarUrl = comment.getUserAvatar();
             if (avatarUrl != null && !avatarUrl.isEmpty()) {
-                Picasso.get()
-                        .load(avatarUrl)
+                ImageLoader.icon(avatarUrl)
                         .noPlaceholder()
                         .error(R.drawable.default_avatar)
                         .into(avatarImageView);
@@ -99,5 +206,10 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
                 avatarImageView.setImageResource(R.drawable.default_avatar);
             }
         }
+
+        void bindTime(Comment comment, long now) {
+            timeTextView.setText(comment.getTimeAgo(now));
+            timeChangesAt = DateUtils.nextRelativeTimeChange(comment.getCreatedAtMillis(), now);
+        }
     }
 }
@@ -83,12 +83,9 @@ public class MyArticlesAdapter extends RecyclerView.Adapter<MyArticlesAdapter.My
         // Load image from URL using Picasso
         if (holder.imageView != null) {
             if (article.getImageUrl() != null && !article.getImageUrl().isEmpty()) {
-                com.squareup.picasso.Picasso.get()
-                    .load(article.getImageUrl())
+                com.example.newsapplication.utils.ImageLoader.thumbnail(article.getImageUrl())
                     .noPlaceholder()
                     .error(R.drawable.placeholder_image)
-                    .fit()
-                    .centerCrop()
                     .into(holder.imageView);
             } else {
                 holder.imageView.setImageResource(R.drawable.placeholder_image);
@@ -7,19 +7,22 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.R;
 import com.example.newsapplication.model.Article;
 import com.example.newsapplication.utils.DateUtils;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder> {
-    private List<Article> articles;
+    private final AsyncListDiffer<Article> differ = new AsyncListDiffer<>(this, ArticleDiffCallback.INSTANCE);
+    private final StableIds stableIds = new StableIds();
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -28,8 +31,9 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
     }
 
     public NewsAdapter(List<Article> articles, OnItemClickListener listener) {
-        this.articles = articles;
         this.listener = listener;
+        setHasStableIds(true);
+        submitList(articles);
     }
 
     @NonNull
@@ -42,6 +46,7 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull NewsViewHolder holder, int position) {
+        List<Article> articles = differ.getCurrentList();
         if (position < 0 || position >= articles.size()) {
             return;
         }
@@ -63,15 +68,8 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
         // Set channel name and date
         if (holder.channelNameTextView != null && holder.categoryDateTextView != null) {
             String channelName = article.getChannelName();
-            String dateStr = article.getDate();
-            String publishedAt = article.getPublishedAt();
-
-            // Use publishedAt if available, otherwise use date
-            if (publishedAt == null || publishedAt.isEmpty()) {
-                publishedAt = dateStr;
-            }
-
-            String formattedDate = formatDate(publishedAt);
+            // Parsed when the article was built (publishedAt, otherwise date)
+            String formattedDate = DateUtils.formatToFullDate(article.getPublishedAtMillis());
 
             if (channelName != null && !channelName.isEmpty() && !channelName.equals("null")) {
                 // Show channel name and date
@@ -120,12 +118,9 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
         if (holder.imageView != null) {
             if (article.getImageUrl() != null && !article.getImageUrl().isEmpty()) {
                 // Load image without placeholder to avoid blue/green indicator
-                com.squareup.picasso.Picasso.get()
-                    .load(article.getImageUrl())
+                com.example.newsapplication.utils.ImageLoader.thumbnail(article.getImageUrl())
                     .noPlaceholder()
                     .error(R.drawable.placeholder_image)
-                    .fit()
-                    .centerCrop()
                     .into(holder.imageView);
             } else {
                 holder.imageView.setImageResource(R.drawable.placeholder_image);
@@ -142,22 +137,36 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
 
     @Override
     public int getItemCount() {
-        return articles.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Article article = differ.getCurrentList().get(position);
+        return stableIds.idFor(article.getId(), article);
+    }
+
+    // Diff the new list against the shown one off the main thread and dispatch only the changes.
+    // The list is copied, so callers may keep mutating their own backing list.
+    public void submitList(List<Article> newArticles) {
+        submitList(newArticles, null);
+    }
+
+    // onCommitted runs once the diff has been applied to the RecyclerView
+    public void submitList(List<Article> newArticles, Runnable onCommitted) {
+        differ.submitList(newArticles != null ? new ArrayList<>(newArticles) : null, onCommitted);
     }
 
     public void updateArticles(List<Article> newArticles) {
-        this.articles = newArticles;
-        notifyDataSetChanged();
+        submitList(newArticles);
     }
 
-    // Format date to Month DD, YYYY (e.g., "Dec 8, 2024")
-    private static String formatDate(String isoDate) {
-        if (isoDate == null || isoDate.isEmpty()) {
-            return "";
+    // Rebind a single article that was changed in place (e.g. a bookmark toggle)
+    public void notifyArticleChanged(Article article) {
+        int position = differ.getCurrentList().indexOf(article);
+        if (position >= 0) {
+            notifyItemChanged(position);
         }
-
-        // Use the DateUtils formatToFullDate method which already formats as "Dec 8, 2024"
-        return DateUtils.formatToFullDate(isoDate);
     }
 
     public static class NewsViewHolder extends RecyclerView.ViewHolder {
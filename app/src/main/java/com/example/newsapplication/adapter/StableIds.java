@@ -0,0 +1,21 @@
+package com.example.newsapplication.adapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Hands out a stable RecyclerView item ID per key (e.g. an article ID) for the lifetime of an adapter
+class StableIds {
+    private final Map<String, Long> ids = new HashMap<>();
+    private long nextId = 1;
+
+    long idFor(String key, Object item) {
+        // Items without a server ID fall back to their identity
+        String stableKey = key != null && !key.isEmpty() ? key : "@" + System.identityHashCode(item);
+        Long id = ids.get(stableKey);
+        if (id == null) {
+            id = nextId++;
+            ids.put(stableKey, id);
+        }
+        return id;
+    }
+}
@@ -18,7 +18,6 @@ import com.example.newsapplication.api.endpoints.ArticleEndpoints;
 import com.example.newsapplication.model.Article;
 import com.google.android.material.chip.ChipGroup;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
@@ -85,17 +84,19 @@ public class ManageArticlesActivity extends AppCompatActivity {
     private void loadArticles() {
         progressBar.setVisibility(View.VISIBLE);
 
-        articleEndpoints.getAllArticlesAdmin(1, 100, new ApiClient.ApiCallback<JSONObject>() {
+        articleEndpoints.getAllArticlesAdminPage(1, 100, new ApiClient.ApiCallback<List<Article>>() {
             @Override
-            public void onSuccess(ApiResponse<JSONObject> response) {
+            public void onSuccess(ApiResponse<List<Article>> response) {
                 runOnUiThread(() -> {
                     progressBar.setVisibility(View.GONE);
-                    parseArticles(response.getData());
+                    allArticles.clear();
+                    allArticles.addAll(response.getData());
+                    filterArticles();
                 });
             }
 
             @Override
-            public void onError(ApiResponse<JSONObject> error) {
+            public void onError(ApiResponse<List<Article>> error) {
                 runOnUiThread(() -> {
                     progressBar.setVisibility(View.GONE);
                     Toast.makeText(ManageArticlesActivity.this, "Error: " + error.getMessage(), Toast.LENGTH_SHORT).show();
@@ -104,45 +105,6 @@ public class ManageArticlesActivity extends AppCompatActivity {
         });
     }
 
-    private void parseArticles(JSONObject response) {
-        allArticles.clear();
-        try {
-            JSONObject data = response.has("data") ? response.getJSONObject("data") : response;
-            JSONArray articlesArray = data.getJSONArray("articles");
-
-            for (int i = 0; i < articlesArray.length(); i++) {
-                JSONObject obj = articlesArray.getJSONObject(i);
-                Article article = new Article();
-                article.setId(obj.optString("id"));
-                article.setTitle(obj.optString("title"));
-                article.setDescription(obj.optString("summary"));
-                article.setContent(obj.optString("content"));
-                article.setImageUrl(obj.optString("hero_image_url"));
-                article.setDate(obj.optString("created_at"));
-                article.setStatus(obj.optString("status", "draft"));
-
-                // Parse author info
-                if (obj.has("author") && !obj.isNull("author")) {
-                    JSONObject author = obj.getJSONObject("author");
-                    article.setAuthor(author.optString("display_name", "Unknown"));
-                } else {
-                    article.setAuthor("Unknown");
-                }
-
-                // Parse channel info
-                if (obj.has("channels") && !obj.isNull("channels")) {
-                    JSONObject channel = obj.getJSONObject("channels");
-                    article.setChannelName(channel.optString("name", ""));
-                }
-
-                allArticles.add(article);
-            }
-            filterArticles();
-        } catch (Exception e) {
-            Toast.makeText(this, "Parse error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-        }
-    }
-
     private void filterArticles() {
         if (currentFilter == null) {
             adapter.updateArticles(allArticles);
@@ -174,7 +136,8 @@ public class ManageArticlesActivity extends AppCompatActivity {
 
     private void openArticleDetail(Article article) {
         android.content.Intent intent = new android.content.Intent(this, com.example.newsapplication.ArticleDetailActivity.class);
-        intent.putExtra("article", article);
+        // The admin list is decoded without "content", so let the detail screen fetch the full article
+        intent.putExtra(com.example.newsapplication.ArticleDetailActivity.EXTRA_ARTICLE_ID, article.getId());
         startActivity(intent);
     }
 
@@ -2,14 +2,12 @@ package com.example.newsapplication.api;
 
 import android.content.Context;
 import com.android.volley.*;
-import com.android.volley.toolbox.JsonObjectRequest;
+import com.example.newsapplication.utils.JwtUtils;
 import com.example.newsapplication.utils.NetworkUtils;
 import com.example.newsapplication.utils.PreferenceUtils;
 import com.example.newsapplication.utils.VolleySingleton;
 import com.example.newsapplication.auth.UserSessionManager;
-import com.example.newsapplication.auth.AuthService;
 import com.google.gson.Gson;
-import org.json.JSONException;
 import org.json.JSONObject;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,13 +16,17 @@ public class ApiClient {
     private final Context context;
     private final Gson gson;
     private final RequestQueue requestQueue;
+    private final TokenRefreshCoordinator refreshCoordinator;
     private String authToken;
-    private boolean isRefreshing = false;
+
+    // Refresh proactively when the access token expires within this window
+    private static final long TOKEN_REFRESH_SKEW_MS = 60 * 1000;
 
     public ApiClient(Context context) {
         this.context = context;
         this.gson = new Gson();
         this.requestQueue = VolleySingleton.getInstance(context).getRequestQueue();
+        this.refreshCoordinator = TokenRefreshCoordinator.getInstance(context);
         loadAuthToken();
     }
 
@@ -50,59 +52,89 @@ public class ApiClient {
     }
 
     public void get(String endpoint, ApiCallback<JSONObject> callback) {
-        makeRequest(Request.Method.GET, endpoint, null, callback);
+        get(endpoint, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    // GET whose body is decoded off the main thread straight into a typed result
+    public <T> void get(String endpoint, ResponseDecoder<T> decoder, ApiCallback<T> callback) {
+        // Identical GETs already in flight (from any screen) share a single network call
+        String key = ResponseCachePolicy.cacheKey(Request.Method.GET, ApiConfig.BASE_URL + endpoint, getAuthScope(authToken));
+        ApiCallback<T> networkCallback = RequestCoalescer.join(key, decoder, callback);
+        if (networkCallback != null) {
+            makeRequest(Request.Method.GET, endpoint, null, decoder, networkCallback);
+        }
     }
 
     public void post(String endpoint, Object body, ApiCallback<JSONObject> callback) {
-        makeRequest(Request.Method.POST, endpoint, body, callback);
+        makeRequest(Request.Method.POST, endpoint, body, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    // Mutation the server applies at most once per key, however often it is retried
+    public void post(String endpoint, Object body, String idempotencyKey, ApiCallback<JSONObject> callback) {
+        makeRequestWithRetry(Request.Method.POST, endpoint, body, idempotencyKey, ResponseDecoder.JSON_OBJECT, callback, false);
     }
 
     public void put(String endpoint, Object body, ApiCallback<JSONObject> callback) {
-        makeRequest(Request.Method.PUT, endpoint, body, callback);
+        makeRequest(Request.Method.PUT, endpoint, body, ResponseDecoder.JSON_OBJECT, callback);
     }
 
     public void delete(String endpoint, ApiCallback<JSONObject> callback) {
-        makeRequest(Request.Method.DELETE, endpoint, null, callback);
+        makeRequest(Request.Method.DELETE, endpoint, null, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public void delete(String endpoint, String idempotencyKey, ApiCallback<JSONObject> callback) {
+        makeRequestWithRetry(Request.Method.DELETE, endpoint, null, idempotencyKey, ResponseDecoder.JSON_OBJECT, callback, false);
     }
 
-    private void makeRequest(int method, String endpoint, Object body, ApiCallback<JSONObject> callback) {
-        makeRequestWithRetry(method, endpoint, body, callback, false);
+    private <T> void makeRequest(int method, String endpoint, Object body, ResponseDecoder<T> decoder, ApiCallback<T> callback) {
+        makeRequestWithRetry(method, endpoint, body, null, decoder, callback, false);
     }
 
-    private void makeRequestWithRetry(int method, String endpoint, Object body, ApiCallback<JSONObject> callback, boolean isRetry) {
-        String url = ApiConfig.BASE_URL + endpoint;
+    private <T> void makeRequestWithRetry(int method, String endpoint, Object body, String idempotencyKey,
+                                          ResponseDecoder<T> decoder, ApiCallback<T> callback, boolean isRetry) {
+        // Don't try to refresh token on login/register/logout endpoints or if already retried
+        boolean isAuthEndpoint = isAuthEndpoint(endpoint);
+
+        if (!isRetry && !isAuthEndpoint && authToken != null
+                && JwtUtils.isExpiringWithin(authToken, TOKEN_REFRESH_SKEW_MS)
+                && refreshCoordinator.hasRefreshToken()) {
+            android.util.Log.d("ApiClient", "Access token about to expire, refreshing before: " + endpoint);
+            handleTokenRefresh(method, endpoint, body, idempotencyKey, decoder, callback);
+            return;
+        }
+
         String jsonBody = body != null ? 
             (body instanceof JSONObject) ? ((JSONObject) body).toString() : gson.toJson(body)
             : null;
-
-        JsonObjectRequest request = new JsonObjectRequest(method, url,
-            jsonBody != null ? createJsonObject(jsonBody) : null,
-            response -> callback.onSuccess(ApiResponse.success(response)),
+        String sentToken = authToken;
+        String cacheKey = ResponseCachePolicy.cacheKey(method, ApiConfig.BASE_URL + endpoint, getAuthScope(sentToken));
+
+        DecodingRequest<T> request = new DecodingRequest<>(method, endpoint, jsonBody, decoder,
+            getDefaultHeaders(sentToken, idempotencyKey), cacheKey,
+            response -> {
+                if (method != Request.Method.GET) {
+                    invalidateCachedResponses(endpoint, sentToken);
+                }
+                callback.onSuccess(ApiResponse.success(response));
+            },
             error -> {
                 int statusCode = NetworkUtils.getStatusCode(error);
 
-                // Don't try to refresh token on login/register/logout endpoints or if already retried
-                boolean isAuthEndpoint = endpoint.contains("/auth/login") ||
-                                      endpoint.contains("/auth/register") ||
-                                      endpoint.contains("/auth/logout");
-
-                if (statusCode == 401 && !isRetry && !isAuthEndpoint && authToken != null) {
-                    handleTokenRefresh(method, endpoint, body, callback);
+                if (statusCode == 401 && !isRetry && !isAuthEndpoint && sentToken != null) {
+                    // Another request may have refreshed the token while this one was in flight
+                    loadAuthToken();
+                    if (authToken != null && !authToken.equals(sentToken)) {
+                        makeRequestWithRetry(method, endpoint, body, idempotencyKey, decoder, callback, true);
+                    } else {
+                        handleTokenRefresh(method, endpoint, body, idempotencyKey, decoder, callback);
+                    }
                 } else {
-                    callback.onError(createErrorResponse(error));
+                    callback.onError(createErrorResponse(error, decoder));
                 }
             }
-        ) {
-            @Override
-            public Map<String, String> getHeaders() {
-                return getDefaultHeaders();
-            }
+        );
 
-            @Override
-            public String getBodyContentType() {
-                return ApiConfig.CONTENT_TYPE_JSON;
-            }
-        };
+        request.setShouldCache(ResponseCachePolicy.isCacheable(method, endpoint));
 
         request.setRetryPolicy(new DefaultRetryPolicy(
             ApiConfig.TIMEOUT_MS,
@@ -113,57 +145,73 @@ public class ApiClient {
         requestQueue.add(request);
     }
 
-    private void handleTokenRefresh(int method, String endpoint, Object body, ApiCallback<JSONObject> originalCallback) {
-        // Prevent multiple concurrent refresh attempts
-        if (isRefreshing) {
-            originalCallback.onError(ApiResponse.error("Session expired. Please log in again.", 401));
+    // Cached responses are partitioned per signed-in user; anonymous requests share one scope
+    private String getAuthScope(String token) {
+        if (token == null) {
+            return "guest";
+        }
+        String userId = new UserSessionManager(context).getUserId();
+        return userId.isEmpty() ? "user" : "user-" + userId;
+    }
+
+    private void invalidateCachedResponses(String mutationEndpoint, String token) {
+        Cache cache = requestQueue.getCache();
+        if (cache == null) {
             return;
         }
+        String scope = getAuthScope(token);
+        for (String stale : ResponseCachePolicy.invalidatedBy(mutationEndpoint)) {
+            cache.remove(ResponseCachePolicy.cacheKey(Request.Method.GET, ApiConfig.BASE_URL + stale, scope));
+        }
+    }
 
-        isRefreshing = true;
-        AuthService authService = new AuthService(context);
-        UserSessionManager sessionManager = new UserSessionManager(context);
-        String refreshToken = sessionManager.getRefreshToken();
+    private boolean isAuthEndpoint(String endpoint) {
+        return endpoint.contains("/auth/login") ||
+               endpoint.contains("/auth/register") ||
+               endpoint.contains("/auth/logout");
+    }
 
-        android.util.Log.d("ApiClient", "Attempting to refresh token for endpoint: " + endpoint);
+    private <T> void handleTokenRefresh(int method, String endpoint, Object body, String idempotencyKey,
+                                        ResponseDecoder<T> decoder, ApiCallback<T> originalCallback) {
+        android.util.Log.d("ApiClient", "Waiting on token refresh for endpoint: " + endpoint);
 
-        // Truyền refreshToken vào parameter đầu tiên
-        authService.refreshToken(refreshToken, new AuthService.AuthResultCallback() {
+        // Only one refresh runs per process; every caller is parked and replayed together
+        refreshCoordinator.awaitRefresh(new TokenRefreshCoordinator.RefreshListener() {
             @Override
-            public void onSuccess(JSONObject response) {
-                isRefreshing = false;
-                android.util.Log.d("ApiClient", "Token refresh successful");
-                loadAuthToken();
-                makeRequestWithRetry(method, endpoint, body, originalCallback, true);
+            public void onRefreshed(String newToken) {
+                authToken = newToken;
+                makeRequestWithRetry(method, endpoint, body, idempotencyKey, decoder, originalCallback, true);
             }
 
             @Override
-            public void onError(String errorMessage) {
-                isRefreshing = false;
-                android.util.Log.e("ApiClient", "Token refresh failed: " + errorMessage);
-                // Clear tokens and force logout
-                clearAuthToken();
+            public void onRefreshFailed() {
+                authToken = null;
                 originalCallback.onError(ApiResponse.error("Session expired. Please log in again.", 401));
             }
         });
     }
 
 
-    private Map<String, String> getDefaultHeaders() {
+    private Map<String, String> getDefaultHeaders(String token, String idempotencyKey) {
         Map<String, String> headers = new HashMap<>();
         headers.put(ApiConfig.HEADER_CONTENT_TYPE, ApiConfig.CONTENT_TYPE_JSON);
-        if (authToken != null) {
-            headers.put(ApiConfig.HEADER_AUTHORIZATION, ApiConfig.BEARER_PREFIX + authToken);
+        if (token != null) {
+            headers.put(ApiConfig.HEADER_AUTHORIZATION, ApiConfig.BEARER_PREFIX + token);
+        }
+        if (idempotencyKey != null) {
+            headers.put(ApiConfig.HEADER_IDEMPOTENCY_KEY, idempotencyKey);
         }
         return headers;
     }
 
-    private JSONObject createJsonObject(String json) {
-        try {
-            return new JSONObject(json);
-        } catch (JSONException e) {
-            throw new RuntimeException("Invalid JSON: " + json, e);
+    // JSON callers get the parsed error body as data; typed callers only get message and status
+    @SuppressWarnings("unchecked")
+    private <T> ApiResponse<T> createErrorResponse(VolleyError error, ResponseDecoder<T> decoder) {
+        ApiResponse<JSONObject> response = createErrorResponse(error);
+        if (decoder == ResponseDecoder.JSON_OBJECT) {
+            return (ApiResponse<T>) response;
         }
+        return ApiResponse.error(response.getErrorMessage(), response.getStatusCode());
     }
 
     private ApiResponse<JSONObject> createErrorResponse(VolleyError error) {
@@ -7,12 +7,22 @@ public class ApiConfig {
 
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
     public static final String HEADER_AUTHORIZATION = "Authorization";
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
     public static final String CONTENT_TYPE_JSON = "application/json";
     public static final String BEARER_PREFIX = "Bearer ";
 
     public static final String PREFS_NAME = "NewsAppPrefs";
     public static final String TOKEN_KEY = "auth_token";
 
+    public static final boolean USE_OKHTTP_TRANSPORT = true;
+    public static final int NETWORK_THREAD_POOL_SIZE = 8;
+
+    public static final String RESPONSE_CACHE_DIR = "api-responses";
+    public static final int RESPONSE_CACHE_SIZE_BYTES = 10 * 1024 * 1024;
+
+    // Public storage path for generated article audio: <base><article id>.mp3
+    public static final String TTS_AUDIO_BASE_URL = "https://byvkcpdtprodvhadpdix.supabase.co/storage/v1/object/public/audio_articles/";
+
     public static final int DEFAULT_PAGE = 1;
     public static final int DEFAULT_LIMIT = 10;
 
@@ -0,0 +1,200 @@
+package com.example.newsapplication.api;
+
+import com.example.newsapplication.R;
+import com.example.newsapplication.model.Article;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams an article page response straight into Article objects.
+ * Accepts the same envelopes as JsonParsingUtils.parseArticles ("data.articles", "data.results",
+ * "articles", "results" or a top-level "data" array) without building an org.json tree, and can
+ * skip the HTML "content" field for list screens that never render it.
+ */
+public class ArticlePageDecoder implements ResponseDecoder<List<Article>> {
+    private final boolean includeContent;
+
+    public ArticlePageDecoder(boolean includeContent) {
+        this.includeContent = includeContent;
+    }
+
+    @Override
+    public List<Article> decode(byte[] data, String charset) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(data), charset))) {
+            List<Article> articles = new ArrayList<>();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return articles;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("data".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readEnvelope(reader, articles);
+                } else if (isArticlesArray(name, reader)) {
+                    readArticles(reader, articles);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return articles;
+        }
+    }
+
+    private void readEnvelope(JsonReader reader, List<Article> articles) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (("articles".equals(name) || "results".equals(name)) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                readArticles(reader, articles);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private boolean isArticlesArray(String name, JsonReader reader) throws IOException {
+        return ("articles".equals(name) || "results".equals(name) || "data".equals(name))
+            && reader.peek() == JsonToken.BEGIN_ARRAY;
+    }
+
+    private void readArticles(JsonReader reader, List<Article> articles) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                articles.add(readArticle(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+    }
+
+    private Article readArticle(JsonReader reader) throws IOException {
+        String id = "";
+        String title = "Unknown Title";
+        String summary = "";
+        String content = "";
+        String source = "";
+        String sourceUrl = "Unknown Source";
+        String category = "";
+        int channelId = 0;
+        String channelName = "";
+        String author = "Unknown Author";
+        String imageUrl = "";
+        String createdAt = "";
+        String publishedAt = null;
+        String status = null;
+        String ttsAudioUrl = null;
+        int ttsDurationSeconds = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id": id = readStringOrSkip(reader, id); break;
+                case "title": title = readStringOrSkip(reader, title); break;
+                case "summary": summary = readStringOrSkip(reader, summary); break;
+                case "content":
+                    if (includeContent) {
+                        content = readStringOrSkip(reader, content);
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "source": source = readStringOrSkip(reader, source); break;
+                case "source_url": sourceUrl = readStringOrSkip(reader, sourceUrl); break;
+                case "category": category = readStringOrSkip(reader, category); break;
+                case "channel_id": channelId = readIntOrZero(reader); break;
+                case "channels": channelName = readNameField(reader, "name"); break;
+                case "author":
+                    author = reader.peek() == JsonToken.BEGIN_OBJECT
+                        ? readNameField(reader, "display_name")
+                        : readStringOrSkip(reader, author);
+                    break;
+                case "hero_image_url": imageUrl = readStringOrSkip(reader, imageUrl); break;
+                case "created_at": createdAt = readStringOrSkip(reader, createdAt); break;
+                case "published_at": publishedAt = readStringOrSkip(reader, publishedAt); break;
+                case "status": status = readStringOrSkip(reader, status); break;
+                case "tts_audio_url": ttsAudioUrl = readStringOrSkip(reader, ttsAudioUrl); break;
+                case "tts_duration_seconds": ttsDurationSeconds = readIntOrZero(reader); break;
+                default: reader.skipValue(); break;
+            }
+        }
+        reader.endObject();
+
+        if (source.isEmpty()) {
+            source = sourceUrl;
+            if (source.startsWith("http")) {
+                try {
+                    source = new java.net.URL(source).getHost();
+                } catch (Exception e) {
+                }
+            }
+        }
+        if (category.isEmpty()) {
+            category = channelId > 0 ? "Channel " + channelId : "General";
+        }
+
+        int imageResId = imageUrl.isEmpty() ? R.drawable.placeholder_image : R.drawable.ic_launcher_foreground;
+
+        Article article = new Article(id, title, summary, content, author, source, category, imageUrl, imageResId, createdAt, false);
+        article.setChannelName(channelName);
+        article.setPublishedAt(publishedAt != null ? publishedAt : createdAt);
+        article.setStatus(status);
+        article.setTtsAudioUrl(ttsAudioUrl);
+        article.setTtsDurationSeconds(ttsDurationSeconds);
+        return article;
+    }
+
+    // Read a nested object's string field (e.g. channels.name), skipping everything else
+    private String readNameField(JsonReader reader, String field) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return "";
+        }
+        String value = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (field.equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                value = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    // A field of an unexpected type keeps its default instead of failing the whole page
+    private String readStringOrSkip(JsonReader reader, String fallback) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return fallback;
+    }
+
+    private int readIntOrZero(JsonReader reader) throws IOException {
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException | IllegalStateException e) {
+            reader.skipValue();
+            return 0;
+        }
+    }
+}
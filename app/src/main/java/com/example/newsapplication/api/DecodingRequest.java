@@ -0,0 +1,59 @@
+package com.example.newsapplication.api;
+
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.android.volley.toolbox.JsonRequest;
+
+import java.util.Map;
+
+// JSON API request whose response body is decoded by a pluggable ResponseDecoder
+public class DecodingRequest<T> extends JsonRequest<T> {
+    private final String endpoint;
+    private final ResponseDecoder<T> decoder;
+    private final Map<String, String> headers;
+    private final String cacheKey;
+
+    public DecodingRequest(int method, String endpoint, String requestBody, ResponseDecoder<T> decoder,
+                           Map<String, String> headers, String cacheKey,
+                           Response.Listener<T> listener, Response.ErrorListener errorListener) {
+        super(method, ApiConfig.BASE_URL + endpoint, requestBody, listener, errorListener);
+        this.endpoint = endpoint;
+        this.decoder = decoder;
+        this.headers = headers;
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String getBodyContentType() {
+        return ApiConfig.CONTENT_TYPE_JSON;
+    }
+
+    @Override
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    @Override
+    protected Response<T> parseNetworkResponse(NetworkResponse response) {
+        try {
+            String charset = HttpHeaderParser.parseCharset(response.headers, PROTOCOL_CHARSET);
+            T result = decoder.decode(response.data, charset);
+
+            Cache.Entry cacheEntry = HttpHeaderParser.parseCacheHeaders(response);
+            if (cacheEntry != null) {
+                ResponseCachePolicy.applyTtl(endpoint, cacheEntry);
+            }
+            return Response.success(result, cacheEntry);
+        } catch (Exception e) {
+            return Response.error(new ParseError(e));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.newsapplication.api;
+
+import com.example.newsapplication.model.Article;
+import com.example.newsapplication.model.Category;
+import com.example.newsapplication.model.Channel;
+import com.example.newsapplication.model.Comment;
+import com.example.newsapplication.model.User;
+import com.example.newsapplication.utils.JsonParsingUtils;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared ResponseDecoders that map API responses to domain objects.
+ * They run on Volley's bounded network dispatcher pool, so screens receive ready-made
+ * lists on the main thread. Instances are shared so identical typed GETs coalesce.
+ */
+public class DomainDecoders {
+    public static final ResponseDecoder<List<Article>> ARTICLES = new ArticlePageDecoder(true);
+    public static final ResponseDecoder<List<Article>> ARTICLE_SUMMARIES = new ArticlePageDecoder(false);
+
+    // A single article, unwrapped from the {"data": {"article": ...}} envelope when present
+    public static final ResponseDecoder<Article> ARTICLE =
+        (data, charset) -> JsonParsingUtils.parseSingleArticleResponse(unwrapArticle(toJson(data, charset)));
+
+    public static final ResponseDecoder<List<Category>> CATEGORIES =
+        (data, charset) -> JsonParsingUtils.parseCategories(toJson(data, charset));
+
+    public static final ResponseDecoder<List<Channel>> CHANNELS =
+        (data, charset) -> JsonParsingUtils.parseChannels(toJson(data, charset));
+
+    public static final ResponseDecoder<List<Article>> BOOKMARKED_ARTICLES =
+        (data, charset) -> JsonParsingUtils.parseBookmarkedArticles(toJson(data, charset));
+
+    public static final ResponseDecoder<Set<String>> BOOKMARKED_IDS =
+        (data, charset) -> JsonParsingUtils.parseBookmarkedIds(toJson(data, charset));
+
+    public static final ResponseDecoder<List<Comment>> COMMENTS =
+        (data, charset) -> JsonParsingUtils.parseComments(toJson(data, charset));
+
+    public static final ResponseDecoder<List<User>> USER_PROFILES =
+        (data, charset) -> JsonParsingUtils.parseUserProfiles(toJson(data, charset));
+
+    private DomainDecoders() {}
+
+    private static JSONObject toJson(byte[] data, String charset) throws Exception {
+        return new JSONObject(new String(data, charset));
+    }
+
+    private static JSONObject unwrapArticle(JSONObject json) {
+        JSONObject data = json.optJSONObject("data");
+        if (data == null) {
+            return json;
+        }
+        JSONObject article = data.optJSONObject("article");
+        return article != null ? article : data;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.newsapplication.api;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
+import com.android.volley.Request;
+import com.android.volley.toolbox.BaseHttpStack;
+import com.android.volley.toolbox.HttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.brotli.BrotliInterceptor;
+
+/**
+ * Volley transport backed by one shared OkHttpClient.
+ * All API calls reuse a single connection pool; HTTPS hosts negotiate HTTP/2 so concurrent
+ * requests are multiplexed over one connection, and gzip/brotli bodies are decoded transparently.
+ */
+public class OkHttpStack extends BaseHttpStack {
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    private final OkHttpClient client;
+
+    public OkHttpStack() {
+        this.client = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+            .protocols(java.util.Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .addInterceptor(BrotliInterceptor.INSTANCE)
+            .retryOnConnectionFailure(true)
+            .build();
+    }
+
+    @Override
+    public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
+            throws IOException, AuthFailureError {
+        // Derived clients share the connection pool and dispatcher of the base client
+        long timeoutMs = request.getTimeoutMs();
+        OkHttpClient callClient = client.newBuilder()
+            .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+            .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+            .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+            .build();
+
+        Map<String, String> headers = new HashMap<>(request.getHeaders());
+        headers.putAll(additionalHeaders);
+
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder().url(request.getUrl());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            // OkHttp negotiates compression itself; an explicit Accept-Encoding disables decoding
+            if (!"Accept-Encoding".equalsIgnoreCase(header.getKey())) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        setMethodAndBody(builder, request);
+
+        Response response = callClient.newCall(builder.build()).execute();
+
+        List<Header> responseHeaders = new ArrayList<>();
+        Headers okHeaders = response.headers();
+        for (int i = 0; i < okHeaders.size(); i++) {
+            responseHeaders.add(new Header(okHeaders.name(i), okHeaders.value(i)));
+        }
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            return new HttpResponse(response.code(), responseHeaders);
+        }
+        return new HttpResponse(response.code(), responseHeaders, (int) body.contentLength(), body.byteStream());
+    }
+
+    private static void setMethodAndBody(okhttp3.Request.Builder builder, Request<?> request) throws AuthFailureError {
+        switch (request.getMethod()) {
+            case Request.Method.DEPRECATED_GET_OR_POST:
+                byte[] postBody = request.getBody();
+                if (postBody != null) {
+                    builder.post(createBody(request, postBody));
+                }
+                break;
+            case Request.Method.GET:
+                builder.get();
+                break;
+            case Request.Method.DELETE:
+                byte[] deleteBody = request.getBody();
+                builder.delete(deleteBody != null ? createBody(request, deleteBody) : null);
+                break;
+            case Request.Method.POST:
+                builder.post(createBody(request, request.getBody()));
+                break;
+            case Request.Method.PUT:
+                builder.put(createBody(request, request.getBody()));
+                break;
+            case Request.Method.PATCH:
+                builder.patch(createBody(request, request.getBody()));
+                break;
+            case Request.Method.HEAD:
+                builder.head();
+                break;
+            case Request.Method.OPTIONS:
+                builder.method("OPTIONS", null);
+                break;
+            case Request.Method.TRACE:
+                builder.method("TRACE", null);
+                break;
+            default:
+                throw new IllegalStateException("Unknown method type.");
+        }
+    }
+
+    private static RequestBody createBody(Request<?> request, byte[] body) {
+        MediaType contentType = MediaType.parse(request.getBodyContentType());
+        return RequestBody.create(body != null ? body : new byte[0], contentType);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.newsapplication.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide deduplication of identical in-flight GET requests.
+ * The first caller for a key runs the network call; callers that arrive while it is
+ * still in flight are attached to it and receive the same response.
+ */
+public class RequestCoalescer {
+    private static final String TAG = "RequestCoalescer";
+
+    private static final Map<Key, FanOutCallback<?>> inFlight = new HashMap<>();
+    private static int issuedCount = 0;
+    private static int coalescedCount = 0;
+
+    private RequestCoalescer() {}
+
+    /**
+     * Attach the callback to an in-flight request for this request key and decoder, or
+     * register a new one. Returns the callback to pass to the network call, or null if the
+     * caller was attached to an existing request and must not issue its own.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> ApiClient.ApiCallback<T> join(String requestKey, ResponseDecoder<T> decoder,
+                                                                ApiClient.ApiCallback<T> callback) {
+        // The same decoder instance means the same result type, so the cast is safe
+        Key key = new Key(requestKey, decoder);
+        FanOutCallback<T> existing = (FanOutCallback<T>) inFlight.get(key);
+        if (existing != null) {
+            existing.callbacks.add(callback);
+            coalescedCount++;
+            android.util.Log.d(TAG, "Coalesced GET (" + coalescedCount + " saved of "
+                + (issuedCount + coalescedCount) + "): " + requestKey);
+            return null;
+        }
+
+        FanOutCallback<T> fanOut = new FanOutCallback<>(key);
+        fanOut.callbacks.add(callback);
+        inFlight.put(key, fanOut);
+        issuedCount++;
+        return fanOut;
+    }
+
+    // Number of GETs that actually went to the network
+    public static synchronized int getIssuedCount() {
+        return issuedCount;
+    }
+
+    // Number of GETs that were served by an already in-flight request
+    public static synchronized int getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    private static synchronized <T> List<ApiClient.ApiCallback<T>> complete(FanOutCallback<T> fanOut) {
+        // Later callers start a fresh request; a stale-while-revalidate second delivery
+        // still reaches everyone who joined this one
+        if (inFlight.get(fanOut.key) == fanOut) {
+            inFlight.remove(fanOut.key);
+        }
+        return new ArrayList<>(fanOut.callbacks);
+    }
+
+    // A request and the decoder its body goes through; decoders are compared by identity
+    private static final class Key {
+        private final String request;
+        private final ResponseDecoder<?> decoder;
+
+        Key(String request, ResponseDecoder<?> decoder) {
+            this.request = request;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return decoder == other.decoder && request.equals(other.request);
+        }
+
+        @Override
+        public int hashCode() {
+            // Only spreads the buckets; equals() never relies on it
+            return 31 * request.hashCode() + System.identityHashCode(decoder);
+        }
+    }
+
+    private static class FanOutCallback<T> implements ApiClient.ApiCallback<T> {
+        private final Key key;
+        private final List<ApiClient.ApiCallback<T>> callbacks = new ArrayList<>();
+
+        FanOutCallback(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public void onSuccess(ApiResponse<T> response) {
+            for (ApiClient.ApiCallback<T> callback : complete(this)) {
+                callback.onSuccess(response);
+            }
+        }
+
+        @Override
+        public void onError(ApiResponse<T> error) {
+            for (ApiClient.ApiCallback<T> callback : complete(this)) {
+                callback.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.newsapplication.api;
+
+import com.android.volley.Cache;
+import com.android.volley.Request;
+
+/**
+ * Per-endpoint rules for the disk-backed HTTP response cache.
+ * Entries keep the server's ETag/Last-Modified, so once an entry is stale Volley sends
+ * If-None-Match/If-Modified-Since and a 304 is served from disk. Endpoints with a soft TTL
+ * shorter than the hard TTL are served stale-while-revalidate: the cached body is delivered
+ * immediately and, if the server has newer data, the callback fires a second time.
+ */
+public class ResponseCachePolicy {
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    // Endpoint (after API_VERSION, trailing * = prefix), soft TTL, hard TTL
+    private static final Object[][] TTL_RULES = {
+        {"/categories/", 10 * MINUTE, 24 * HOUR},
+        {"/categories/channels", 10 * MINUTE, 24 * HOUR},
+        {"/channels/public/list", 5 * MINUTE, 24 * HOUR},
+        {"/channels/list", 5 * MINUTE, 24 * HOUR},
+        {"/articles/?*", 30 * 1000L, 30 * 1000L},
+        {"/articles/search*", 30 * 1000L, 30 * 1000L},
+    };
+
+    // Mutation endpoint fragment -> cached GET endpoints it makes stale
+    private static final String[][] INVALIDATION_RULES = {
+        {"/bookmark", "/users/me/bookmarks"},
+        {"/follow", "/channels/followed"},
+        {"/channels/admin", "/channels/public/list", "/channels/list"},
+        {"/categories/admin", "/categories/", "/categories/channels"},
+    };
+
+    private ResponseCachePolicy() {}
+
+    public static boolean isCacheable(int method, String endpoint) {
+        return method == Request.Method.GET && !stripVersion(endpoint).startsWith("/auth/");
+    }
+
+    // Key cached bodies by method + URL + auth scope so one user never sees another's responses
+    public static String cacheKey(int method, String url, String authScope) {
+        return method + ":" + authScope + ":" + url;
+    }
+
+    // Extend the server-provided freshness with our per-endpoint TTLs
+    public static void applyTtl(String endpoint, Cache.Entry entry) {
+        String path = stripVersion(endpoint);
+        for (Object[] rule : TTL_RULES) {
+            if (matches(path, (String) rule[0])) {
+                long now = System.currentTimeMillis();
+                entry.softTtl = Math.max(entry.softTtl, now + (Long) rule[1]);
+                entry.ttl = Math.max(entry.ttl, now + (Long) rule[2]);
+                return;
+            }
+        }
+    }
+
+    // Get the cached GET endpoints that a successful mutation on this endpoint invalidates
+    public static String[] invalidatedBy(String endpoint) {
+        String path = stripVersion(endpoint);
+        for (String[] rule : INVALIDATION_RULES) {
+            if (path.contains(rule[0])) {
+                String[] endpoints = new String[rule.length - 1];
+                for (int i = 1; i < rule.length; i++) {
+                    endpoints[i - 1] = ApiConfig.API_VERSION + rule[i];
+                }
+                return endpoints;
+            }
+        }
+        return new String[0];
+    }
+
+    private static boolean matches(String path, String pattern) {
+        return pattern.endsWith("*")
+            ? path.startsWith(pattern.substring(0, pattern.length() - 1))
+            : path.equals(pattern);
+    }
+
+    private static String stripVersion(String endpoint) {
+        return endpoint.startsWith(ApiConfig.API_VERSION)
+            ? endpoint.substring(ApiConfig.API_VERSION.length())
+            : endpoint;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.newsapplication.api;
+
+import org.json.JSONObject;
+
+/**
+ * Turns a raw response body into the value handed to an ApiCallback.
+ * Decoders run on a Volley network thread, never on the main thread.
+ */
+public interface ResponseDecoder<T> {
+    T decode(byte[] data, String charset) throws Exception;
+
+    // Default decoder used by ApiClient.get/post/put/delete
+    ResponseDecoder<JSONObject> JSON_OBJECT = (data, charset) -> new JSONObject(new String(data, charset));
+}
@@ -0,0 +1,109 @@
+package com.example.newsapplication.api;
+
+import android.content.Context;
+import com.example.newsapplication.auth.AuthService;
+import com.example.newsapplication.auth.UserSessionManager;
+import com.example.newsapplication.utils.PreferenceUtils;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process-wide single-flight access token refresh.
+ * Every ApiClient that needs a fresh token (after a 401, or proactively because the JWT
+ * is about to expire) parks a listener here; exactly one AuthService.refreshToken call
+ * runs and all parked listeners are released together with the new token or the failure.
+ */
+public class TokenRefreshCoordinator {
+    private static final String TAG = "TokenRefresh";
+
+    private static TokenRefreshCoordinator instance;
+
+    private final Context context;
+    private final List<RefreshListener> pending = new ArrayList<>();
+    private boolean isRefreshing = false;
+    private AuthService authService;
+
+    public interface RefreshListener {
+        void onRefreshed(String newToken);
+        void onRefreshFailed();
+    }
+
+    private TokenRefreshCoordinator(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized TokenRefreshCoordinator getInstance(Context context) {
+        if (instance == null) {
+            instance = new TokenRefreshCoordinator(context);
+        }
+        return instance;
+    }
+
+    public boolean hasRefreshToken() {
+        String refreshToken = new UserSessionManager(context).getRefreshToken();
+        return refreshToken != null && !refreshToken.isEmpty();
+    }
+
+    // Park the listener until the in-flight refresh finishes, starting one if none is running
+    public void awaitRefresh(RefreshListener listener) {
+        synchronized (this) {
+            pending.add(listener);
+            if (isRefreshing) {
+                android.util.Log.d(TAG, "Refresh in flight, parked request (" + pending.size() + " waiting)");
+                return;
+            }
+            isRefreshing = true;
+        }
+
+        String refreshToken = new UserSessionManager(context).getRefreshToken();
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            onRefreshFailed("No refresh token");
+            return;
+        }
+
+        android.util.Log.d(TAG, "Starting token refresh");
+        if (authService == null) {
+            authService = new AuthService(context);
+        }
+        authService.refreshToken(refreshToken, new AuthService.AuthResultCallback() {
+            @Override
+            public void onSuccess(JSONObject response) {
+                String newToken = new UserSessionManager(context).getAuthToken();
+                if (newToken == null) {
+                    onRefreshFailed("Refresh response had no access token");
+                    return;
+                }
+                List<RefreshListener> released = drain();
+                android.util.Log.d(TAG, "Token refresh successful, replaying " + released.size() + " requests");
+                for (RefreshListener l : released) {
+                    l.onRefreshed(newToken);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                onRefreshFailed(errorMessage);
+            }
+        });
+    }
+
+    private void onRefreshFailed(String reason) {
+        android.util.Log.e(TAG, "Token refresh failed: " + reason);
+        // Clear tokens once and force logout for every parked request
+        PreferenceUtils.remove(context, ApiConfig.PREFS_NAME, ApiConfig.TOKEN_KEY);
+        new UserSessionManager(context).logoutUser();
+
+        for (RefreshListener l : drain()) {
+            l.onRefreshFailed();
+        }
+    }
+
+    private synchronized List<RefreshListener> drain() {
+        List<RefreshListener> released = new ArrayList<>(pending);
+        pending.clear();
+        isRefreshing = false;
+        return released;
+    }
+}
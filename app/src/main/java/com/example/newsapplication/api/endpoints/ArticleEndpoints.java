@@ -3,10 +3,15 @@ package com.example.newsapplication.api.endpoints;
 import com.example.newsapplication.api.ApiClient;
 import com.example.newsapplication.api.ApiConfig;
 import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.DomainDecoders;
+import com.example.newsapplication.api.ResponseDecoder;
+import com.example.newsapplication.model.Article;
 import com.example.newsapplication.utils.UrlBuilder;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.List;
+
 // API endpoints for Article management
 public class ArticleEndpoints {
     private final ApiClient apiClient;
@@ -16,41 +21,65 @@ public class ArticleEndpoints {
     }
 
     public void getArticles(ApiClient.ApiCallback<JSONObject> callback) {
+        getArticles(ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getArticles(ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/";
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void getArticles(int page, int limit, Integer categoryId, ApiClient.ApiCallback<JSONObject> callback) {
+        getArticles(page, limit, categoryId, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getArticles(int page, int limit, Integer categoryId, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String baseUrl = ApiConfig.API_VERSION + "/articles/";
         String endpoint = UrlBuilder.buildUrlWithOptionalParams(baseUrl,
             "page", page,
             "limit", limit,
             "category", categoryId
         );
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void getArticle(String articleId, ApiClient.ApiCallback<JSONObject> callback) {
+        getArticle(articleId, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getArticle(String articleId, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/" + articleId;
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void searchArticles(String query, int page, int limit, ApiClient.ApiCallback<JSONObject> callback) {
+        searchArticles(query, page, limit, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void searchArticles(String query, int page, int limit, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String baseUrl = ApiConfig.API_VERSION + "/articles/search";
         String endpoint = UrlBuilder.buildUrlWithOptionalParams(baseUrl,
             "q", query,
             "page", page,
             "limit", limit
         );
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void getComments(String articleId, ApiClient.ApiCallback<JSONObject> callback) {
+        getComments(articleId, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getComments(String articleId, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/" + articleId + "/comments";
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void addComment(String articleId, String content, ApiClient.ApiCallback<JSONObject> callback) {
+        addComment(articleId, content, null, callback);
+    }
+
+    public void addComment(String articleId, String content, String idempotencyKey, ApiClient.ApiCallback<JSONObject> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/" + articleId + "/comments";
         JSONObject requestBody = new JSONObject();
         try {
@@ -59,22 +88,34 @@ public class ArticleEndpoints {
             callback.onError(ApiResponse.error(e.getMessage(), 0));
             return;
         }
-        apiClient.post(endpoint, requestBody, callback);
+        apiClient.post(endpoint, requestBody, idempotencyKey, callback);
     }
 
     public void bookmarkArticle(String articleId, ApiClient.ApiCallback<JSONObject> callback) {
+        bookmarkArticle(articleId, null, callback);
+    }
+
+    public void bookmarkArticle(String articleId, String idempotencyKey, ApiClient.ApiCallback<JSONObject> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/" + articleId + "/bookmark";
-        apiClient.post(endpoint, null, callback);
+        apiClient.post(endpoint, null, idempotencyKey, callback);
     }
 
     public void removeBookmark(String articleId, ApiClient.ApiCallback<JSONObject> callback) {
+        removeBookmark(articleId, null, callback);
+    }
+
+    public void removeBookmark(String articleId, String idempotencyKey, ApiClient.ApiCallback<JSONObject> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/" + articleId + "/bookmark";
-        apiClient.delete(endpoint, callback);
+        apiClient.delete(endpoint, idempotencyKey, callback);
     }
 
     public void getBookmarks(ApiClient.ApiCallback<JSONObject> callback) {
+        getBookmarks(ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getBookmarks(ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String endpoint = ApiConfig.API_VERSION + "/users/me/bookmarks";
-        apiClient.get(endpoint, callback);
+        apiClient.get(endpoint, decoder, callback);
     }
 
     public void createArticle(String title, String summary, String content, int categoryId, 
@@ -120,6 +161,12 @@ public class ArticleEndpoints {
         apiClient.get(endpoint, callback);
     }
 
+    // Admin article page decoded by streaming into Article objects; list rows don't render "content"
+    public void getAllArticlesAdminPage(int page, int limit, ApiClient.ApiCallback<List<Article>> callback) {
+        String endpoint = ApiConfig.API_VERSION + "/articles/admin/all?page=" + page + "&limit=" + limit;
+        apiClient.get(endpoint, DomainDecoders.ARTICLE_SUMMARIES, callback);
+    }
+
     public void getPendingArticles(ApiClient.ApiCallback<JSONObject> callback) {
         String endpoint = ApiConfig.API_VERSION + "/articles/admin/pending";
         apiClient.get(endpoint, callback);
@@ -2,6 +2,7 @@ package com.example.newsapplication.api.endpoints;
 
 import com.example.newsapplication.api.ApiClient;
 import com.example.newsapplication.api.ApiConfig;
+import com.example.newsapplication.api.ResponseDecoder;
 import com.example.newsapplication.model.request.CategoryCreate;
 import com.example.newsapplication.utils.UrlBuilder;
 import org.json.JSONObject;
@@ -14,16 +15,24 @@ public class CategoryEndpoints {
     }
 
     public void getCategories(ApiClient.ApiCallback<JSONObject> callback) {
-        apiClient.get(ApiConfig.API_VERSION + "/categories/", callback);
+        getCategories(ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getCategories(ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
+        apiClient.get(ApiConfig.API_VERSION + "/categories/", decoder, callback);
     }
 
     public void getCategoryArticles(int categoryId, int page, int limit, ApiClient.ApiCallback<JSONObject> callback) {
+        getCategoryArticles(categoryId, page, limit, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getCategoryArticles(int categoryId, int page, int limit, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String baseUrl = ApiConfig.API_VERSION + "/categories/" + categoryId;
         String url = UrlBuilder.buildUrlWithOptionalParams(baseUrl,
             "page", page,
             "limit", limit
         );
-        apiClient.get(url, callback);
+        apiClient.get(url, decoder, callback);
     }
 
     public void getChannels(ApiClient.ApiCallback<JSONObject> callback) {
@@ -3,6 +3,7 @@ package com.example.newsapplication.api.endpoints;
 import com.example.newsapplication.api.ApiClient;
 import com.example.newsapplication.api.ApiConfig;
 import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.ResponseDecoder;
 import com.example.newsapplication.utils.UrlBuilder;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -16,7 +17,11 @@ public class ChannelEndpoints {
     }
 
     public void getPublicChannels(ApiClient.ApiCallback<JSONObject> callback) {
-        apiClient.get(ApiConfig.API_VERSION + "/channels/public/list", callback);
+        getPublicChannels(ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getPublicChannels(ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
+        apiClient.get(ApiConfig.API_VERSION + "/channels/public/list", decoder, callback);
     }
 
     public void getAllChannels(ApiClient.ApiCallback<JSONObject> callback) {
@@ -24,20 +29,36 @@ public class ChannelEndpoints {
     }
 
     public void getFollowedChannels(ApiClient.ApiCallback<JSONObject> callback) {
-        apiClient.get(ApiConfig.API_VERSION + "/channels/followed", callback);
+        getFollowedChannels(ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getFollowedChannels(ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
+        apiClient.get(ApiConfig.API_VERSION + "/channels/followed", decoder, callback);
     }
 
     public void followChannel(int channelId, ApiClient.ApiCallback<JSONObject> callback) {
-        apiClient.post(ApiConfig.API_VERSION + "/channels/" + channelId + "/follow", null, callback);
+        followChannel(channelId, null, callback);
+    }
+
+    public void followChannel(int channelId, String idempotencyKey, ApiClient.ApiCallback<JSONObject> callback) {
+        apiClient.post(ApiConfig.API_VERSION + "/channels/" + channelId + "/follow", null, idempotencyKey, callback);
     }
 
     public void unfollowChannel(int channelId, ApiClient.ApiCallback<JSONObject> callback) {
-        apiClient.delete(ApiConfig.API_VERSION + "/channels/" + channelId + "/follow", callback);
+        unfollowChannel(channelId, null, callback);
+    }
+
+    public void unfollowChannel(int channelId, String idempotencyKey, ApiClient.ApiCallback<JSONObject> callback) {
+        apiClient.delete(ApiConfig.API_VERSION + "/channels/" + channelId + "/follow", idempotencyKey, callback);
     }
 
     public void getChannelArticles(int channelId, int page, int limit, ApiClient.ApiCallback<JSONObject> callback) {
+        getChannelArticles(channelId, page, limit, ResponseDecoder.JSON_OBJECT, callback);
+    }
+
+    public <T> void getChannelArticles(int channelId, int page, int limit, ResponseDecoder<T> decoder, ApiClient.ApiCallback<T> callback) {
         String url = ApiConfig.API_VERSION + "/articles/?channel_id=" + channelId + "&page=" + page + "&limit=" + limit;
-        apiClient.get(url, callback);
+        apiClient.get(url, decoder, callback);
     }
 
     public void createChannel(String name, String slug, String description, String rssUrl, String logoUrl, ApiClient.ApiCallback<JSONObject> callback) {
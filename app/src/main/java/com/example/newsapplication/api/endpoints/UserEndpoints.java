@@ -5,14 +5,12 @@ import android.content.Context;
 import com.example.newsapplication.api.ApiClient;
 import com.example.newsapplication.api.ApiConfig;
 import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.DomainDecoders;
 import com.example.newsapplication.model.User;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
 import org.json.JSONObject;
 
-import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
 
 public class UserEndpoints {
@@ -55,25 +53,14 @@ public class UserEndpoints {
             endpoint += "?role=" + role;
         }
         
-        apiClient.get(endpoint, new ApiClient.ApiCallback<JSONObject>() {
+        apiClient.get(endpoint, DomainDecoders.USER_PROFILES, new ApiClient.ApiCallback<List<User>>() {
             @Override
-            public void onSuccess(ApiResponse<JSONObject> response) {
-                try {
-                    JSONObject data = response.getData();
-                    if (data.has("data")) {
-                        data = data.getJSONObject("data");
-                    }
-                    org.json.JSONArray profilesArray = data.getJSONArray("profiles");
-                    Type listType = new TypeToken<List<User>>(){}.getType();
-                    List<User> users = gson.fromJson(profilesArray.toString(), listType);
-                    callback.onSuccess(users);
-                } catch (Exception e) {
-                    callback.onError("Parse error: " + e.getMessage());
-                }
+            public void onSuccess(ApiResponse<List<User>> response) {
+                callback.onSuccess(response.getData());
             }
 
             @Override
-            public void onError(ApiResponse<JSONObject> error) {
+            public void onError(ApiResponse<List<User>> error) {
                 callback.onError(error.getMessage());
             }
         });
@@ -5,6 +5,7 @@ import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.app.Service;
+import android.content.Context;
 import android.content.Intent;
 import android.media.MediaPlayer;
 import android.os.Binder;
@@ -12,6 +13,7 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.IBinder;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.core.app.NotificationCompat;
@@ -20,7 +22,11 @@ import androidx.media.app.NotificationCompat.MediaStyle;
 import com.example.newsapplication.MainActivity;
 import com.example.newsapplication.R;
 
+import com.example.newsapplication.model.Article;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 public class AudioPlayerService extends Service {
@@ -34,21 +40,38 @@ public class AudioPlayerService extends Service {
     public static final String ACTION_SEEK = "com.example.newsapplication.ACTION_SEEK";
     public static final String ACTION_SKIP_FORWARD = "com.example.newsapplication.ACTION_SKIP_FORWARD";
     public static final String ACTION_SKIP_BACKWARD = "com.example.newsapplication.ACTION_SKIP_BACKWARD";
-    public static final String ACTION_AUDIO_STATE = "com.example.newsapplication.ACTION_AUDIO_STATE";
+    public static final String ACTION_PLAY_QUEUE = "com.example.newsapplication.ACTION_PLAY_QUEUE";
+    public static final String ACTION_ENQUEUE = "com.example.newsapplication.ACTION_ENQUEUE";
+    public static final String ACTION_RESUME_QUEUE = "com.example.newsapplication.ACTION_RESUME_QUEUE";
+    public static final String ACTION_NEXT = "com.example.newsapplication.ACTION_NEXT";
+    public static final String ACTION_PREVIOUS = "com.example.newsapplication.ACTION_PREVIOUS";
     
     private static final int SKIP_DURATION_MS = 10000; // 10 seconds
+    private static final int RESTART_THRESHOLD_MS = 3000;
+    // Progress ticks between saves of the queue position
+    private static final int POSITION_SAVE_INTERVAL_TICKS = 5;
     
     public static final String EXTRA_AUDIO_URL = "audio_url";
+    public static final String EXTRA_ARTICLE_ID = "article_id";
     public static final String EXTRA_AUDIO_TITLE = "audio_title";
     public static final String EXTRA_DURATION_MS = "duration_ms";
     public static final String EXTRA_SEEK_POSITION = "seek_position";
+    public static final String EXTRA_QUEUE_ITEMS = "queue_items";
+    public static final String EXTRA_QUEUE_START_INDEX = "queue_start_index";
     
-    public static final String EXTRA_IS_PLAYING = "is_playing";
-    public static final String EXTRA_POSITION_MS = "position_ms";
-    public static final String EXTRA_DURATION_MS_BROADCAST = "duration_ms_broadcast";
     
     private MediaPlayer mediaPlayer;
     private String currentAudioUrl;
+    private String currentArticleId;
+    private CachedAudioDataSource audioDataSource;
+    
+    // Listening queue; the next track is prepared on its own player and chained to the current one
+    private AudioQueue queue;
+    private boolean queueMode = false;
+    private MediaPlayer nextPlayer;
+    private CachedAudioDataSource nextDataSource;
+    private boolean nextPlayerChained = false;
+    private int progressTicks = 0;
     private String currentTitle;
     private int currentDurationMs = 0; // Duration from API (tts_duration_seconds * 1000)
     private boolean isPlaying = false;
@@ -59,14 +82,16 @@ public class AudioPlayerService extends Service {
     
     private Handler progressHandler;
     private Runnable progressRunnable;
-    private int lastBroadcastPosition = -1;
-    private boolean lastBroadcastPlaying = false;
+    private final IBinder binder = new LocalBinder();
+    private final List<PlaybackState.Listener> stateListeners = new ArrayList<>();
+    private PlaybackState playbackState = PlaybackState.IDLE;
     
     @Override
     public void onCreate() {
         super.onCreate();
         createNotificationChannel();
         progressHandler = new Handler(Looper.getMainLooper());
+        queue = new AudioQueue(this);
     }
     
     @Override
@@ -93,6 +118,21 @@ public class AudioPlayerService extends Service {
                     case ACTION_SKIP_BACKWARD:
                         handleSkipBackward();
                         break;
+                    case ACTION_PLAY_QUEUE:
+                        handlePlayQueue(intent);
+                        break;
+                    case ACTION_ENQUEUE:
+                        handleEnqueue(intent);
+                        break;
+                    case ACTION_RESUME_QUEUE:
+                        handleResumeQueue();
+                        break;
+                    case ACTION_NEXT:
+                        handleNext();
+                        break;
+                    case ACTION_PREVIOUS:
+                        handlePrevious();
+                        break;
                 }
             }
         }
@@ -101,11 +141,13 @@ public class AudioPlayerService extends Service {
     
     private void handlePlay(Intent intent) {
         String audioUrl = intent.getStringExtra(EXTRA_AUDIO_URL);
+        String articleId = intent.getStringExtra(EXTRA_ARTICLE_ID);
         String title = intent.getStringExtra(EXTRA_AUDIO_TITLE);
         int durationMs = intent.getIntExtra(EXTRA_DURATION_MS, 0);
         
         // If mediaPlayer exists and is paused, just resume without needing URL
-        if (mediaPlayer != null && currentAudioUrl != null && !isPlaying) {
+        boolean sameOrNoAudio = audioUrl == null || audioUrl.isEmpty() || audioUrl.equals(currentAudioUrl);
+        if (mediaPlayer != null && currentAudioUrl != null && !isPlaying && sameOrNoAudio) {
             Log.d(TAG, "handlePlay() - Resuming existing mediaPlayer");
             try {
                 mediaPlayer.start();
@@ -113,7 +155,7 @@ public class AudioPlayerService extends Service {
                 sIsPlaying = true;
                 startProgressUpdates();
                 updateNotification();
-                broadcastAudioState();
+                publishState();
                 return;
             } catch (IllegalStateException e) {
                 Log.e(TAG, "Error resuming MediaPlayer, will reload", e);
@@ -136,7 +178,7 @@ public class AudioPlayerService extends Service {
                     sIsPlaying = true;
                     startProgressUpdates();
                     updateNotification();
-                    broadcastAudioState();
+                    publishState();
                     return;
                 } catch (IllegalStateException e) {
                     Log.e(TAG, "Error resuming MediaPlayer without URL", e);
@@ -151,18 +193,32 @@ public class AudioPlayerService extends Service {
             title = "Audio";
         }
         
+        // An article that is part of the queue continues the queue from there
+        int queueIndex = queue.indexOf(articleId);
+        if (queueIndex >= 0 && audioUrl.equals(queue.getItem(queueIndex).audioUrl)) {
+            queueMode = true;
+            queue.moveTo(queueIndex);
+        } else {
+            queueMode = false;
+        }
+        startTrack(articleId, audioUrl, title, durationMs, 0);
+    }
+    
+    private void startTrack(String articleId, String audioUrl, String title, int durationMs, int startPositionMs) {
         // Release existing player if different audio
+        releaseNextPlayer();
         if (mediaPlayer != null) {
             releaseMediaPlayer();
         }
         
         currentAudioUrl = audioUrl;
+        currentArticleId = articleId;
         currentTitle = title != null ? title : "Audio";
         currentDurationMs = durationMs;
         
         try {
             mediaPlayer = new MediaPlayer();
-            mediaPlayer.setDataSource(audioUrl);
+            audioDataSource = attachDataSource(mediaPlayer, articleId, audioUrl);
             mediaPlayer.prepareAsync();
             
             mediaPlayer.setOnPreparedListener(mp -> {
@@ -176,6 +232,9 @@ public class AudioPlayerService extends Service {
                     }
                 }
                 
+                if (startPositionMs > 0) {
+                    mp.seekTo(startPositionMs);
+                }
                 mp.start();
                 isPlaying = true;
                 sIsPlaying = true;
@@ -185,30 +244,227 @@ public class AudioPlayerService extends Service {
                 
                 startForeground(NOTIFICATION_ID, buildNotification());
                 startProgressUpdates();
-                broadcastAudioState();
-            });
-            
-            mediaPlayer.setOnCompletionListener(mp -> {
-                isPlaying = false;
-                sIsPlaying = false;
-                stopProgressUpdates();
-                broadcastAudioState();
-                updateNotification();
+                publishState();
+                prepareNextTrack();
             });
             
-            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                Log.e(TAG, "MediaPlayer error: what=" + what + ", extra=" + extra);
-                isPlaying = false;
-                sIsPlaying = false;
-                stopProgressUpdates();
-                broadcastAudioState();
-                return true;
-            });
+            mediaPlayer.setOnCompletionListener(this::onTrackCompleted);
+            mediaPlayer.setOnErrorListener(this::onPlayerError);
             
         } catch (IOException e) {
             Log.e(TAG, "Error setting data source", e);
+            if (skipFailedQueueItem()) {
+                return;
+            }
             isPlaying = false;
             sIsPlaying = false;
+            publishState();
+            updateNotification();
+        }
+    }
+    
+    private void startQueueItem(AudioQueue.Item item, int startPositionMs) {
+        if (item == null) {
+            return;
+        }
+        startTrack(item.articleId, item.audioUrl, item.title, item.durationMs, startPositionMs);
+    }
+    
+    // Prepare the next queued article on a second player and chain it, so it starts the moment this one ends
+    private void prepareNextTrack() {
+        if (!queueMode || mediaPlayer == null || nextPlayer != null) {
+            return;
+        }
+        AudioQueue.Item next = queue.peekNext();
+        if (next == null) {
+            return;
+        }
+        try {
+            MediaPlayer player = new MediaPlayer();
+            nextPlayer = player;
+            nextDataSource = attachDataSource(player, next.articleId, next.audioUrl);
+            player.setOnPreparedListener(mp -> {
+                if (mp != nextPlayer || mediaPlayer == null) {
+                    return;
+                }
+                try {
+                    mediaPlayer.setNextMediaPlayer(mp);
+                    nextPlayerChained = true;
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    Log.w(TAG, "Could not chain next track", e);
+                }
+            });
+            player.setOnCompletionListener(this::onTrackCompleted);
+            player.setOnErrorListener(this::onPlayerError);
+            player.prepareAsync();
+        } catch (IOException | IllegalStateException e) {
+            Log.w(TAG, "Could not prepare next track", e);
+            releaseNextPlayer();
+        }
+    }
+    
+    private void onTrackCompleted(MediaPlayer mp) {
+        if (mp != mediaPlayer) {
+            return;
+        }
+        
+        if (queueMode && nextPlayer != null && nextPlayerChained && queue.moveToNext()) {
+            // The framework has already started the chained player; promote it to current
+            MediaPlayer finished = mediaPlayer;
+            CachedAudioDataSource finishedSource = audioDataSource;
+            mediaPlayer = nextPlayer;
+            audioDataSource = nextDataSource;
+            nextPlayer = null;
+            nextDataSource = null;
+            nextPlayerChained = false;
+            finished.release();
+            if (finishedSource != null) {
+                finishedSource.close();
+            }
+            
+            AudioQueue.Item item = queue.current();
+            currentArticleId = item.articleId;
+            currentAudioUrl = item.audioUrl;
+            currentTitle = item.title;
+            currentDurationMs = item.durationMs > 0 ? item.durationMs : mediaPlayer.getDuration();
+            sCurrentTitle = currentTitle;
+            isPlaying = true;
+            sIsPlaying = true;
+            
+            publishState();
+            updateNotification();
+            prepareNextTrack();
+            return;
+        }
+        
+        if (queueMode && queue.moveToNext()) {
+            // Next track was not ready in time; load it the normal way
+            startQueueItem(queue.current(), 0);
+            return;
+        }
+        
+        isPlaying = false;
+        sIsPlaying = false;
+        stopProgressUpdates();
+        publishState();
+        updateNotification();
+    }
+    
+    private boolean onPlayerError(MediaPlayer mp, int what, int extra) {
+        Log.e(TAG, "MediaPlayer error: what=" + what + ", extra=" + extra);
+        if (mp == nextPlayer) {
+            // Leave the next track to be loaded normally when its turn comes
+            releaseNextPlayer();
+            return true;
+        }
+        if (mp != mediaPlayer) {
+            // Already replaced
+            return true;
+        }
+        if (skipFailedQueueItem()) {
+            return true;
+        }
+        isPlaying = false;
+        sIsPlaying = false;
+        stopProgressUpdates();
+        publishState();
+        updateNotification();
+        return true;
+    }
+    
+    /**
+     * Move past a queued article that cannot be played, usually one whose audio was never
+     * generated: queued feed articles get the guessed storage URL, which then returns 404.
+     * The failed player is released by startQueueItem. Returns false once the queue is exhausted.
+     */
+    private boolean skipFailedQueueItem() {
+        if (!queueMode || !queue.moveToNext()) {
+            return false;
+        }
+        Log.w(TAG, "Skipping unplayable queue item, moving to " + queue.current().articleId);
+        startQueueItem(queue.current(), 0);
+        return true;
+    }
+    
+    private void handlePlayQueue(Intent intent) {
+        List<AudioQueue.Item> items = AudioQueue.fromJson(intent.getStringExtra(EXTRA_QUEUE_ITEMS));
+        queue.replace(items, intent.getIntExtra(EXTRA_QUEUE_START_INDEX, 0));
+        if (queue.isEmpty()) {
+            return;
+        }
+        queueMode = true;
+        startQueueItem(queue.current(), 0);
+    }
+    
+    private void handleEnqueue(Intent intent) {
+        queue.append(AudioQueue.fromJson(intent.getStringExtra(EXTRA_QUEUE_ITEMS)));
+        prepareNextTrack();
+        updateNotification();
+    }
+    
+    // Continue the persisted queue where it was left, e.g. after the process was killed
+    private void handleResumeQueue() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (queueMode && mediaPlayer != null) {
+            handlePlay(new Intent(ACTION_PLAY));
+            return;
+        }
+        queueMode = true;
+        startQueueItem(queue.current(), queue.getResumePositionMs());
+    }
+    
+    private void handleNext() {
+        if (queueMode && queue.moveToNext()) {
+            startQueueItem(queue.current(), 0);
+        }
+    }
+    
+    private void handlePrevious() {
+        if (mediaPlayer != null) {
+            try {
+                // Like most players: restart the current track unless it has only just begun
+                if (mediaPlayer.getCurrentPosition() > RESTART_THRESHOLD_MS || !queueMode || !queue.hasPrevious()) {
+                    mediaPlayer.seekTo(0);
+                    publishState();
+                    updateNotification();
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                Log.e(TAG, "Error reading position for previous", e);
+            }
+        }
+        if (queueMode && queue.moveToPrevious()) {
+            startQueueItem(queue.current(), 0);
+        }
+    }
+    
+    private void saveQueuePosition() {
+        if (queueMode && mediaPlayer != null) {
+            try {
+                queue.savePosition(mediaPlayer.getCurrentPosition());
+            } catch (IllegalStateException e) {
+                // Player not prepared yet; keep the last saved position
+            }
+        }
+    }
+    
+    // Play through the local audio cache, which is opened on MediaPlayer's thread; stream the URL directly if the player rejects it
+    private CachedAudioDataSource attachDataSource(MediaPlayer player, String articleId, String audioUrl) throws IOException {
+        CachedAudioDataSource dataSource = null;
+        try {
+            dataSource = new CachedAudioDataSource(TtsAudioCache.getInstance(this), articleId, audioUrl);
+            player.setDataSource(dataSource);
+            return dataSource;
+        } catch (IOException | IllegalArgumentException e) {
+            Log.w(TAG, "Audio cache unavailable, streaming directly", e);
+            if (dataSource != null) {
+                dataSource.close();
+            }
+            player.reset();
+            player.setDataSource(audioUrl);
+            return null;
         }
     }
     
@@ -220,6 +476,7 @@ public class AudioPlayerService extends Service {
                 mediaPlayer.pause();
                 isPlaying = false;
                 sIsPlaying = false;
+                saveQueuePosition();
                 // Keep sCurrentTitle so mini-player can still show when back
                 if (sCurrentTitle == null && currentTitle != null) {
                     sCurrentTitle = currentTitle;
@@ -227,7 +484,7 @@ public class AudioPlayerService extends Service {
                 Log.d(TAG, "handlePause() - Paused - sIsPlaying: " + sIsPlaying + ", sCurrentTitle: " + sCurrentTitle);
                 stopProgressUpdates();
                 updateNotification();
-                broadcastAudioState();
+                publishState();
             } else {
                 // Currently paused, resume it
                 try {
@@ -240,17 +497,19 @@ public class AudioPlayerService extends Service {
                     }
                     startProgressUpdates();
                     updateNotification();
-                    broadcastAudioState();
+                    publishState();
                 } catch (IllegalStateException e) {
                     Log.e(TAG, "Error resuming playback, trying to reload", e);
                     // If MediaPlayer is in invalid state, try to reload
                     String audioUrl = intent != null ? intent.getStringExtra(EXTRA_AUDIO_URL) : currentAudioUrl;
+                    String articleId = intent != null ? intent.getStringExtra(EXTRA_ARTICLE_ID) : currentArticleId;
                     String title = intent != null ? intent.getStringExtra(EXTRA_AUDIO_TITLE) : currentTitle;
                     int duration = intent != null ? intent.getIntExtra(EXTRA_DURATION_MS, currentDurationMs) : currentDurationMs;
                     
                     if (audioUrl != null && !audioUrl.isEmpty()) {
                         Intent playIntent = new Intent(ACTION_PLAY);
                         playIntent.putExtra(EXTRA_AUDIO_URL, audioUrl);
+                        playIntent.putExtra(EXTRA_ARTICLE_ID, articleId);
                         playIntent.putExtra(EXTRA_AUDIO_TITLE, title != null ? title : "Audio");
                         playIntent.putExtra(EXTRA_DURATION_MS, duration);
                         handlePlay(playIntent);
@@ -260,12 +519,14 @@ public class AudioPlayerService extends Service {
         } else if (intent != null) {
             // MediaPlayer is null, try to reload from intent
             String audioUrl = intent.getStringExtra(EXTRA_AUDIO_URL);
+            String articleId = intent.getStringExtra(EXTRA_ARTICLE_ID);
             String title = intent.getStringExtra(EXTRA_AUDIO_TITLE);
             int duration = intent.getIntExtra(EXTRA_DURATION_MS, 0);
             
             if (audioUrl != null && !audioUrl.isEmpty()) {
                 Intent playIntent = new Intent(ACTION_PLAY);
                 playIntent.putExtra(EXTRA_AUDIO_URL, audioUrl);
+                playIntent.putExtra(EXTRA_ARTICLE_ID, articleId);
                 playIntent.putExtra(EXTRA_AUDIO_TITLE, title != null ? title : "Audio");
                 playIntent.putExtra(EXTRA_DURATION_MS, duration);
                 handlePlay(playIntent);
@@ -278,42 +539,31 @@ public class AudioPlayerService extends Service {
     }
     
     private void handleStop() {
+        saveQueuePosition();
         releaseMediaPlayer();
+        releaseNextPlayer();
+        queueMode = false;
         // Clear all state when explicitly stopped
         currentAudioUrl = null;
+        currentArticleId = null;
         currentTitle = null;
         currentDurationMs = 0;
         sCurrentTitle = null;
         sIsPlaying = false;
+        setPlaybackState(PlaybackState.IDLE);
         stopForeground(true);
         stopSelf();
     }
     
     private void handleSeek(Intent intent) {
         int position = intent.getIntExtra(EXTRA_SEEK_POSITION, 0);
-        Log.d(TAG, "handleSeek() called with position: " + position);
-        if (position == -1) {
-            // Special value: just trigger broadcast without seeking
-            Log.d(TAG, "handleSeek() - position is -1, triggering broadcast");
-            Log.d(TAG, "handleSeek() - current state: isPlaying=" + isPlaying + ", currentTitle=" + currentTitle + 
-                  ", sIsPlaying=" + sIsPlaying + ", sCurrentTitle=" + sCurrentTitle);
-            // Reset last broadcast position to force broadcast
-            lastBroadcastPosition = -1;
-            lastBroadcastPlaying = !isPlaying; // Force state change
-            // Always broadcast, even if paused or no mediaPlayer
-            broadcastAudioState();
-            return;
-        }
         if (mediaPlayer != null && position >= 0) {
             try {
                 mediaPlayer.seekTo(position);
-                broadcastAudioState();
+                publishState();
             } catch (IllegalStateException e) {
                 Log.e(TAG, "Error seeking", e);
             }
-        } else if (position == -1) {
-            // If no mediaPlayer but position is -1, still broadcast state
-            broadcastAudioState();
         }
     }
     
@@ -327,7 +577,7 @@ public class AudioPlayerService extends Service {
                     newPosition = duration;
                 }
                 mediaPlayer.seekTo(newPosition);
-                broadcastAudioState();
+                publishState();
                 updateNotification();
             } catch (IllegalStateException e) {
                 Log.e(TAG, "Error skipping forward", e);
@@ -344,7 +594,7 @@ public class AudioPlayerService extends Service {
                     newPosition = 0;
                 }
                 mediaPlayer.seekTo(newPosition);
-                broadcastAudioState();
+                publishState();
                 updateNotification();
             } catch (IllegalStateException e) {
                 Log.e(TAG, "Error skipping backward", e);
@@ -359,9 +609,10 @@ public class AudioPlayerService extends Service {
             public void run() {
                 if (mediaPlayer != null && isPlaying) {
                     try {
-                        int position = mediaPlayer.getCurrentPosition();
-                        broadcastAudioState();
                         updateNotification();
+                        if (++progressTicks % POSITION_SAVE_INTERVAL_TICKS == 0) {
+                            saveQueuePosition();
+                        }
                         progressHandler.postDelayed(this, 1000); // Update every second
                     } catch (IllegalStateException e) {
                         // MediaPlayer is in invalid state, stop updates
@@ -388,103 +639,61 @@ public class AudioPlayerService extends Service {
         }
     }
     
-    private void broadcastAudioState() {
-        Log.d(TAG, "broadcastAudioState() called");
-        // Broadcast if we have any audio state (playing, paused, or has title)
-        // Don't early return if paused - we still need to broadcast state
-        // Also check static variables to ensure we broadcast even if instance variables are cleared
-        boolean hasAudioState = mediaPlayer != null || currentTitle != null || currentAudioUrl != null || 
-                               sCurrentTitle != null || sIsPlaying;
-        
-        Log.d(TAG, "broadcastAudioState() - hasAudioState: " + hasAudioState + 
-              ", mediaPlayer: " + (mediaPlayer != null) + 
-              ", currentTitle: " + currentTitle + 
-              ", currentAudioUrl: " + currentAudioUrl + 
-              ", sCurrentTitle: " + sCurrentTitle + 
-              ", sIsPlaying: " + sIsPlaying);
-        
-        if (!hasAudioState) {
-            Log.d(TAG, "broadcastAudioState() - No audio state, returning early");
-            return;
-        }
-        
-        // If currentTitle is null but sCurrentTitle exists, use it
+    // Push a snapshot to bound observers; between changes they extrapolate the position themselves
+    private void publishState() {
         if (currentTitle == null && sCurrentTitle != null) {
             currentTitle = sCurrentTitle;
-            Log.d(TAG, "broadcastAudioState() - Restored currentTitle from sCurrentTitle: " + currentTitle);
+        }
+        if (mediaPlayer == null && currentTitle == null) {
+            setPlaybackState(PlaybackState.IDLE);
+            return;
         }
         
-        try {
-            Intent broadcast = new Intent(ACTION_AUDIO_STATE);
-            // Set package to ensure broadcast is delivered correctly
-            String packageName = getPackageName();
-            if (packageName == null || packageName.isEmpty()) {
-                // Service may be destroyed, stop updates
-                stopProgressUpdates();
-                return;
-            }
-            broadcast.setPackage(packageName);
-            broadcast.putExtra(EXTRA_IS_PLAYING, isPlaying);
-            
-            int position = 0;
-            int duration = currentDurationMs;
-            
-            if (mediaPlayer != null) {
-                try {
-                    position = mediaPlayer.getCurrentPosition();
-                    // Only use MediaPlayer duration if API duration is not available
-                    if (duration == 0) {
-                        int mpDuration = mediaPlayer.getDuration();
-                        if (mpDuration > 0) {
-                            duration = mpDuration;
-                            currentDurationMs = duration;
-                        }
+        int position = 0;
+        int duration = currentDurationMs;
+        if (mediaPlayer != null) {
+            try {
+                position = mediaPlayer.getCurrentPosition();
+                // Only use MediaPlayer duration if API duration is not available
+                if (duration == 0) {
+                    int mpDuration = mediaPlayer.getDuration();
+                    if (mpDuration > 0) {
+                        duration = mpDuration;
+                        currentDurationMs = duration;
                     }
-                } catch (IllegalStateException e) {
-                    // MediaPlayer is in invalid state, but still broadcast with last known position
-                    // Don't return - we still want to broadcast state
-                } catch (Exception e) {
-                    // Still broadcast even on error
                 }
+            } catch (IllegalStateException e) {
+                // Not prepared yet; report the start of the track
             }
-            
-            // Only broadcast if there's a significant change (every 500ms or state change)
-            // But always broadcast if it's a state change or first broadcast
-            int positionDiff = Math.abs(position - lastBroadcastPosition);
-            boolean stateChanged = (isPlaying != lastBroadcastPlaying);
-            
-            // Always broadcast on state change or first time
-            // For position updates, only broadcast if significant change (500ms) or first time
-            if (!stateChanged && positionDiff < 500 && lastBroadcastPosition >= 0) {
-                // Skip broadcast if no significant change (but allow through if first time)
-                return;
-            }
-            
-            lastBroadcastPosition = position;
-            lastBroadcastPlaying = isPlaying;
-            
-            broadcast.putExtra(EXTRA_POSITION_MS, position);
-            broadcast.putExtra(EXTRA_DURATION_MS_BROADCAST, duration);
-            // Ensure title is not null - always use a non-null string
-            String titleToSend = (currentTitle != null && !currentTitle.isEmpty()) ? currentTitle : "Audio";
-            broadcast.putExtra(EXTRA_AUDIO_TITLE, titleToSend);
-            
-            // Update static variable to keep it in sync
-            if (currentTitle != null && !currentTitle.isEmpty()) {
-                sCurrentTitle = currentTitle;
-            }
-            
-            Log.d(TAG, "broadcastAudioState() - Sending broadcast - playing: " + isPlaying + 
-                  ", position: " + position + ", duration: " + duration + ", title: " + titleToSend);
-            sendBroadcast(broadcast);
-            Log.d(TAG, "broadcastAudioState() - Broadcast sent successfully");
-        } catch (SecurityException | IllegalStateException e) {
-            // App may have been destroyed or service is in invalid state, stop updates
-            stopProgressUpdates();
-        } catch (Exception e) {
-            // Silently ignore other exceptions - these are usually harmless
-            // (app destroyed, no receivers, etc.) and don't affect functionality
         }
+        
+        String title = (currentTitle != null && !currentTitle.isEmpty()) ? currentTitle : "Audio";
+        sCurrentTitle = title;
+        setPlaybackState(new PlaybackState(isPlaying, position, duration, title, currentArticleId,
+            SystemClock.elapsedRealtime()));
+    }
+    
+    private void setPlaybackState(PlaybackState state) {
+        playbackState = state;
+        for (PlaybackState.Listener listener : new ArrayList<>(stateListeners)) {
+            listener.onPlaybackStateChanged(state);
+        }
+    }
+    
+    public PlaybackState getPlaybackState() {
+        return playbackState;
+    }
+    
+    // The listener immediately receives the current state, then every change; called on the main thread
+    public void addPlaybackStateListener(PlaybackState.Listener listener) {
+        if (!stateListeners.contains(listener)) {
+            stateListeners.add(listener);
+        }
+        listener.onPlaybackStateChanged(playbackState);
+    }
+    
+    public void removePlaybackStateListener(PlaybackState.Listener listener) {
+        stateListeners.remove(listener);
     }
     
     private void createNotificationChannel() {
@@ -518,6 +727,7 @@ public class AudioPlayerService extends Service {
         // Add audio info in case we need to resume
         if (currentAudioUrl != null) {
             toggleIntent.putExtra(EXTRA_AUDIO_URL, currentAudioUrl);
+            toggleIntent.putExtra(EXTRA_ARTICLE_ID, currentArticleId);
         }
         if (currentTitle != null) {
             toggleIntent.putExtra(EXTRA_AUDIO_TITLE, currentTitle);
@@ -581,7 +791,20 @@ public class AudioPlayerService extends Service {
             .setOngoing(isPlaying)
             .setOnlyAlertOnce(true)
             .setVisibility(NotificationCompat.VISIBILITY_PUBLIC)
-            .setPriority(NotificationCompat.PRIORITY_LOW)
+            .setPriority(NotificationCompat.PRIORITY_LOW);
+        
+        // In a queue, Previous comes first and shifts the other actions by one
+        if (queueMode) {
+            Intent previousIntent = new Intent(ACTION_PREVIOUS);
+            previousIntent.setClass(this, AudioPlayerService.class);
+            PendingIntent previousPendingIntent = PendingIntent.getService(
+                this, 0, previousIntent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+            );
+            builder.addAction(android.R.drawable.ic_media_previous, "Previous", previousPendingIntent);
+        }
+        
+        builder
             .addAction(
                 android.R.drawable.ic_media_rew,
                 "Rewind 10s",
@@ -601,9 +824,25 @@ public class AudioPlayerService extends Service {
                 R.drawable.ic_close,
                 "Stop",
                 stopPendingIntent
-            )
-            .setStyle(new MediaStyle()
+            );
+        
+        if (queueMode && queue.peekNext() != null) {
+            Intent nextIntent = new Intent(ACTION_NEXT);
+            nextIntent.setClass(this, AudioPlayerService.class);
+            PendingIntent nextPendingIntent = PendingIntent.getService(
+                this, 0, nextIntent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+            );
+            builder.addAction(android.R.drawable.ic_media_next, "Next", nextPendingIntent)
+                .setStyle(new MediaStyle()
+                    .setShowActionsInCompactView(0, 2, 5)); // Previous, play/pause and next
+        } else if (queueMode) {
+            builder.setStyle(new MediaStyle()
+                .setShowActionsInCompactView(0, 2, 3)); // Previous, play/pause and forward
+        } else {
+            builder.setStyle(new MediaStyle()
                 .setShowActionsInCompactView(1, 2)); // Show play/pause and forward in compact view
+        }
         
         // Add progress bar if duration is available
         if (duration > 0) {
@@ -645,13 +884,38 @@ public class AudioPlayerService extends Service {
             }
             mediaPlayer = null;
         }
+        if (audioDataSource != null) {
+            audioDataSource.close();
+            audioDataSource = null;
+        }
         isPlaying = false;
         sIsPlaying = false;
         // Don't clear currentAudioUrl, currentTitle, and currentDurationMs here
         // They should be kept so we can resume playback
         // Only clear them in handleStop() when user explicitly stops
-        lastBroadcastPosition = -1;
-        lastBroadcastPlaying = false;
+    }
+    
+    private void releaseNextPlayer() {
+        if (nextPlayer != null) {
+            try {
+                if (mediaPlayer != null && nextPlayerChained) {
+                    mediaPlayer.setNextMediaPlayer(null);
+                }
+            } catch (IllegalStateException e) {
+                // Current player already released
+            }
+            try {
+                nextPlayer.release();
+            } catch (Exception e) {
+                Log.e(TAG, "Error releasing next MediaPlayer", e);
+            }
+            nextPlayer = null;
+        }
+        if (nextDataSource != null) {
+            nextDataSource.close();
+            nextDataSource = null;
+        }
+        nextPlayerChained = false;
     }
     
     @Override
@@ -660,16 +924,66 @@ public class AudioPlayerService extends Service {
         Log.d(TAG, "onDestroy() called - Clearing static state");
         // Stop all updates before destroying
         stopProgressUpdates();
+        saveQueuePosition();
         releaseMediaPlayer();
+        releaseNextPlayer();
         // Clear static state
         sIsPlaying = false;
         sCurrentTitle = null;
+        setPlaybackState(PlaybackState.IDLE);
+        stateListeners.clear();
         Log.d(TAG, "onDestroy() - Static state cleared - sIsPlaying: " + sIsPlaying + ", sCurrentTitle: " + sCurrentTitle);
     }
     
+    // Replace the listening queue with these articles and start playing at startIndex
+    public static void playQueue(Context context, List<Article> articles, int startIndex) {
+        Intent intent = new Intent(context, AudioPlayerService.class);
+        intent.setAction(ACTION_PLAY_QUEUE);
+        intent.putExtra(EXTRA_QUEUE_ITEMS, AudioQueue.toJson(toQueueItems(articles)));
+        intent.putExtra(EXTRA_QUEUE_START_INDEX, startIndex);
+        context.startService(intent);
+    }
+    
+    // Continue the queue saved by an earlier session where it was left
+    public static void resumeQueue(Context context) {
+        Intent intent = new Intent(context, AudioPlayerService.class);
+        intent.setAction(ACTION_RESUME_QUEUE);
+        context.startService(intent);
+    }
+    
+    // Whether resumeQueue has anything to play
+    public static boolean hasSavedQueue(Context context) {
+        return !new AudioQueue(context).isEmpty();
+    }
+    
+    // Append articles to the end of the listening queue without interrupting playback
+    public static void enqueue(Context context, List<Article> articles) {
+        Intent intent = new Intent(context, AudioPlayerService.class);
+        intent.setAction(ACTION_ENQUEUE);
+        intent.putExtra(EXTRA_QUEUE_ITEMS, AudioQueue.toJson(toQueueItems(articles)));
+        context.startService(intent);
+    }
+    
+    private static List<AudioQueue.Item> toQueueItems(List<Article> articles) {
+        List<AudioQueue.Item> items = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (article.getId() != null && !article.getId().isEmpty()) {
+                items.add(AudioQueue.Item.fromArticle(article));
+            }
+        }
+        return items;
+    }
+    
     @Override
     public IBinder onBind(Intent intent) {
-        return null;
+        return binder;
+    }
+    
+    // In-process binding for screens that observe playback
+    public class LocalBinder extends Binder {
+        public AudioPlayerService getService() {
+            return AudioPlayerService.this;
+        }
     }
 }
 
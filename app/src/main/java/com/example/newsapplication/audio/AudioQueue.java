@@ -0,0 +1,243 @@
+package com.example.newsapplication.audio;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.newsapplication.api.ApiConfig;
+import com.example.newsapplication.model.Article;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered list of articles to listen to, with the current position.
+ * Every change is written to SharedPreferences so the queue survives process death.
+ */
+public class AudioQueue {
+    private static final String TAG = "AudioQueue";
+    private static final String PREFS_NAME = "AudioQueuePrefs";
+    private static final String KEY_QUEUE = "queue";
+
+    private final SharedPreferences prefs;
+    private final List<Item> items = new ArrayList<>();
+    private int index = -1;
+    private int resumePositionMs;
+
+    public static class Item {
+        public final String articleId;
+        public final String audioUrl;
+        public final String title;
+        public final int durationMs;
+
+        public Item(String articleId, String audioUrl, String title, int durationMs) {
+            this.articleId = articleId;
+            this.audioUrl = audioUrl;
+            this.title = title;
+            this.durationMs = durationMs;
+        }
+
+        public static Item fromArticle(Article article) {
+            return new Item(article.getId(), audioUrlFor(article),
+                article.getTitle() != null ? article.getTitle() : "Audio",
+                article.getTtsDurationSeconds() * 1000);
+        }
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("article_id", articleId);
+            json.put("audio_url", audioUrl);
+            json.put("title", title);
+            json.put("duration_ms", durationMs);
+            return json;
+        }
+
+        static Item fromJson(JSONObject json) {
+            return new Item(json.optString("article_id", ""), json.optString("audio_url", ""),
+                json.optString("title", "Audio"), json.optInt("duration_ms", 0));
+        }
+    }
+
+    public AudioQueue(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        restore();
+    }
+
+    // The article's own TTS URL, or the storage path the backend publishes audio under
+    public static String audioUrlFor(Article article) {
+        if (article.getTtsAudioUrl() != null && article.getTtsAudioUrl().startsWith("http")) {
+            return article.getTtsAudioUrl();
+        }
+        return ApiConfig.TTS_AUDIO_BASE_URL + article.getId() + ".mp3";
+    }
+
+    public void replace(List<Item> newItems, int startIndex) {
+        items.clear();
+        for (Item item : newItems) {
+            if (item.audioUrl != null && !item.audioUrl.isEmpty()) {
+                items.add(item);
+            }
+        }
+        index = items.isEmpty() ? -1 : Math.max(0, Math.min(startIndex, items.size() - 1));
+        resumePositionMs = 0;
+        persist();
+    }
+
+    // Add items to the end, skipping articles that are already queued
+    public void append(List<Item> newItems) {
+        for (Item item : newItems) {
+            if (item.audioUrl != null && !item.audioUrl.isEmpty() && indexOf(item.articleId) < 0) {
+                items.add(item);
+            }
+        }
+        if (index < 0 && !items.isEmpty()) {
+            index = 0;
+        }
+        persist();
+    }
+
+    public void clear() {
+        items.clear();
+        index = -1;
+        resumePositionMs = 0;
+        persist();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Item current() {
+        return index >= 0 && index < items.size() ? items.get(index) : null;
+    }
+
+    public Item getItem(int position) {
+        return items.get(position);
+    }
+
+    public Item peekNext() {
+        return index + 1 < items.size() ? items.get(index + 1) : null;
+    }
+
+    public boolean hasPrevious() {
+        return index > 0;
+    }
+
+    public int indexOf(String articleId) {
+        if (articleId == null) {
+            return -1;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (articleId.equals(items.get(i).articleId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean moveTo(int newIndex) {
+        if (newIndex < 0 || newIndex >= items.size()) {
+            return false;
+        }
+        index = newIndex;
+        resumePositionMs = 0;
+        persist();
+        return true;
+    }
+
+    public boolean moveToNext() {
+        return moveTo(index + 1);
+    }
+
+    public boolean moveToPrevious() {
+        return moveTo(index - 1);
+    }
+
+    public int getResumePositionMs() {
+        return resumePositionMs;
+    }
+
+    public void savePosition(int positionMs) {
+        if (index < 0 || positionMs == resumePositionMs) {
+            return;
+        }
+        resumePositionMs = positionMs;
+        persist();
+    }
+
+    private void persist() {
+        try {
+            JSONArray array = new JSONArray();
+            for (Item item : items) {
+                array.put(item.toJson());
+            }
+            JSONObject json = new JSONObject();
+            json.put("index", index);
+            json.put("position_ms", resumePositionMs);
+            json.put("items", array);
+            prefs.edit().putString(KEY_QUEUE, json.toString()).apply();
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to save audio queue", e);
+        }
+    }
+
+    private void restore() {
+        String saved = prefs.getString(KEY_QUEUE, null);
+        if (saved == null) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(saved);
+            JSONArray array = json.getJSONArray("items");
+            for (int i = 0; i < array.length(); i++) {
+                items.add(Item.fromJson(array.getJSONObject(i)));
+            }
+            index = items.isEmpty() ? -1 : Math.min(json.optInt("index", 0), items.size() - 1);
+            resumePositionMs = json.optInt("position_ms", 0);
+        } catch (JSONException e) {
+            Log.e(TAG, "Discarding unreadable audio queue", e);
+            items.clear();
+            index = -1;
+        }
+    }
+
+    static String toJson(List<Item> list) {
+        JSONArray array = new JSONArray();
+        try {
+            for (Item item : list) {
+                array.put(item.toJson());
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to encode queue items", e);
+        }
+        return array.toString();
+    }
+
+    static List<Item> fromJson(String json) {
+        List<Item> list = new ArrayList<>();
+        if (json == null) {
+            return list;
+        }
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                list.add(Item.fromJson(array.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to decode queue items", e);
+        }
+        return list;
+    }
+}
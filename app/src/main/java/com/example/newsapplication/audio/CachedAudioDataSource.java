@@ -0,0 +1,66 @@
+package com.example.newsapplication.audio;
+
+import android.media.MediaDataSource;
+
+import java.io.IOException;
+
+/**
+ * MediaPlayer data source that reads through {@link TtsAudioCache}.
+ * MediaPlayer calls into this from its own thread, so blocking until bytes arrive is fine.
+ * The cache entry is opened on the first read for the same reason: opening touches the
+ * cache directory and can wait on a download thread trimming it, which the thread that
+ * creates the player (the main thread) must not.
+ */
+class CachedAudioDataSource extends MediaDataSource {
+    private final TtsAudioCache cache;
+    private final String articleId;
+    private final String url;
+    private final Object lock = new Object();
+    // Guarded by lock
+    private TtsAudioCache.Entry entry;
+    private boolean closed;
+
+    CachedAudioDataSource(TtsAudioCache cache, String articleId, String url) {
+        this.cache = cache;
+        this.articleId = articleId;
+        this.url = url;
+    }
+
+    @Override
+    public int readAt(long position, byte[] buffer, int offset, int size) throws IOException {
+        return entry().readAt(position, buffer, offset, size);
+    }
+
+    @Override
+    public long getSize() throws IOException {
+        return entry().getSize();
+    }
+
+    @Override
+    public void close() {
+        TtsAudioCache.Entry opened;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            opened = entry;
+        }
+        if (opened != null) {
+            opened.close();
+        }
+    }
+
+    // Reads block on the entry, never on this lock, so close() does not wait for them
+    private TtsAudioCache.Entry entry() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Data source closed");
+            }
+            if (entry == null) {
+                entry = cache.open(articleId, url);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.newsapplication.audio;
+
+/**
+ * Snapshot of what AudioPlayerService is playing, taken when the state last changed.
+ *
+ * While playing, the position moves on with the clock from {@code snapshotAtMs}
+ * (an {@code SystemClock.elapsedRealtime()} reading), so observers can show progress
+ * without asking the service again.
+ */
+public final class PlaybackState {
+    public static final PlaybackState IDLE = new PlaybackState(false, 0, 0, null, null, 0);
+
+    public interface Listener {
+        void onPlaybackStateChanged(PlaybackState state);
+    }
+
+    private final boolean playing;
+    private final int positionMs;
+    private final int durationMs;
+    private final String title;
+    private final String articleId;
+    private final long snapshotAtMs;
+
+    public PlaybackState(boolean playing, int positionMs, int durationMs, String title, String articleId,
+                         long snapshotAtMs) {
+        this.playing = playing;
+        this.positionMs = positionMs;
+        this.durationMs = durationMs;
+        this.title = title;
+        this.articleId = articleId;
+        this.snapshotAtMs = snapshotAtMs;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    // True when a track is loaded, playing or paused
+    public boolean hasAudio() {
+        return title != null;
+    }
+
+    public int getDurationMs() {
+        return durationMs;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getArticleId() {
+        return articleId;
+    }
+
+    // Position at nowMs (elapsedRealtime), extrapolated while playing and capped at the duration
+    public int getPositionMs(long nowMs) {
+        if (!playing) {
+            return positionMs;
+        }
+        long position = positionMs + Math.max(0, nowMs - snapshotAtMs);
+        if (durationMs > 0) {
+            position = Math.min(position, durationMs);
+        }
+        return (int) position;
+    }
+}
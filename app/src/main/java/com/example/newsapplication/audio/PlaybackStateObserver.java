@@ -0,0 +1,109 @@
+package com.example.newsapplication.audio;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Binds to AudioPlayerService and reports its playback state to a screen.
+ *
+ * The service only pushes a new state on play, pause, seek, track change and stop. In
+ * between, the position is extrapolated locally and ticked on each whole second, so a
+ * playing track costs no cross-component traffic. Call {@link #start()} from onStart and
+ * {@link #stop()} from onStop.
+ */
+public class PlaybackStateObserver implements PlaybackState.Listener {
+
+    public interface Callback {
+        void onPlaybackStateChanged(PlaybackState state);
+
+        void onPositionTick(int positionMs);
+    }
+
+    private final Context context;
+    private final Callback callback;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private AudioPlayerService service;
+    private boolean bound;
+    private PlaybackState state = PlaybackState.IDLE;
+
+    private final ServiceConnection connection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder binder) {
+            service = ((AudioPlayerService.LocalBinder) binder).getService();
+            service.addPlaybackStateListener(PlaybackStateObserver.this);
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            service = null;
+            onPlaybackStateChanged(PlaybackState.IDLE);
+        }
+    };
+
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            if (!state.isPlaying()) {
+                return;
+            }
+            int position = state.getPositionMs(SystemClock.elapsedRealtime());
+            callback.onPositionTick(position);
+            scheduleTick(position);
+        }
+    };
+
+    public PlaybackStateObserver(Context context, Callback callback) {
+        this.context = context;
+        this.callback = callback;
+    }
+
+    public void start() {
+        if (bound) {
+            return;
+        }
+        // No BIND_AUTO_CREATE: observing neither starts the service nor keeps it alive;
+        // the connection arrives whenever playback starts
+        bound = context.bindService(new Intent(context, AudioPlayerService.class), connection, 0);
+    }
+
+    public void stop() {
+        handler.removeCallbacks(tick);
+        if (service != null) {
+            service.removePlaybackStateListener(this);
+            service = null;
+        }
+        if (bound) {
+            context.unbindService(connection);
+            bound = false;
+        }
+    }
+
+    public PlaybackState getState() {
+        return state;
+    }
+
+    public int getPositionMs() {
+        return state.getPositionMs(SystemClock.elapsedRealtime());
+    }
+
+    @Override
+    public void onPlaybackStateChanged(PlaybackState newState) {
+        state = newState;
+        handler.removeCallbacks(tick);
+        callback.onPlaybackStateChanged(newState);
+        if (newState.isPlaying()) {
+            scheduleTick(getPositionMs());
+        }
+    }
+
+    // Land on the next whole second so the displayed time changes in step with playback
+    private void scheduleTick(int positionMs) {
+        handler.postDelayed(tick, 1000 - positionMs % 1000);
+    }
+}
@@ -0,0 +1,518 @@
+package com.example.newsapplication.audio;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Bounded LRU disk cache for TTS article audio, keyed by article ID.
+ *
+ * Audio is downloaded progressively into {@code <key>.data} while it plays; readers are
+ * served from disk as soon as the bytes they need have arrived, so replays and backward
+ * seeks never touch the network again. Partial files survive restarts and are resumed
+ * with a Range request. The least recently played entries are evicted once the cache
+ * grows past {@link #MAX_CACHE_BYTES}.
+ */
+public class TtsAudioCache {
+    private static final String TAG = "TtsAudioCache";
+    private static final String CACHE_DIR = "tts-audio";
+    private static final String DATA_SUFFIX = ".data";
+    private static final String META_SUFFIX = ".meta";
+
+    private static final long MAX_CACHE_BYTES = 60L * 1024 * 1024;
+    // Roughly the first 10-15 seconds of a TTS mp3
+    public static final long PREFETCH_BYTES = 192 * 1024;
+    // A seek further ahead of the download than this is served straight from the network
+    static final long MAX_WAIT_AHEAD_BYTES = 512 * 1024;
+    static final long READ_TIMEOUT_MS = 15000;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static TtsAudioCache instance;
+
+    private final File cacheDir;
+    private final OkHttpClient client;
+    private final ExecutorService downloadExecutor = Executors.newFixedThreadPool(2);
+    // Opens entries for prefetch() callers, which are usually on the main thread
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    // Entries that are open for playback or still downloading
+    private final Map<String, Entry> activeEntries = new HashMap<>();
+
+    private TtsAudioCache(Context context) {
+        this.cacheDir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+        this.client = new OkHttpClient.Builder()
+            .connectTimeout(15, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+    }
+
+    public static synchronized TtsAudioCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new TtsAudioCache(context);
+        }
+        return instance;
+    }
+
+    // Open an entry for playback and download the rest of it in the background. Does disk I/O
+    Entry open(String articleId, String url) throws IOException {
+        Entry entry = acquire(articleId, url);
+        entry.requestDownload(Long.MAX_VALUE);
+        return entry;
+    }
+
+    // Download the first seconds of an article's audio so that playback can start from disk; returns at once
+    public void prefetch(String articleId, String url) {
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        prefetchExecutor.execute(() -> {
+            try {
+                Entry entry = acquire(articleId, url);
+                entry.requestDownload(PREFETCH_BYTES);
+                release(entry);
+            } catch (IOException e) {
+                Log.w(TAG, "Prefetch skipped: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Like {@link #prefetch}, but returns only once the first seconds are on disk, the
+     * download has failed, or {@code timeoutMs} has passed. Does disk I/O and blocks, so it
+     * is for background work such as jobs. Returns whether the bytes are on disk.
+     */
+    public boolean prefetchAndWait(String articleId, String url, long timeoutMs) {
+        if (url == null || url.isEmpty()) {
+            return false;
+        }
+        try {
+            Entry entry = acquire(articleId, url);
+            try {
+                entry.requestDownload(PREFETCH_BYTES);
+                return entry.awaitAvailable(PREFETCH_BYTES, timeoutMs);
+            } finally {
+                release(entry);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Prefetch skipped: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean isCached(String articleId, String url) {
+        String key = keyFor(articleId, url);
+        synchronized (this) {
+            Entry active = activeEntries.get(key);
+            if (active != null) {
+                return active.isComplete();
+            }
+        }
+        Meta meta = readMeta(new File(cacheDir, key + META_SUFFIX));
+        File dataFile = new File(cacheDir, key + DATA_SUFFIX);
+        return meta != null && url.equals(meta.url) && meta.length > 0 && dataFile.length() >= meta.length;
+    }
+
+    private synchronized Entry acquire(String articleId, String url) throws IOException {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            throw new IOException("Cannot create " + cacheDir);
+        }
+        String key = keyFor(articleId, url);
+        Entry entry = activeEntries.get(key);
+        if (entry == null) {
+            entry = loadEntry(key, url);
+            activeEntries.put(key, entry);
+        }
+        entry.refCount++;
+        entry.dataFile.setLastModified(System.currentTimeMillis());
+        return entry;
+    }
+
+    synchronized void release(Entry entry) {
+        entry.refCount--;
+        removeIfIdle(entry);
+    }
+
+    private synchronized void onDownloadStopped(Entry entry) {
+        removeIfIdle(entry);
+    }
+
+    private void removeIfIdle(Entry entry) {
+        if (entry.refCount <= 0 && !entry.isDownloading() && activeEntries.get(entry.key) == entry) {
+            activeEntries.remove(entry.key);
+            trimToSize();
+        }
+    }
+
+    private Entry loadEntry(String key, String url) {
+        File dataFile = new File(cacheDir, key + DATA_SUFFIX);
+        File metaFile = new File(cacheDir, key + META_SUFFIX);
+        Entry entry = new Entry(key, url, dataFile, metaFile);
+
+        Meta meta = readMeta(metaFile);
+        if (meta != null && url.equals(meta.url) && dataFile.exists()) {
+            entry.length = meta.length;
+            entry.available = meta.length > 0 ? Math.min(dataFile.length(), meta.length) : dataFile.length();
+        } else {
+            dataFile.delete();
+            metaFile.delete();
+        }
+        return entry;
+    }
+
+    // Evict least recently played entries that are not in use
+    private void trimToSize() {
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(DATA_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= MAX_CACHE_BYTES) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (total <= MAX_CACHE_BYTES) {
+                break;
+            }
+            String key = file.getName().substring(0, file.getName().length() - DATA_SUFFIX.length());
+            if (activeEntries.containsKey(key)) {
+                continue;
+            }
+            long size = file.length();
+            if (file.delete()) {
+                new File(cacheDir, key + META_SUFFIX).delete();
+                total -= size;
+            }
+        }
+    }
+
+    // The URL hash is part of the key so regenerated audio for an article never reuses stale bytes
+    static String keyFor(String articleId, String url) {
+        String urlHash = Integer.toHexString(url.hashCode());
+        if (articleId != null && !articleId.isEmpty()) {
+            return "a_" + articleId.replaceAll("[^A-Za-z0-9_-]", "_") + "_" + urlHash;
+        }
+        return "u_" + urlHash;
+    }
+
+    private static Meta readMeta(File metaFile) {
+        if (!metaFile.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(metaFile))) {
+            long length = Long.parseLong(reader.readLine().trim());
+            String url = reader.readLine();
+            return url != null ? new Meta(length, url) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static class Meta {
+        final long length;
+        final String url;
+
+        Meta(long length, String url) {
+            this.length = length;
+            this.url = url;
+        }
+    }
+
+    /**
+     * One cached audio file. The bytes [0, available) are on disk; a single background
+     * download appends to it. All fields are guarded by the entry's monitor.
+     */
+    class Entry {
+        final String key;
+        final String url;
+        final File dataFile;
+        final File metaFile;
+
+        // Guarded by TtsAudioCache.this
+        int refCount;
+
+        private long available;
+        private long length = -1;
+        private long downloadLimit;
+        private boolean downloading;
+        private IOException failure;
+        private RandomAccessFile reader;
+
+        Entry(String key, String url, File dataFile, File metaFile) {
+            this.key = key;
+            this.url = url;
+            this.dataFile = dataFile;
+            this.metaFile = metaFile;
+        }
+
+        synchronized boolean isComplete() {
+            return length >= 0 && available >= length;
+        }
+
+        synchronized boolean isDownloading() {
+            return downloading;
+        }
+
+        // Wait until the first `bytes` have arrived or the download stops
+        synchronized boolean awaitAvailable(long bytes, long timeoutMs) {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            while (downloading && available < bytes && !isComplete()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                waitQuietly(remaining);
+            }
+            return available >= bytes || isComplete();
+        }
+
+        synchronized void requestDownload(long limit) {
+            downloadLimit = Math.max(downloadLimit, limit);
+            if (!downloading && !isComplete() && available < downloadLimit) {
+                downloading = true;
+                failure = null;
+                downloadExecutor.execute(this::download);
+            }
+        }
+
+        // Total size in bytes, waiting briefly for the response headers if necessary; -1 if unknown
+        synchronized long getSize() throws IOException {
+            long deadline = System.currentTimeMillis() + READ_TIMEOUT_MS;
+            while (length < 0 && downloading) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                waitQuietly(remaining);
+            }
+            return length;
+        }
+
+        int readAt(long position, byte[] buffer, int offset, int size) throws IOException {
+            if (size == 0) {
+                return 0;
+            }
+            synchronized (this) {
+                if (length >= 0 && position >= length) {
+                    return -1;
+                }
+                long deadline = System.currentTimeMillis() + READ_TIMEOUT_MS;
+                boolean restarted = false;
+                while (available <= position && !isComplete() && position - available <= MAX_WAIT_AHEAD_BYTES) {
+                    if (!downloading) {
+                        if (restarted) {
+                            throw failure != null ? failure : new IOException("Audio download stopped");
+                        }
+                        requestDownload(Long.MAX_VALUE);
+                        restarted = true;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IOException("Timed out waiting for audio data");
+                    }
+                    waitQuietly(remaining);
+                }
+
+                if (position < available) {
+                    if (reader == null) {
+                        reader = new RandomAccessFile(dataFile, "r");
+                    }
+                    int count = (int) Math.min(size, available - position);
+                    reader.seek(position);
+                    reader.readFully(buffer, offset, count);
+                    return count;
+                }
+                if (isComplete()) {
+                    return -1;
+                }
+            }
+            // Far ahead of the download: fetch just this range without caching it
+            return readRangeFromNetwork(position, buffer, offset, size);
+        }
+
+        void close() {
+            synchronized (this) {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (IOException ignored) {
+                    }
+                    reader = null;
+                }
+            }
+            release(this);
+        }
+
+        private void download() {
+            try {
+                while (true) {
+                    long from;
+                    synchronized (this) {
+                        from = available;
+                        if (isComplete() || from >= downloadLimit) {
+                            break;
+                        }
+                    }
+                    if (!downloadFrom(from)) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Audio download failed for " + key + ": " + e.getMessage());
+                synchronized (this) {
+                    failure = e;
+                }
+            } finally {
+                boolean resume;
+                synchronized (this) {
+                    // The limit may have been raised after the loop decided to stop
+                    resume = failure == null && !isComplete() && available < downloadLimit;
+                    if (resume) {
+                        downloadExecutor.execute(this::download);
+                    } else {
+                        downloading = false;
+                        notifyAll();
+                    }
+                }
+                if (!resume) {
+                    onDownloadStopped(this);
+                }
+            }
+        }
+
+        // Returns true if the download stopped at the limit and may continue, false at end of stream
+        private boolean downloadFrom(long from) throws IOException {
+            Request request = new Request.Builder()
+                .url(url)
+                .header("Range", "bytes=" + from + "-")
+                .build();
+
+            try (Response response = client.newCall(request).execute()) {
+                ResponseBody body = response.body();
+                if (!response.isSuccessful() || body == null) {
+                    throw new IOException("HTTP " + response.code());
+                }
+
+                long start = from;
+                if (response.code() != 206) {
+                    // Range ignored: the body is the whole file
+                    start = 0;
+                }
+                long total = parseTotalLength(response.header("Content-Range"));
+                if (total < 0 && body.contentLength() >= 0) {
+                    total = start + body.contentLength();
+                }
+                synchronized (this) {
+                    available = start;
+                    if (total >= 0) {
+                        length = total;
+                        writeMeta(total);
+                    }
+                    notifyAll();
+                }
+
+                try (RandomAccessFile out = new RandomAccessFile(dataFile, "rw");
+                     InputStream in = body.byteStream()) {
+                    out.seek(start);
+                    if (start == 0) {
+                        out.setLength(0);
+                    }
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                        synchronized (this) {
+                            available += read;
+                            notifyAll();
+                            if (available >= downloadLimit) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+
+                synchronized (this) {
+                    if (length < 0) {
+                        length = available;
+                        writeMeta(length);
+                    }
+                    notifyAll();
+                }
+                return false;
+            }
+        }
+
+        private int readRangeFromNetwork(long position, byte[] buffer, int offset, int size) throws IOException {
+            Request request = new Request.Builder()
+                .url(url)
+                .header("Range", "bytes=" + position + "-" + (position + size - 1))
+                .build();
+            try (Response response = client.newCall(request).execute()) {
+                ResponseBody body = response.body();
+                if (response.code() != 206 || body == null) {
+                    throw new IOException("Range request failed: HTTP " + response.code());
+                }
+                InputStream in = body.byteStream();
+                int total = 0;
+                int read;
+                while (total < size && (read = in.read(buffer, offset + total, size - total)) != -1) {
+                    total += read;
+                }
+                return total > 0 ? total : -1;
+            }
+        }
+
+        private void writeMeta(long totalLength) {
+            try (FileWriter writer = new FileWriter(metaFile)) {
+                writer.write(totalLength + "\n" + url + "\n");
+            } catch (IOException e) {
+                Log.w(TAG, "Could not write audio cache metadata", e);
+            }
+        }
+
+        private void waitQuietly(long millis) {
+            try {
+                wait(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // "bytes 0-99/1234" -> 1234
+    static long parseTotalLength(String contentRange) {
+        if (contentRange == null) {
+            return -1;
+        }
+        int slash = contentRange.lastIndexOf('/');
+        if (slash < 0 || slash == contentRange.length() - 1) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
 import com.android.volley.toolbox.Volley;
 import com.example.newsapplication.api.ApiClient;
+import com.example.newsapplication.notifications.NotificationManager;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -247,11 +248,11 @@ public class AuthService {
                     API_BASE_URL + "/auth/logout",
                     requestBody,
                     response -> {
-                        sessionManager.clearSession();
+                        endSession();
                         callback.onSuccess(response);
                     },
                     error -> {
-                        sessionManager.clearSession();
+                        endSession();
                         try {
                             callback.onSuccess(new JSONObject());
                         } catch (Exception e) {
@@ -274,7 +275,7 @@ public class AuthService {
             requestQueue.add(request);
 
         } catch (Exception e) {
-            sessionManager.clearSession();
+            endSession();
             try {
                 callback.onSuccess(new JSONObject());
             } catch (Exception ex) {
@@ -282,4 +283,10 @@ public class AuthService {
             }
         }
     }
+
+    // The session ends locally whatever the server answered, so the device goes back to guest pushes too
+    private void endSession() {
+        sessionManager.clearSession();
+        NotificationManager.getInstance(context).onUserLoggedOut();
+    }
 }
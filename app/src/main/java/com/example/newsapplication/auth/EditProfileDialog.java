@@ -23,8 +23,7 @@ import androidx.appcompat.app.AppCompatDialog;
 import com.example.newsapplication.R;
 import com.example.newsapplication.auth.UserSessionManager;
 import com.google.android.material.textfield.TextInputEditText;
-import com.squareup.picasso.Picasso;
-import com.example.newsapplication.utils.CircleTransform;
+import com.example.newsapplication.utils.ImageLoader;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -124,9 +123,7 @@ public class EditProfileDialog extends AppCompatDialog {
             
             if (avatarUrl != null && !avatarUrl.isEmpty()) {
                 currentAvatarUrl = avatarUrl;
-                Picasso.get()
-                        .load(avatarUrl)
-                        .transform(new CircleTransform())
+                ImageLoader.avatar(avatarUrl)
                         .placeholder(R.drawable.ic_launcher_foreground)
                         .error(R.drawable.ic_launcher_foreground)
                         .into(avatarImageView);
@@ -3,6 +3,8 @@ package com.example.newsapplication.auth;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.newsapplication.database.ArticleStoreHelper;
+
 public class UserSessionManager {
 
     private static final String PREF_NAME = "NewsAppSession";
@@ -55,6 +57,10 @@ public class UserSessionManager {
     public void logoutUser() {
         editor.clear();
         editor.apply();
+
+        // Stored bookmarks and follows belong to the user who just signed out
+        ArticleStoreHelper articleStore = ArticleStoreHelper.getInstance(context);
+        articleStore.getExecutor().execute(articleStore::clearUserData);
     }
 
     public boolean isLoggedIn() {
@@ -0,0 +1,548 @@
+package com.example.newsapplication.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.newsapplication.R;
+import com.example.newsapplication.model.Article;
+import com.example.newsapplication.model.Category;
+import com.example.newsapplication.model.Channel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local article store used by NewsRepository for offline-first reads.
+ * Feeds (latest, per category, per channel) are stored as ordered membership rows pointing
+ * at shared article rows, so a feed page is one indexed join instead of a network call.
+ * All access goes through getExecutor(), which serializes writes on one background thread.
+ */
+public class ArticleStoreHelper extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "article_store.db";
+    // 2: feed keys carry the page size; 3: no published_at index
+    private static final int DATABASE_VERSION = 3;
+
+    // Feed keys
+    public static final String FEED_LATEST = "latest";
+    // Articles prefetched for push notifications, newest first
+    public static final String FEED_PUSHED = "pushed";
+    private static final int MAX_PUSHED_ARTICLES = 20;
+
+    // Table names
+    private static final String TABLE_ARTICLES = "articles";
+    private static final String TABLE_FEED_ITEMS = "feed_items";
+    private static final String TABLE_CATEGORIES = "categories";
+    private static final String TABLE_CHANNELS = "channels";
+    private static final String TABLE_BOOKMARKS = "bookmarks";
+
+    // Article columns
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_TITLE = "title";
+    private static final String COLUMN_SUMMARY = "summary";
+    private static final String COLUMN_CONTENT = "content";
+    private static final String COLUMN_AUTHOR = "author";
+    private static final String COLUMN_SOURCE = "source";
+    private static final String COLUMN_CATEGORY = "category";
+    private static final String COLUMN_CHANNEL_NAME = "channel_name";
+    private static final String COLUMN_IMAGE_URL = "image_url";
+    private static final String COLUMN_CREATED_AT = "created_at";
+    private static final String COLUMN_PUBLISHED_AT = "published_at";
+    private static final String COLUMN_STATUS = "status";
+    private static final String COLUMN_TTS_AUDIO_URL = "tts_audio_url";
+    private static final String COLUMN_TTS_DURATION = "tts_duration_seconds";
+    private static final String COLUMN_STORED_AT = "stored_at";
+
+    // Feed membership columns
+    private static final String COLUMN_FEED_KEY = "feed_key";
+    private static final String COLUMN_POSITION = "position";
+    private static final String COLUMN_ARTICLE_ID = "article_id";
+
+    // Category / channel columns
+    private static final String COLUMN_NAME = "name";
+    private static final String COLUMN_SLUG = "slug";
+    private static final String COLUMN_DESCRIPTION = "description";
+    private static final String COLUMN_LOGO_URL = "logo_url";
+    private static final String COLUMN_IS_PUBLIC = "is_public";
+    private static final String COLUMN_IS_FOLLOWING = "is_following";
+    private static final String COLUMN_SORT_ORDER = "sort_order";
+    private static final String COLUMN_FOLLOW_ORDER = "follow_order";
+
+    private static final String CREATE_TABLE_ARTICLES = "CREATE TABLE " + TABLE_ARTICLES + " ("
+            + COLUMN_ID + " TEXT PRIMARY KEY, "
+            + COLUMN_TITLE + " TEXT, "
+            + COLUMN_SUMMARY + " TEXT, "
+            + COLUMN_CONTENT + " TEXT, "
+            + COLUMN_AUTHOR + " TEXT, "
+            + COLUMN_SOURCE + " TEXT, "
+            + COLUMN_CATEGORY + " TEXT, "
+            + COLUMN_CHANNEL_NAME + " TEXT, "
+            + COLUMN_IMAGE_URL + " TEXT, "
+            + COLUMN_CREATED_AT + " TEXT, "
+            + COLUMN_PUBLISHED_AT + " TEXT, "
+            + COLUMN_STATUS + " TEXT, "
+            + COLUMN_TTS_AUDIO_URL + " TEXT, "
+            + COLUMN_TTS_DURATION + " INTEGER DEFAULT 0, "
+            + COLUMN_STORED_AT + " INTEGER"
+            + ")";
+
+    private static final String CREATE_TABLE_FEED_ITEMS = "CREATE TABLE " + TABLE_FEED_ITEMS + " ("
+            + COLUMN_FEED_KEY + " TEXT NOT NULL, "
+            + COLUMN_POSITION + " INTEGER NOT NULL, "
+            + COLUMN_ARTICLE_ID + " TEXT NOT NULL, "
+            + "PRIMARY KEY (" + COLUMN_FEED_KEY + ", " + COLUMN_POSITION + ")"
+            + ")";
+
+    private static final String CREATE_TABLE_CATEGORIES = "CREATE TABLE " + TABLE_CATEGORIES + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY, "
+            + COLUMN_NAME + " TEXT, "
+            + COLUMN_SLUG + " TEXT, "
+            + COLUMN_DESCRIPTION + " TEXT, "
+            + COLUMN_SORT_ORDER + " INTEGER"
+            + ")";
+
+    private static final String CREATE_TABLE_CHANNELS = "CREATE TABLE " + TABLE_CHANNELS + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY, "
+            + COLUMN_NAME + " TEXT, "
+            + COLUMN_SLUG + " TEXT, "
+            + COLUMN_DESCRIPTION + " TEXT, "
+            + COLUMN_LOGO_URL + " TEXT, "
+            + COLUMN_IS_PUBLIC + " INTEGER DEFAULT 0, "
+            + COLUMN_IS_FOLLOWING + " INTEGER DEFAULT 0, "
+            + COLUMN_SORT_ORDER + " INTEGER, "
+            + COLUMN_FOLLOW_ORDER + " INTEGER"
+            + ")";
+
+    private static final String CREATE_TABLE_BOOKMARKS = "CREATE TABLE " + TABLE_BOOKMARKS + " ("
+            + COLUMN_ARTICLE_ID + " TEXT PRIMARY KEY, "
+            + COLUMN_SORT_ORDER + " INTEGER"
+            + ")";
+
+    private static final String ARTICLE_COLUMNS = "a." + COLUMN_ID + ", a." + COLUMN_TITLE + ", a." + COLUMN_SUMMARY
+            + ", a." + COLUMN_CONTENT + ", a." + COLUMN_AUTHOR + ", a." + COLUMN_SOURCE + ", a." + COLUMN_CATEGORY
+            + ", a." + COLUMN_CHANNEL_NAME + ", a." + COLUMN_IMAGE_URL + ", a." + COLUMN_CREATED_AT
+            + ", a." + COLUMN_PUBLISHED_AT + ", a." + COLUMN_STATUS + ", a." + COLUMN_TTS_AUDIO_URL
+            + ", a." + COLUMN_TTS_DURATION + ", b." + COLUMN_ARTICLE_ID;
+
+    private static ArticleStoreHelper instance;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    public static synchronized ArticleStoreHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new ArticleStoreHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ArticleStoreHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL(CREATE_TABLE_ARTICLES);
+        db.execSQL(CREATE_TABLE_FEED_ITEMS);
+        db.execSQL(CREATE_TABLE_CATEGORIES);
+        db.execSQL(CREATE_TABLE_CHANNELS);
+        db.execSQL(CREATE_TABLE_BOOKMARKS);
+        db.execSQL("CREATE INDEX idx_feed_items_article_id ON " + TABLE_FEED_ITEMS
+                + " (" + COLUMN_ARTICLE_ID + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The store is a cache of server data, so it is rebuilt rather than migrated
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_ARTICLES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FEED_ITEMS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CATEGORIES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CHANNELS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_BOOKMARKS);
+        onCreate(db);
+    }
+
+    // Single background thread for all store reads and writes
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public static String categoryFeed(int categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String channelFeed(int channelId) {
+        return "channel:" + channelId;
+    }
+
+    // Feeds are stored per page size, so a short read (5 items) never replaces a longer one (20) of the same feed
+    public static String pagedFeed(String feedKey, int pageSize) {
+        return feedKey + "@" + pageSize;
+    }
+
+    // ==================== Articles ====================
+
+    /**
+     * Store one page of a feed. Page 1 replaces the whole feed so removed articles drop out;
+     * later pages replace everything from their offset onwards.
+     */
+    public void saveFeedPage(String feedKey, int page, int limit, List<Article> articles) {
+        SQLiteDatabase db = getWritableDatabase();
+        int offset = Math.max(0, page - 1) * limit;
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_FEED_ITEMS, COLUMN_FEED_KEY + " = ? AND " + COLUMN_POSITION + " >= ?",
+                    new String[]{feedKey, String.valueOf(offset)});
+            int position = offset;
+            for (Article article : articles) {
+                if (article.getId() == null || article.getId().isEmpty()) {
+                    continue;
+                }
+                upsertArticle(db, article);
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_FEED_KEY, feedKey);
+                values.put(COLUMN_POSITION, position++);
+                values.put(COLUMN_ARTICLE_ID, article.getId());
+                db.insert(TABLE_FEED_ITEMS, null, values);
+            }
+            if (page <= 1) {
+                deleteOrphanArticles(db);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public List<Article> getFeedPage(String feedKey, int page, int limit) {
+        String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + TABLE_FEED_ITEMS + " f"
+                + " JOIN " + TABLE_ARTICLES + " a ON a." + COLUMN_ID + " = f." + COLUMN_ARTICLE_ID
+                + " LEFT JOIN " + TABLE_BOOKMARKS + " b ON b." + COLUMN_ARTICLE_ID + " = a." + COLUMN_ID
+                + " WHERE f." + COLUMN_FEED_KEY + " = ?"
+                + " ORDER BY f." + COLUMN_POSITION
+                + " LIMIT ? OFFSET ?";
+        int offset = Math.max(0, page - 1) * limit;
+        return queryArticles(query, new String[]{feedKey, String.valueOf(limit), String.valueOf(offset)});
+    }
+
+    /**
+     * Store a single article that was prefetched for a notification. It is listed in the
+     * pushed feed so feed refreshes don't drop it as an orphan; only the newest
+     * {@link #MAX_PUSHED_ARTICLES} are kept.
+     */
+    public void savePushedArticle(Article article) {
+        if (article.getId() == null || article.getId().isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            upsertArticle(db, article);
+            db.delete(TABLE_FEED_ITEMS, COLUMN_FEED_KEY + " = ? AND " + COLUMN_ARTICLE_ID + " = ?",
+                    new String[]{FEED_PUSHED, article.getId()});
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_FEED_KEY, FEED_PUSHED);
+            // Negative timestamps keep the newest push first in position order
+            values.put(COLUMN_POSITION, -System.currentTimeMillis());
+            values.put(COLUMN_ARTICLE_ID, article.getId());
+            db.insert(TABLE_FEED_ITEMS, null, values);
+            db.execSQL("DELETE FROM " + TABLE_FEED_ITEMS + " WHERE " + COLUMN_FEED_KEY + " = ? AND "
+                    + COLUMN_POSITION + " NOT IN (SELECT " + COLUMN_POSITION + " FROM " + TABLE_FEED_ITEMS
+                    + " WHERE " + COLUMN_FEED_KEY + " = ? ORDER BY " + COLUMN_POSITION + " LIMIT "
+                    + MAX_PUSHED_ARTICLES + ")", new Object[]{FEED_PUSHED, FEED_PUSHED});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public Article getArticle(String articleId) {
+        String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + TABLE_ARTICLES + " a"
+                + " LEFT JOIN " + TABLE_BOOKMARKS + " b ON b." + COLUMN_ARTICLE_ID + " = a." + COLUMN_ID
+                + " WHERE a." + COLUMN_ID + " = ?";
+        List<Article> articles = queryArticles(query, new String[]{articleId});
+        return articles.isEmpty() ? null : articles.get(0);
+    }
+
+    // ==================== Bookmarks ====================
+
+    public void saveBookmarkedArticles(List<Article> articles) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_BOOKMARKS, null, null);
+            int order = 0;
+            for (Article article : articles) {
+                if (article.getId() == null || article.getId().isEmpty()) {
+                    continue;
+                }
+                upsertArticle(db, article);
+                insertBookmark(db, article.getId(), order++);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void saveBookmarkedIds(Collection<String> articleIds) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_BOOKMARKS, null, null);
+            int order = 0;
+            for (String articleId : articleIds) {
+                insertBookmark(db, articleId, order++);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void setBookmarked(String articleId, boolean bookmarked) {
+        SQLiteDatabase db = getWritableDatabase();
+        if (bookmarked) {
+            // New bookmarks go to the top, matching the server's newest-first order
+            insertBookmark(db, articleId, -(int) (System.currentTimeMillis() / 1000));
+        } else {
+            db.delete(TABLE_BOOKMARKS, COLUMN_ARTICLE_ID + " = ?", new String[]{articleId});
+        }
+    }
+
+    public List<Article> getBookmarkedArticles() {
+        String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + TABLE_BOOKMARKS + " b"
+                + " JOIN " + TABLE_ARTICLES + " a ON a." + COLUMN_ID + " = b." + COLUMN_ARTICLE_ID
+                + " ORDER BY b." + COLUMN_SORT_ORDER;
+        return queryArticles(query, null);
+    }
+
+    public Set<String> getBookmarkedIds() {
+        Set<String> ids = new HashSet<>();
+        Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT " + COLUMN_ARTICLE_ID + " FROM " + TABLE_BOOKMARKS, null);
+        try {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getString(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return ids;
+    }
+
+    // ==================== Categories ====================
+
+    public void saveCategories(List<Category> categories) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_CATEGORIES, null, null);
+            int order = 0;
+            for (Category category : categories) {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_ID, category.getId());
+                values.put(COLUMN_NAME, category.getName());
+                values.put(COLUMN_SLUG, category.getSlug());
+                values.put(COLUMN_DESCRIPTION, category.getDescription());
+                values.put(COLUMN_SORT_ORDER, order++);
+                db.insertWithOnConflict(TABLE_CATEGORIES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public List<Category> getCategories() {
+        List<Category> categories = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT " + COLUMN_ID + ", " + COLUMN_NAME + ", "
+                + COLUMN_SLUG + ", " + COLUMN_DESCRIPTION + " FROM " + TABLE_CATEGORIES
+                + " ORDER BY " + COLUMN_SORT_ORDER, null);
+        try {
+            while (cursor.moveToNext()) {
+                Category category = new Category(cursor.getInt(0), cursor.getString(1), cursor.getString(2));
+                category.setDescription(cursor.getString(3));
+                categories.add(category);
+            }
+        } finally {
+            cursor.close();
+        }
+        return categories;
+    }
+
+    // ==================== Channels ====================
+
+    public void savePublicChannels(List<Channel> channels) {
+        saveChannels(channels, COLUMN_IS_PUBLIC, COLUMN_SORT_ORDER);
+    }
+
+    public void saveFollowedChannels(List<Channel> channels) {
+        saveChannels(channels, COLUMN_IS_FOLLOWING, COLUMN_FOLLOW_ORDER);
+    }
+
+    public void setFollowing(int channelId, boolean following) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_IS_FOLLOWING, following ? 1 : 0);
+        getWritableDatabase().update(TABLE_CHANNELS, values, COLUMN_ID + " = ?",
+                new String[]{String.valueOf(channelId)});
+    }
+
+    public List<Channel> getPublicChannels() {
+        return queryChannels(COLUMN_IS_PUBLIC, COLUMN_SORT_ORDER);
+    }
+
+    public List<Channel> getFollowedChannels() {
+        return queryChannels(COLUMN_IS_FOLLOWING, COLUMN_FOLLOW_ORDER);
+    }
+
+    // ==================== Session ====================
+
+    // Bookmarks and follows belong to the signed-in user; shared article data is kept
+    public void clearUserData() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_BOOKMARKS, null, null);
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_IS_FOLLOWING, 0);
+            db.update(TABLE_CHANNELS, values, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private void upsertArticle(SQLiteDatabase db, Article article) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_TITLE, article.getTitle());
+        values.put(COLUMN_SUMMARY, article.getSummary());
+        // List responses may omit the body; keep a previously stored one
+        if (article.getContent() != null && !article.getContent().isEmpty()) {
+            values.put(COLUMN_CONTENT, article.getContent());
+        }
+        values.put(COLUMN_AUTHOR, article.getAuthor());
+        values.put(COLUMN_SOURCE, article.getSource());
+        values.put(COLUMN_CATEGORY, article.getCategory());
+        values.put(COLUMN_CHANNEL_NAME, article.getChannelName());
+        values.put(COLUMN_IMAGE_URL, article.getImageUrl());
+        values.put(COLUMN_CREATED_AT, article.getDate());
+        values.put(COLUMN_PUBLISHED_AT, article.getPublishedAt());
+        values.put(COLUMN_STATUS, article.getStatus());
+        values.put(COLUMN_TTS_AUDIO_URL, article.getTtsAudioUrl());
+        values.put(COLUMN_TTS_DURATION, article.getTtsDurationSeconds());
+        values.put(COLUMN_STORED_AT, System.currentTimeMillis());
+
+        int updated = db.update(TABLE_ARTICLES, values, COLUMN_ID + " = ?", new String[]{article.getId()});
+        if (updated == 0) {
+            values.put(COLUMN_ID, article.getId());
+            db.insert(TABLE_ARTICLES, null, values);
+        }
+    }
+
+    private void insertBookmark(SQLiteDatabase db, String articleId, int order) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_ARTICLE_ID, articleId);
+        values.put(COLUMN_SORT_ORDER, order);
+        db.insertWithOnConflict(TABLE_BOOKMARKS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // Articles no longer in any feed or bookmark are dropped so the store stays bounded
+    private void deleteOrphanArticles(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE_ARTICLES + " WHERE " + COLUMN_ID + " NOT IN (SELECT "
+                + COLUMN_ARTICLE_ID + " FROM " + TABLE_FEED_ITEMS + ") AND " + COLUMN_ID + " NOT IN (SELECT "
+                + COLUMN_ARTICLE_ID + " FROM " + TABLE_BOOKMARKS + ")");
+    }
+
+    private List<Article> queryArticles(String query, String[] args) {
+        List<Article> articles = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().rawQuery(query, args);
+        try {
+            while (cursor.moveToNext()) {
+                String imageUrl = cursor.getString(8);
+                int imageResId = imageUrl == null || imageUrl.isEmpty()
+                        ? R.drawable.placeholder_image : R.drawable.ic_launcher_foreground;
+                Article article = new Article(
+                        cursor.getString(0),
+                        cursor.getString(1),
+                        cursor.getString(2),
+                        cursor.isNull(3) ? "" : cursor.getString(3),
+                        cursor.getString(4),
+                        cursor.getString(5),
+                        cursor.getString(6),
+                        imageUrl,
+                        imageResId,
+                        cursor.getString(9),
+                        false);
+                article.setChannelName(cursor.getString(7));
+                article.setPublishedAt(cursor.getString(10));
+                article.setStatus(cursor.getString(11));
+                article.setTtsAudioUrl(cursor.getString(12));
+                article.setTtsDurationSeconds(cursor.getInt(13));
+                article.setBookmarked(!cursor.isNull(14));
+                articles.add(article);
+            }
+        } finally {
+            cursor.close();
+        }
+        return articles;
+    }
+
+    private void saveChannels(List<Channel> channels, String membershipColumn, String orderColumn) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues reset = new ContentValues();
+            reset.put(membershipColumn, 0);
+            db.update(TABLE_CHANNELS, reset, null, null);
+
+            int order = 0;
+            for (Channel channel : channels) {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_NAME, channel.getName());
+                values.put(COLUMN_SLUG, channel.getSlug());
+                values.put(COLUMN_DESCRIPTION, channel.getDescription());
+                values.put(COLUMN_LOGO_URL, channel.getLogoUrl());
+                values.put(membershipColumn, 1);
+                values.put(orderColumn, order++);
+                int updated = db.update(TABLE_CHANNELS, values, COLUMN_ID + " = ?",
+                        new String[]{String.valueOf(channel.getId())});
+                if (updated == 0) {
+                    values.put(COLUMN_ID, channel.getId());
+                    db.insert(TABLE_CHANNELS, null, values);
+                }
+            }
+            db.delete(TABLE_CHANNELS, COLUMN_IS_PUBLIC + " = 0 AND " + COLUMN_IS_FOLLOWING + " = 0", null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private List<Channel> queryChannels(String membershipColumn, String orderColumn) {
+        List<Channel> channels = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT " + COLUMN_ID + ", " + COLUMN_NAME + ", "
+                + COLUMN_SLUG + ", " + COLUMN_DESCRIPTION + ", " + COLUMN_LOGO_URL + ", " + COLUMN_IS_FOLLOWING
+                + " FROM " + TABLE_CHANNELS + " WHERE " + membershipColumn + " = 1"
+                + " ORDER BY " + orderColumn, null);
+        try {
+            while (cursor.moveToNext()) {
+                Channel channel = new Channel(cursor.getInt(0), cursor.getString(1), cursor.getString(2),
+                        cursor.getString(3), cursor.getString(4), cursor.getInt(5) == 1);
+                channel.setActive(true);
+                channels.add(channel);
+            }
+        } finally {
+            cursor.close();
+        }
+        return channels;
+    }
+}
@@ -5,16 +5,44 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local history of received push notifications.
+ *
+ * The database connection stays open for the life of the process, in WAL mode so reads
+ * never wait for a write. Writes are queued and applied by one background thread, one
+ * transaction per batch: a burst of pushes arriving within {@link #BATCH_WINDOW_MS} costs
+ * a single commit. Reads flush the queue first, so they always see earlier writes.
+ *
+ * History is read newest first in keyset-paginated pages, the unread count is kept up to
+ * date by the writes themselves, and a retention pass caps the table by age and row count.
+ */
 public class NotificationHistoryHelper extends SQLiteOpenHelper {
+    private static final String TAG = "NotificationHistory";
     private static final String DATABASE_NAME = "notification_history.db";
-    private static final int DATABASE_VERSION = 1;
+    // v2: created_at is epoch millis instead of local "yyyy-MM-dd HH:mm:ss" text, plus indexes
+    private static final int DATABASE_VERSION = 2;
+
+    // How long queued writes wait for company before being committed
+    private static final long BATCH_WINDOW_MS = 250;
+    // Stay well under SQLite's limit of 999 bound parameters per statement
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    // Retention defaults; see setRetentionPolicy()
+    private static final int DEFAULT_MAX_ROWS = 2000;
+    private static final long DEFAULT_MAX_AGE_MS = TimeUnit.DAYS.toMillis(90);
+    private static final int RETENTION_EVERY_INSERTS = 100;
+    private static final long STARTUP_RETENTION_DELAY_MS = 10_000;
 
     // Table name
     private static final String TABLE_NOTIFICATIONS = "notifications";
@@ -28,9 +56,13 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
     private static final String COLUMN_CHANNEL_ID = "channel_id";
     private static final String COLUMN_SCREEN = "screen";
     private static final String COLUMN_DATA = "data"; // JSON string for extra data
-    private static final String COLUMN_CREATED_AT = "created_at";
+    private static final String COLUMN_CREATED_AT = "created_at"; // epoch millis
     private static final String COLUMN_IS_READ = "is_read";
 
+    private static final String ALL_COLUMNS = COLUMN_ID + ", " + COLUMN_ARTICLE_ID + ", " + COLUMN_TITLE + ", "
+            + COLUMN_MESSAGE + ", " + COLUMN_TYPE + ", " + COLUMN_CHANNEL_ID + ", " + COLUMN_SCREEN + ", "
+            + COLUMN_DATA + ", " + COLUMN_CREATED_AT + ", " + COLUMN_IS_READ;
+
     // Create table query
     private static final String CREATE_TABLE_NOTIFICATIONS = "CREATE TABLE " + TABLE_NOTIFICATIONS + " ("
             + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
@@ -41,12 +73,27 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
             + COLUMN_CHANNEL_ID + " TEXT, "
             + COLUMN_SCREEN + " TEXT, "
             + COLUMN_DATA + " TEXT, "
-            + COLUMN_CREATED_AT + " TEXT, "
+            + COLUMN_CREATED_AT + " INTEGER NOT NULL DEFAULT 0, "
             + COLUMN_IS_READ + " INTEGER DEFAULT 0"
             + ")";
 
     private static NotificationHistoryHelper instance;
 
+    private interface WriteOp {
+        void apply(SQLiteDatabase db);
+    }
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor();
+    private final Object writeLock = new Object();
+    private final List<WriteOp> pendingWrites = new ArrayList<>();
+    private boolean flushScheduled;
+
+    // -1 until counted once; afterwards adjusted by every write
+    private final AtomicInteger unreadCount = new AtomicInteger(-1);
+    private int insertsSinceRetention;
+    private volatile int maxRows = DEFAULT_MAX_ROWS;
+    private volatile long maxAgeMs = DEFAULT_MAX_AGE_MS;
+
     public static synchronized NotificationHistoryHelper getInstance(Context context) {
         if (instance == null) {
             instance = new NotificationHistoryHelper(context.getApplicationContext());
@@ -56,24 +103,252 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
 
     private NotificationHistoryHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+        // Trim whatever accumulated since the last run, off the startup path
+        writer.schedule(this::enforceRetention, STARTUP_RETENTION_DELAY_MS, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
         db.execSQL(CREATE_TABLE_NOTIFICATIONS);
+        createIndexes(db);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_NOTIFICATIONS);
-        onCreate(db);
+        if (oldVersion < 2) {
+            migrateTimestampsToEpochMillis(db);
+        }
     }
 
-    public long saveNotification(String articleId, String title, String message, String type,
-                               String channelId, String screen, String data) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
+    private static void createIndexes(SQLiteDatabase db) {
+        // Newest-first paging; the rowid is implicitly the second key
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON " + TABLE_NOTIFICATIONS
+                + " (" + COLUMN_CREATED_AT + ")");
+        // Unread counts and unread-only listings
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_read_created_at ON " + TABLE_NOTIFICATIONS
+                + " (" + COLUMN_IS_READ + ", " + COLUMN_CREATED_AT + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_article_id ON " + TABLE_NOTIFICATIONS
+                + " (" + COLUMN_ARTICLE_ID + ")");
+    }
+
+    // Rebuild the v1 table, converting its local-time text timestamps to epoch millis
+    private static void migrateTimestampsToEpochMillis(SQLiteDatabase db) {
+        String oldTable = TABLE_NOTIFICATIONS + "_v1";
+        db.execSQL("ALTER TABLE " + TABLE_NOTIFICATIONS + " RENAME TO " + oldTable);
+        db.execSQL(CREATE_TABLE_NOTIFICATIONS);
+        db.execSQL("INSERT INTO " + TABLE_NOTIFICATIONS + " (" + ALL_COLUMNS + ") SELECT "
+                + COLUMN_ID + ", " + COLUMN_ARTICLE_ID + ", " + COLUMN_TITLE + ", " + COLUMN_MESSAGE + ", "
+                + COLUMN_TYPE + ", " + COLUMN_CHANNEL_ID + ", " + COLUMN_SCREEN + ", " + COLUMN_DATA + ", "
+                + "COALESCE(CAST(strftime('%s', " + COLUMN_CREATED_AT + ", 'utc') AS INTEGER) * 1000, 0), "
+                + COLUMN_IS_READ + " FROM " + oldTable);
+        db.execSQL("DROP TABLE " + oldTable);
+        createIndexes(db);
+    }
+
+    // ==================== Writes (queued) ====================
+
+    public void saveNotification(String articleId, String title, String message, String type,
+                                 String channelId, String screen, String data) {
+        ContentValues values = toValues(articleId, title, message, type, channelId, screen, data,
+                System.currentTimeMillis());
+        enqueue(db -> {
+            if (db.insert(TABLE_NOTIFICATIONS, null, values) != -1) {
+                adjustUnreadCount(1);
+            }
+            onInserted(1);
+        });
+    }
+
+    public void saveNotifications(List<NotificationItem> items) {
+        long now = System.currentTimeMillis();
+        List<ContentValues> rows = new ArrayList<>(items.size());
+        for (NotificationItem item : items) {
+            rows.add(toValues(item.getArticleId(), item.getTitle(), item.getMessage(), item.getType(),
+                    item.getChannelId(), item.getScreen(), item.getData(),
+                    item.getCreatedAt() > 0 ? item.getCreatedAt() : now));
+        }
+        enqueue(db -> {
+            int inserted = 0;
+            for (ContentValues values : rows) {
+                if (db.insert(TABLE_NOTIFICATIONS, null, values) != -1) {
+                    inserted++;
+                }
+            }
+            adjustUnreadCount(inserted);
+            onInserted(rows.size());
+        });
+    }
+
+    public void markAsRead(long notificationId) {
+        List<Long> ids = new ArrayList<>(1);
+        ids.add(notificationId);
+        markAsRead(ids);
+    }
+
+    public void markAsRead(Collection<Long> notificationIds) {
+        List<Long> ids = new ArrayList<>(notificationIds);
+        enqueue(db -> {
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_IS_READ, 1);
+            forEachIdChunk(ids, (where, args) -> adjustUnreadCount(-db.update(TABLE_NOTIFICATIONS, values,
+                    COLUMN_IS_READ + " = 0 AND " + where, args)));
+        });
+    }
+
+    public void markAllAsRead() {
+        enqueue(db -> {
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_IS_READ, 1);
+            db.update(TABLE_NOTIFICATIONS, values, COLUMN_IS_READ + " = 0", null);
+            unreadCount.set(0);
+        });
+    }
+
+    public void deleteNotification(long notificationId) {
+        List<Long> ids = new ArrayList<>(1);
+        ids.add(notificationId);
+        deleteNotifications(ids);
+    }
+
+    public void deleteNotifications(Collection<Long> notificationIds) {
+        List<Long> ids = new ArrayList<>(notificationIds);
+        enqueue(db -> forEachIdChunk(ids, (where, args) -> {
+            adjustUnreadCount(-countRows(db, COLUMN_IS_READ + " = 0 AND " + where, args));
+            db.delete(TABLE_NOTIFICATIONS, where, args);
+        }));
+    }
+
+    public void clearAllNotifications() {
+        enqueue(db -> {
+            db.delete(TABLE_NOTIFICATIONS, null, null);
+            unreadCount.set(0);
+        });
+    }
+
+    /**
+     * Keep at most maxRows notifications, none older than maxAgeMs. The policy is applied
+     * shortly after startup and again every few hundred inserts.
+     */
+    public void setRetentionPolicy(int maxRows, long maxAgeMs) {
+        this.maxRows = Math.max(1, maxRows);
+        this.maxAgeMs = Math.max(0, maxAgeMs);
+    }
+
+    public void enforceRetention() {
+        enqueue(this::applyRetention);
+    }
+
+    /**
+     * Commit everything queued so far on the calling thread. Called before every read;
+     * callers only need it directly when another process or component reads the file.
+     */
+    public void flushPendingWrites() {
+        synchronized (writeLock) {
+            List<WriteOp> batch;
+            synchronized (pendingWrites) {
+                flushScheduled = false;
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pendingWrites);
+                pendingWrites.clear();
+            }
+
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (WriteOp op : batch) {
+                    op.apply(db);
+                }
+                db.setTransactionSuccessful();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to write " + batch.size() + " queued notification changes", e);
+                // The batch was rolled back; recount on the next read
+                unreadCount.set(-1);
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    private void enqueue(WriteOp op) {
+        synchronized (pendingWrites) {
+            pendingWrites.add(op);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        writer.schedule(this::flushPendingWrites, BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+    }
 
+    // Runs inside a write batch
+    private void onInserted(int count) {
+        insertsSinceRetention += count;
+        if (insertsSinceRetention >= RETENTION_EVERY_INSERTS) {
+            insertsSinceRetention = 0;
+            enforceRetention();
+        }
+    }
+
+    private void applyRetention(SQLiteDatabase db) {
+        int removed = 0;
+        if (maxAgeMs > 0) {
+            long cutoff = System.currentTimeMillis() - maxAgeMs;
+            removed += db.delete(TABLE_NOTIFICATIONS, COLUMN_CREATED_AT + " < ?",
+                    new String[]{String.valueOf(cutoff)});
+        }
+
+        // The first row past the cap, in newest-first order; it and everything older goes
+        Cursor cursor = db.rawQuery("SELECT " + COLUMN_CREATED_AT + ", " + COLUMN_ID + " FROM " + TABLE_NOTIFICATIONS
+                + " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC LIMIT 1 OFFSET ?",
+                new String[]{String.valueOf(maxRows)});
+        try {
+            if (cursor.moveToFirst()) {
+                String createdAt = String.valueOf(cursor.getLong(0));
+                String id = String.valueOf(cursor.getLong(1));
+                removed += db.delete(TABLE_NOTIFICATIONS, COLUMN_CREATED_AT + " < ? OR ("
+                        + COLUMN_CREATED_AT + " = ? AND " + COLUMN_ID + " <= ?)", new String[]{createdAt, createdAt, id});
+            }
+        } finally {
+            cursor.close();
+        }
+
+        if (removed > 0) {
+            unreadCount.set(-1);
+            Log.d(TAG, "Retention removed " + removed + " notifications");
+        }
+    }
+
+    private void adjustUnreadCount(int delta) {
+        if (delta != 0) {
+            unreadCount.updateAndGet(count -> count < 0 ? count : Math.max(0, count + delta));
+        }
+    }
+
+    private interface ChunkAction {
+        void run(String where, String[] args);
+    }
+
+    // Split an id list into "id IN (?, ...)" clauses small enough for one statement each
+    private static void forEachIdChunk(List<Long> ids, ChunkAction action) {
+        Iterator<Long> iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            List<String> args = new ArrayList<>();
+            StringBuilder where = new StringBuilder(COLUMN_ID).append(" IN (");
+            while (iterator.hasNext() && args.size() < MAX_IDS_PER_STATEMENT) {
+                where.append(args.isEmpty() ? "?" : ", ?");
+                args.add(String.valueOf(iterator.next()));
+            }
+            where.append(')');
+            action.run(where.toString(), args.toArray(new String[0]));
+        }
+    }
+
+    private static ContentValues toValues(String articleId, String title, String message, String type,
+                                          String channelId, String screen, String data, long createdAt) {
+        ContentValues values = new ContentValues();
         values.put(COLUMN_ARTICLE_ID, articleId);
         values.put(COLUMN_TITLE, title);
         values.put(COLUMN_MESSAGE, message);
@@ -81,25 +356,39 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
         values.put(COLUMN_CHANNEL_ID, channelId);
         values.put(COLUMN_SCREEN, screen);
         values.put(COLUMN_DATA, data);
-        values.put(COLUMN_CREATED_AT, getCurrentTimestamp());
+        values.put(COLUMN_CREATED_AT, createdAt);
         values.put(COLUMN_IS_READ, 0);
-
-        long id = db.insert(TABLE_NOTIFICATIONS, null, values);
-        db.close();
-        return id;
+        return values;
     }
 
-    public List<NotificationItem> getAllNotifications() {
-        List<NotificationItem> notifications = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
+    // ==================== Reads ====================
 
-        String query = "SELECT * FROM " + TABLE_NOTIFICATIONS +
-                       " ORDER BY " + COLUMN_CREATED_AT + " DESC";
+    /**
+     * One page of history, newest first. Pass the last item of the previous page, or null
+     * for the first page. Each page is an index range scan, however deep the user scrolls.
+     */
+    public List<NotificationItem> getNotificationsPage(NotificationItem after, int limit) {
+        flushPendingWrites();
+        List<NotificationItem> notifications = new ArrayList<>(limit);
+        SQLiteDatabase db = this.getReadableDatabase();
 
-        Cursor cursor = db.rawQuery(query, null);
+        String query;
+        String[] args;
+        if (after == null) {
+            query = "SELECT " + ALL_COLUMNS + " FROM " + TABLE_NOTIFICATIONS
+                    + " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC LIMIT ?";
+            args = new String[]{String.valueOf(limit)};
+        } else {
+            String createdAt = String.valueOf(after.getCreatedAt());
+            query = "SELECT " + ALL_COLUMNS + " FROM " + TABLE_NOTIFICATIONS
+                    + " WHERE " + COLUMN_CREATED_AT + " < ? OR (" + COLUMN_CREATED_AT + " = ? AND " + COLUMN_ID + " < ?)"
+                    + " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC LIMIT ?";
+            args = new String[]{createdAt, createdAt, String.valueOf(after.getId()), String.valueOf(limit)};
+        }
 
-        if (cursor.moveToFirst()) {
-            do {
+        Cursor cursor = db.rawQuery(query, args);
+        try {
+            while (cursor.moveToNext()) {
                 NotificationItem notification = new NotificationItem();
                 notification.setId(cursor.getLong(0));
                 notification.setArticleId(cursor.getString(1));
@@ -109,69 +398,35 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
                 notification.setChannelId(cursor.getString(5));
                 notification.setScreen(cursor.getString(6));
                 notification.setData(cursor.getString(7));
-                notification.setCreatedAt(cursor.getString(8));
+                notification.setCreatedAt(cursor.getLong(8));
                 notification.setRead(cursor.getInt(9) == 1);
                 notifications.add(notification);
-            } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
         }
-
-        cursor.close();
-        db.close();
         return notifications;
     }
 
-    public void markAsRead(long notificationId) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_IS_READ, 1);
-
-        db.update(TABLE_NOTIFICATIONS, values, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(notificationId)});
-        db.close();
-    }
-
-    public void markAllAsRead() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_IS_READ, 1);
-
-        db.update(TABLE_NOTIFICATIONS, values, null, null);
-        db.close();
-    }
-
-    public void deleteNotification(long notificationId) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_NOTIFICATIONS, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(notificationId)});
-        db.close();
-    }
-
-    public void clearAllNotifications() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_NOTIFICATIONS, null, null);
-        db.close();
-    }
-
     public int getUnreadCount() {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT COUNT(*) FROM " + TABLE_NOTIFICATIONS +
-                       " WHERE " + COLUMN_IS_READ + " = 0";
-
-        Cursor cursor = db.rawQuery(query, null);
-        int count = 0;
-
-        if (cursor.moveToFirst()) {
-            count = cursor.getInt(0);
+        flushPendingWrites();
+        int count = unreadCount.get();
+        if (count >= 0) {
+            return count;
         }
-
-        cursor.close();
-        db.close();
+        // Answered from the (is_read, created_at) index
+        count = countRows(getReadableDatabase(), COLUMN_IS_READ + " = 0", null);
+        unreadCount.compareAndSet(-1, count);
         return count;
     }
 
-    private String getCurrentTimestamp() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        return sdf.format(new Date());
+    private static int countRows(SQLiteDatabase db, String where, String[] args) {
+        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_NOTIFICATIONS + " WHERE " + where, args);
+        try {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        } finally {
+            cursor.close();
+        }
     }
 
     // NotificationItem model class
@@ -184,7 +439,7 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
         private String channelId;
         private String screen;
         private String data;
-        private String createdAt;
+        private long createdAt;
         private boolean isRead;
 
         // Getters and Setters
@@ -212,10 +467,11 @@ public class NotificationHistoryHelper extends SQLiteOpenHelper {
         public String getData() { return data; }
         public void setData(String data) { this.data = data; }
 
-        public String getCreatedAt() { return createdAt; }
-        public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+        // Epoch millis
+        public long getCreatedAt() { return createdAt; }
+        public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
 
         public boolean isRead() { return isRead; }
         public void setRead(boolean read) { isRead = read; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package com.example.newsapplication.firebase;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.PersistableBundle;
+import android.util.Log;
+
+import com.example.newsapplication.audio.TtsAudioCache;
+import com.example.newsapplication.model.Article;
+import com.example.newsapplication.repository.NewsRepository;
+import com.example.newsapplication.utils.ImageLoader;
+import com.squareup.picasso.Callback;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads a pushed article ahead of the tap, so ArticleDetailActivity can open it from
+ * the local store with no network wait.
+ *
+ * The article JSON and hero image are fetched by one job as soon as any network is up;
+ * the first seconds of its TTS audio are left to a second job that waits for an unmetered
+ * network and a charger. Both are charged against {@link PrefetchBudget}, and nothing is
+ * fetched over a metered network while Data Saver restricts background data.
+ *
+ * When the push notification had to go up before its picture was downloaded, the article
+ * job also adds the picture through {@link PushNotifier#attachPicture}. The job is what keeps
+ * the process alive for that download once the push has been handled.
+ */
+public class ArticlePrefetchJobService extends JobService {
+    private static final String TAG = "ArticlePrefetch";
+    private static final String EXTRA_ARTICLE_ID = "article_id";
+    private static final String EXTRA_TTS_URL = "tts_url";
+    private static final String EXTRA_PUSHED_AT = "pushed_at";
+    private static final String EXTRA_NOTIFICATION_PICTURE = "notification_picture";
+
+    // Job ids are the article id's hash inside a range per kind of job
+    private static final int ARTICLE_JOB_BASE = 0x41000000;
+    private static final int AUDIO_JOB_BASE = 0x42000000;
+    private static final int JOB_ID_MASK = 0x00FFFFFF;
+
+    // A push this old has most likely been read or dismissed already
+    private static final long MAX_PUSH_AGE_MS = 6L * 60 * 60 * 1000;
+    // Picasso does not report download sizes, so images are charged at a typical hero size
+    private static final long IMAGE_BYTES_ESTIMATE = 150 * 1024;
+    private static final long ARTICLE_BYTES_OVERHEAD = 1024;
+    // The audio job gives up on a download that has not reached the prefetch size by then
+    private static final long AUDIO_TIMEOUT_MS = 60 * 1000;
+
+    // Disk and network work that must not run on the main thread, where jobs start
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // notificationPicture is the image the article's notification is still waiting for, or null
+    public static void schedule(Context context, String articleId, String notificationPicture) {
+        PersistableBundle extras = new PersistableBundle();
+        extras.putString(EXTRA_ARTICLE_ID, articleId);
+        extras.putLong(EXTRA_PUSHED_AT, System.currentTimeMillis());
+        if (notificationPicture != null) {
+            extras.putString(EXTRA_NOTIFICATION_PICTURE, notificationPicture);
+        }
+
+        JobInfo job = new JobInfo.Builder(jobId(ARTICLE_JOB_BASE, articleId), component(context))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_ANY)
+                .setExtras(extras)
+                .build();
+        // Scheduling the same article again replaces its pending job
+        context.getSystemService(JobScheduler.class).schedule(job);
+    }
+
+    private static void scheduleAudio(Context context, String articleId, String ttsUrl, long pushedAt) {
+        PersistableBundle extras = new PersistableBundle();
+        extras.putString(EXTRA_ARTICLE_ID, articleId);
+        extras.putString(EXTRA_TTS_URL, ttsUrl);
+        extras.putLong(EXTRA_PUSHED_AT, pushedAt);
+
+        JobInfo job = new JobInfo.Builder(jobId(AUDIO_JOB_BASE, articleId), component(context))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setExtras(extras)
+                .build();
+        context.getSystemService(JobScheduler.class).schedule(job);
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        PersistableBundle extras = params.getExtras();
+        String articleId = extras.getString(EXTRA_ARTICLE_ID);
+        long pushedAt = extras.getLong(EXTRA_PUSHED_AT);
+        if (articleId == null || System.currentTimeMillis() - pushedAt > MAX_PUSH_AGE_MS) {
+            return false;
+        }
+
+        PrefetchBudget budget = new PrefetchBudget(this);
+        String ttsUrl = extras.getString(EXTRA_TTS_URL);
+        if (ttsUrl != null) {
+            if (isBackgroundDataRestricted() || !budget.canSpend(TtsAudioCache.PREFETCH_BYTES)) {
+                return false;
+            }
+            // The job stays running (wakelock, unmetered network) until the bytes are on disk
+            executor.execute(() -> {
+                if (TtsAudioCache.getInstance(this).prefetchAndWait(articleId, ttsUrl, AUDIO_TIMEOUT_MS)) {
+                    budget.spend(TtsAudioCache.PREFETCH_BYTES);
+                } else {
+                    Log.w(TAG, "Audio prefetch of " + articleId + " did not complete");
+                }
+                jobFinished(params, false);
+            });
+            return true;
+        }
+
+        String notificationPicture = extras.getString(EXTRA_NOTIFICATION_PICTURE);
+        if (notificationPicture == null) {
+            return prefetchArticle(articleId, pushedAt, budget, () -> jobFinished(params, false));
+        }
+        // The user is looking at that notification, so its picture is fetched even under Data Saver
+        AtomicInteger running = new AtomicInteger(2);
+        Runnable done = () -> {
+            if (running.decrementAndGet() == 0) {
+                jobFinished(params, false);
+            }
+        };
+        executor.execute(() -> {
+            PushNotifier.getInstance(this).attachPicture(articleId, notificationPicture);
+            done.run();
+        });
+        if (!prefetchArticle(articleId, pushedAt, budget, done)) {
+            done.run();
+        }
+        return true;
+    }
+
+    // Returns false when nothing was started, otherwise runs done once the article and its image are handled
+    private boolean prefetchArticle(String articleId, long pushedAt, PrefetchBudget budget, Runnable done) {
+        if (isBackgroundDataRestricted()) {
+            Log.d(TAG, "Data Saver is on, skipping prefetch of " + articleId);
+            return false;
+        }
+        if (!budget.canSpend(ARTICLE_BYTES_OVERHEAD)) {
+            Log.d(TAG, "Daily prefetch budget used up, skipping " + articleId);
+            return false;
+        }
+        new NewsRepository(this).prefetchArticle(articleId, response -> {
+            Article article = response.getData();
+            if (!response.isSuccess() || article == null) {
+                Log.w(TAG, "Prefetch of " + articleId + " failed: " + response.getErrorMessage());
+                done.run();
+                return;
+            }
+            budget.spend(estimateBytes(article));
+
+            String audioUrl = article.getTtsAudioUrl();
+            if (audioUrl != null && audioUrl.startsWith("http")) {
+                scheduleAudio(this, articleId, audioUrl, pushedAt);
+            }
+            prefetchImage(article, budget, done);
+        });
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Whatever was stored so far is kept; the tap falls back to the network for the rest
+        return false;
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        executor.shutdown();
+    }
+
+    private void prefetchImage(Article article, PrefetchBudget budget, Runnable done) {
+        String imageUrl = article.getImageUrl();
+        if (imageUrl == null || !imageUrl.startsWith("http") || !budget.canSpend(IMAGE_BYTES_ESTIMATE)) {
+            done.run();
+            return;
+        }
+        ImageLoader.prefetch(imageUrl, new Callback() {
+            @Override
+            public void onSuccess() {
+                budget.spend(IMAGE_BYTES_ESTIMATE);
+                done.run();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.w(TAG, "Hero image prefetch failed: " + imageUrl, e);
+                done.run();
+            }
+        });
+    }
+
+    private boolean isBackgroundDataRestricted() {
+        ConnectivityManager connectivity = getSystemService(ConnectivityManager.class);
+        return connectivity != null
+                && connectivity.isActiveNetworkMetered()
+                && connectivity.getRestrictBackgroundStatus() == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED;
+    }
+
+    private static long estimateBytes(Article article) {
+        long chars = ARTICLE_BYTES_OVERHEAD;
+        chars += article.getTitle() != null ? article.getTitle().length() : 0;
+        chars += article.getDescription() != null ? article.getDescription().length() : 0;
+        chars += article.getContent() != null ? article.getContent().length() : 0;
+        return chars;
+    }
+
+    private static int jobId(int base, String articleId) {
+        return base | (articleId.hashCode() & JOB_ID_MASK);
+    }
+
+    private static ComponentName component(Context context) {
+        return new ComponentName(context, ArticlePrefetchJobService.class);
+    }
+}
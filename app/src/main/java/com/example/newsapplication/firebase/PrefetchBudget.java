@@ -0,0 +1,44 @@
+package com.example.newsapplication.firebase;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.TimeZone;
+
+/**
+ * Bytes that push-triggered prefetching may download per local calendar day.
+ * The count is kept in SharedPreferences and starts over on the first use of a new day.
+ */
+public class PrefetchBudget {
+    private static final String PREFS_NAME = "PushPrefetchPrefs";
+    private static final String KEY_DAY = "budget_day";
+    private static final String KEY_BYTES_USED = "budget_bytes_used";
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    static final long DAILY_BYTES = 5L * 1024 * 1024;
+
+    private final SharedPreferences prefs;
+
+    public PrefetchBudget(Context context) {
+        this.prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public synchronized boolean canSpend(long bytes) {
+        return bytesUsedToday() + bytes <= DAILY_BYTES;
+    }
+
+    public synchronized void spend(long bytes) {
+        prefs.edit()
+                .putLong(KEY_DAY, today())
+                .putLong(KEY_BYTES_USED, bytesUsedToday() + bytes)
+                .apply();
+    }
+
+    private long bytesUsedToday() {
+        return prefs.getLong(KEY_DAY, -1) == today() ? prefs.getLong(KEY_BYTES_USED, 0) : 0;
+    }
+
+    private static long today() {
+        long now = System.currentTimeMillis();
+        return (now + TimeZone.getDefault().getOffset(now)) / DAY_MS;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.newsapplication.firebase;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.newsapplication.database.NotificationHistoryHelper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers pushes that arrive close together and delivers them as one burst.
+ *
+ * The first push opens a window of {@link #WINDOW_MS}; everything received until it
+ * closes is deduplicated by article id, written to the history in one batch, queued for
+ * prefetching and shown through PushNotifier as a single alert. The window is fixed rather
+ * than sliding, so a steady stream of pushes still reaches the user within a bounded delay.
+ *
+ * FCM only keeps the process alive while onMessageReceived runs, and its handlers run one
+ * at a time, so waiting out the window there would stop later pushes from joining the
+ * burst. Instead every push is written to SharedPreferences before add() returns and
+ * stays there until its burst has been delivered. If the process is killed inside the
+ * window, {@link #resume()} delivers the saved pushes on the next start; ones that have
+ * gone stale by then are only recorded in the history.
+ *
+ * Once a burst's history rows are committed it is saved as recorded instead, so a process
+ * killed while the alert is going up does not write those rows or sound the alert again
+ * on the next start; only their prefetch jobs are scheduled again.
+ */
+public class PushCoalescer {
+    private static final String TAG = "PushCoalescer";
+    static final long WINDOW_MS = 1500;
+    // Deliver early rather than let one window grow without bound
+    private static final int MAX_BUFFERED = 30;
+    // A push recovered later than this is no longer worth an alert
+    static final long MAX_ALERT_AGE_MS = 30 * 60 * 1000;
+    private static final String PREFS_NAME = "PushCoalescerPrefs";
+    private static final String KEY_BUFFER = "buffer";
+    private static final String KEY_RECORDED = "recorded";
+
+    private static PushCoalescer instance;
+
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    // Keyed by article id (or a unique key for article-less pushes), in arrival order
+    private final LinkedHashMap<String, PushMessage> pending = new LinkedHashMap<>();
+    // Burst taken out of pending but not in the history yet; still part of the saved buffer
+    private final List<PushMessage> delivering = new ArrayList<>();
+    // Burst already in the history whose alert and prefetch may not have run; saved apart
+    private final List<PushMessage> recorded = new ArrayList<>();
+    private int anonymousCount;
+    private boolean flushScheduled;
+
+    public static synchronized PushCoalescer getInstance(Context context) {
+        if (instance == null) {
+            instance = new PushCoalescer(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private PushCoalescer(Context context) {
+        this.context = context;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        load();
+    }
+
+    // Deliver pushes saved by a process that was killed before their window closed
+    public void resume() {
+        synchronized (pending) {
+            if (pending.isEmpty() && recorded.isEmpty() || flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        Log.d(TAG, "Delivering pushes left over from an earlier process");
+        scheduler.execute(this::flush);
+    }
+
+    public void add(PushMessage push) {
+        boolean flushNow;
+        synchronized (pending) {
+            String key = push.hasArticle() ? push.articleId : "push:" + (anonymousCount++);
+            if (pending.containsKey(key)) {
+                // Same story pushed again (e.g. once per channel); keep the latest wording
+                pending.remove(key);
+                Log.d(TAG, "Duplicate push for article " + key + " coalesced");
+            }
+            pending.put(key, push);
+            // Runs on FCM's worker thread; once this returns the process may be killed
+            save();
+
+            flushNow = pending.size() >= MAX_BUFFERED;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<PushMessage> burst;
+        List<PushMessage> interrupted;
+        synchronized (pending) {
+            flushScheduled = false;
+            if (pending.isEmpty() && recorded.isEmpty()) {
+                return;
+            }
+            burst = new ArrayList<>(pending.values());
+            pending.clear();
+            delivering.addAll(burst);
+            interrupted = new ArrayList<>(recorded);
+        }
+
+        try {
+            if (!interrupted.isEmpty()) {
+                // Whether their alert went up is unknown; a missed alert beats a second one
+                Log.d(TAG, "Rescheduling prefetch for " + interrupted.size() + " pushes already in the history");
+                schedulePrefetch(interrupted, new ArrayList<>());
+            }
+            if (!burst.isEmpty()) {
+                Log.d(TAG, "Delivering " + burst.size() + " coalesced pushes");
+                deliver(burst);
+            }
+        } finally {
+            synchronized (pending) {
+                delivering.clear();
+                recorded.clear();
+                save();
+            }
+        }
+    }
+
+    private void deliver(List<PushMessage> burst) {
+        saveToHistory(burst);
+        synchronized (pending) {
+            delivering.clear();
+            recorded.addAll(burst);
+            save();
+        }
+
+        long now = System.currentTimeMillis();
+        List<PushMessage> visible = new ArrayList<>(burst.size());
+        for (PushMessage push : burst) {
+            if (push.title == null) {
+                Log.w(TAG, "No title found in notification data");
+            } else if (now - push.receivedAt > MAX_ALERT_AGE_MS) {
+                Log.d(TAG, "Not alerting for a push received " + (now - push.receivedAt) / 1000 + "s ago");
+            } else {
+                visible.add(push);
+            }
+        }
+        List<PushMessage> missingPicture = visible.isEmpty()
+                ? new ArrayList<>()
+                : PushNotifier.getInstance(context).show(visible);
+        schedulePrefetch(burst, missingPicture);
+    }
+
+    private void load() {
+        for (PushMessage push : readList(KEY_BUFFER)) {
+            pending.put(push.hasArticle() ? push.articleId : "push:" + (anonymousCount++), push);
+        }
+        recorded.addAll(readList(KEY_RECORDED));
+    }
+
+    private List<PushMessage> readList(String key) {
+        List<PushMessage> pushes = new ArrayList<>();
+        String json = prefs.getString(key, null);
+        if (json == null) {
+            return pushes;
+        }
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                pushes.add(PushMessage.fromJson(array.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Dropping unreadable push buffer " + key, e);
+            pushes.clear();
+        }
+        return pushes;
+    }
+
+    // Called with the pending lock held; commit() so the buffer is on disk before returning
+    private void save() {
+        JSONArray buffer = new JSONArray();
+        JSONArray recordedArray = new JSONArray();
+        try {
+            for (PushMessage push : delivering) {
+                buffer.put(push.toJson());
+            }
+            for (PushMessage push : pending.values()) {
+                buffer.put(push.toJson());
+            }
+            for (PushMessage push : recorded) {
+                recordedArray.put(push.toJson());
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Error saving push buffer", e);
+            return;
+        }
+        // One commit, so a burst is never in both lists or in neither
+        SharedPreferences.Editor editor = prefs.edit();
+        putOrRemove(editor, KEY_BUFFER, buffer);
+        putOrRemove(editor, KEY_RECORDED, recordedArray);
+        editor.commit();
+    }
+
+    private static void putOrRemove(SharedPreferences.Editor editor, String key, JSONArray array) {
+        if (array.length() == 0) {
+            editor.remove(key);
+        } else {
+            editor.putString(key, array.toString());
+        }
+    }
+
+    // Have each pushed article on disk before the user taps it; the same job adds late pictures
+    private void schedulePrefetch(List<PushMessage> burst, List<PushMessage> missingPicture) {
+        for (PushMessage push : burst) {
+            if (push.hasArticle()) {
+                String pictureUrl = missingPicture.contains(push) ? push.imageUrl : null;
+                ArticlePrefetchJobService.schedule(context, push.articleId, pictureUrl);
+            }
+        }
+    }
+
+    private void saveToHistory(List<PushMessage> burst) {
+        List<NotificationHistoryHelper.NotificationItem> items = new ArrayList<>(burst.size());
+        for (PushMessage push : burst) {
+            if (!push.isDataMessage()) {
+                continue;
+            }
+            NotificationHistoryHelper.NotificationItem item = new NotificationHistoryHelper.NotificationItem();
+            item.setArticleId(push.articleId);
+            item.setTitle(push.title);
+            item.setMessage(push.message);
+            item.setType(push.type);
+            item.setChannelId(push.channelId);
+            item.setScreen(push.screen);
+            item.setData(push.data.toString());
+            item.setCreatedAt(push.receivedAt);
+            items.add(item);
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            NotificationHistoryHelper history = NotificationHistoryHelper.getInstance(context);
+            history.saveNotifications(items);
+            // The burst is already one batch; commit now rather than after the helper's own window
+            history.flushPendingWrites();
+        } catch (Exception e) {
+            Log.e(TAG, "Error saving notifications to history", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.newsapplication.firebase;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * One received push, reduced to what the history and the notification shade need.
+ */
+public class PushMessage {
+    public final String title;
+    public final String message;
+    public final String type;
+    public final String articleId;
+    public final String channelId;
+    public final String screen;
+    // Article hero image, shown as a BigPicture when it can be fetched in time
+    public final String imageUrl;
+    // Raw data payload, passed to MainActivity as extras; null for notification-only pushes
+    public final Map<String, String> data;
+    public final long receivedAt;
+
+    public PushMessage(String title, String message, String type, String articleId, String channelId,
+                       String screen, String imageUrl, Map<String, String> data, long receivedAt) {
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.articleId = articleId;
+        this.channelId = channelId;
+        this.screen = screen;
+        this.imageUrl = imageUrl;
+        this.data = data;
+        this.receivedAt = receivedAt;
+    }
+
+    public boolean hasImage() {
+        return imageUrl != null && imageUrl.startsWith("http");
+    }
+
+    public boolean hasArticle() {
+        return articleId != null && !articleId.isEmpty();
+    }
+
+    // Only data messages are recorded in the notification history
+    public boolean isDataMessage() {
+        return data != null;
+    }
+
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("title", title);
+        json.put("message", message);
+        json.put("type", type);
+        json.put("article_id", articleId);
+        json.put("channel_id", channelId);
+        json.put("screen", screen);
+        json.put("image_url", imageUrl);
+        if (data != null) {
+            json.put("data", new JSONObject(data));
+        }
+        json.put("received_at", receivedAt);
+        return json;
+    }
+
+    static PushMessage fromJson(JSONObject json) {
+        Map<String, String> data = null;
+        JSONObject dataJson = json.optJSONObject("data");
+        if (dataJson != null) {
+            data = new HashMap<>();
+            for (Iterator<String> keys = dataJson.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                data.put(key, dataJson.optString(key));
+            }
+        }
+        return new PushMessage(optString(json, "title"), optString(json, "message"), optString(json, "type"),
+                optString(json, "article_id"), optString(json, "channel_id"), optString(json, "screen"),
+                optString(json, "image_url"), data, json.optLong("received_at"));
+    }
+
+    // optString turns a missing value into "", but these fields are null when absent
+    private static String optString(JSONObject json, String key) {
+        return json.isNull(key) ? null : json.optString(key);
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.newsapplication.firebase;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.os.SystemClock;
+import android.service.notification.StatusBarNotification;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+import androidx.core.app.NotificationCompat;
+
+import com.example.newsapplication.MainActivity;
+import com.example.newsapplication.utils.ImageLoader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posts push notifications to the shade.
+ *
+ * A single push is shown on its own. A burst is posted as silent per-article children
+ * under one InboxStyle summary, so the user gets one sound and one shade entry. Article
+ * notifications are tagged with the article id, so a story pushed again replaces its
+ * earlier entry instead of adding a new one.
+ *
+ * Hero images are fetched in parallel through ImageLoader (sharing the feed's disk cache)
+ * and downscaled to the BigPicture size. Whatever is not ready within
+ * {@link #IMAGE_DEADLINE_MS} is posted as text first. Nothing keeps the process alive
+ * once a burst is posted, so the late picture is not awaited here: ArticlePrefetchJobService,
+ * which runs as a job anyway, calls {@link #attachPicture} to update the notification in
+ * place, silently.
+ */
+public class PushNotifier {
+    private static final String TAG = "PushNotifier";
+    private static final String CHANNEL_ID = "news_channel";
+    private static final String GROUP_KEY = "com.example.newsapplication.NEWS_PUSHES";
+    private static final String ARTICLE_TAG_PREFIX = "article:";
+    private static final String SUMMARY_TAG = "push_summary";
+    private static final int SUMMARY_ID = 0;
+    private static final int MAX_INBOX_LINES = 6;
+    // How long a burst may wait for its pictures before it is posted, so the alert is not held back
+    private static final long IMAGE_DEADLINE_MS = 3000;
+    // BigPicture is shown at roughly 2:1, up to about 450dp wide
+    private static final int BIG_PICTURE_MAX_WIDTH_DP = 450;
+    // Extra value MainActivity uses to open the notification history
+    public static final String SCREEN_NOTIFICATION_HISTORY = "notification_history";
+
+    private static PushNotifier instance;
+
+    private final Context context;
+    private final NotificationManager notificationManager;
+    private final AtomicInteger nextRequestCode = new AtomicInteger((int) System.currentTimeMillis());
+    private final ExecutorService imageExecutor = Executors.newFixedThreadPool(2);
+    private final int pictureWidthPx;
+    private final int pictureHeightPx;
+
+    public static synchronized PushNotifier getInstance(Context context) {
+        if (instance == null) {
+            instance = new PushNotifier(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private PushNotifier(Context context) {
+        this.context = context;
+        this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        this.pictureWidthPx = Math.min(metrics.widthPixels, (int) (BIG_PICTURE_MAX_WIDTH_DP * metrics.density));
+        this.pictureHeightPx = pictureWidthPx / 2;
+        createNotificationChannel();
+    }
+
+    /**
+     * Called off the main thread; blocks for at most IMAGE_DEADLINE_MS. Returns the article
+     * pushes that were posted without the picture they asked for.
+     */
+    public List<PushMessage> show(List<PushMessage> burst) {
+        boolean grouped = burst.size() > 1;
+
+        List<PushMessage> missingPicture = new ArrayList<>();
+        // Start every download at once; they share one deadline
+        List<CompletableFuture<Bitmap>> images = new ArrayList<>(burst.size());
+        for (PushMessage push : burst) {
+            images.add(push.hasImage() ? fetchImage(push.imageUrl) : null);
+        }
+        long deadline = SystemClock.elapsedRealtime() + IMAGE_DEADLINE_MS;
+
+        for (int i = 0; i < burst.size(); i++) {
+            PushMessage push = burst.get(i);
+            CompletableFuture<Bitmap> image = images.get(i);
+            Bitmap picture = awaitImage(image, deadline);
+            String tag = push.hasArticle() ? ARTICLE_TAG_PREFIX + push.articleId : null;
+            int id = push.hasArticle() ? 0 : nextRequestCode.incrementAndGet();
+
+            notificationManager.notify(tag, id, build(push, grouped, picture).build());
+            if (image != null && picture == null && push.hasArticle()) {
+                // Too slow for the deadline; the download is left to the article's prefetch job
+                image.cancel(false);
+                missingPicture.add(push);
+            }
+        }
+
+        if (grouped) {
+            notificationManager.notify(SUMMARY_TAG, SUMMARY_ID, buildSummary(burst).build());
+            Log.d(TAG, "Grouped notification shown for " + burst.size() + " pushes");
+        }
+        return missingPicture;
+    }
+
+    /**
+     * Add the hero image to an article notification posted without it. Blocks on the
+     * download, so it is for background work whose own lifetime is guaranteed, such as a
+     * job. Does nothing once the user has dismissed or opened the notification.
+     */
+    public void attachPicture(String articleId, String imageUrl) {
+        String tag = ARTICLE_TAG_PREFIX + articleId;
+        if (findActive(tag, 0) == null) {
+            return;
+        }
+        Bitmap picture;
+        try {
+            picture = ImageLoader.fetch(imageUrl, pictureWidthPx, pictureHeightPx);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Notification image failed: " + imageUrl, e);
+            return;
+        }
+        // Look again: the download may have outlasted the notification
+        StatusBarNotification active = findActive(tag, 0);
+        if (picture == null || active == null) {
+            return;
+        }
+        Notification current = active.getNotification();
+        CharSequence text = current.extras.getCharSequence(Notification.EXTRA_TEXT);
+        Notification updated = Notification.Builder.recoverBuilder(context, current)
+                .setLargeIcon(picture)
+                .setStyle(new Notification.BigPictureStyle()
+                        .bigPicture(picture)
+                        .bigLargeIcon((Bitmap) null)
+                        .setSummaryText(text))
+                .setOnlyAlertOnce(true)
+                .build();
+        notificationManager.notify(tag, 0, updated);
+    }
+
+    private NotificationCompat.Builder build(PushMessage push, boolean grouped, Bitmap picture) {
+        NotificationCompat.Builder builder = buildSingle(push);
+        if (grouped) {
+            builder.setGroup(GROUP_KEY)
+                    .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY);
+        }
+        if (picture != null) {
+            builder.setLargeIcon(picture)
+                    .setStyle(new NotificationCompat.BigPictureStyle()
+                            .bigPicture(picture)
+                            .bigLargeIcon((Bitmap) null)
+                            .setSummaryText(push.message));
+        }
+        return builder;
+    }
+
+    private NotificationCompat.Builder buildSingle(PushMessage push) {
+        String message = push.message != null ? push.message : "Tap to open article";
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(android.R.drawable.ic_dialog_info) // Using default Android icon
+                .setContentTitle(push.title)
+                .setContentText(message)
+                .setAutoCancel(true)
+                .setPriority(NotificationCompat.PRIORITY_HIGH) // Higher priority for better visibility
+                .setDefaults(NotificationCompat.DEFAULT_ALL) // Use default sound, vibration, lights
+                .setWhen(push.receivedAt)
+                .setContentIntent(contentIntent(push.data))
+                .setStyle(new NotificationCompat.BigTextStyle().bigText(message)); // Support long text
+    }
+
+    private NotificationCompat.Builder buildSummary(List<PushMessage> burst) {
+        String title = burst.size() + " new stories";
+        NotificationCompat.InboxStyle inbox = new NotificationCompat.InboxStyle().setBigContentTitle(title);
+        int lines = Math.min(burst.size(), MAX_INBOX_LINES);
+        for (int i = 0; i < lines; i++) {
+            inbox.addLine(burst.get(i).title);
+        }
+        if (burst.size() > lines) {
+            inbox.setSummaryText("+" + (burst.size() - lines) + " more");
+        }
+
+        Intent intent = new Intent(context, MainActivity.class);
+        intent.putExtra("screen", SCREEN_NOTIFICATION_HISTORY);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(android.R.drawable.ic_dialog_info)
+                .setContentTitle(title)
+                .setContentText(burst.get(0).title)
+                .setStyle(inbox)
+                .setGroup(GROUP_KEY)
+                .setGroupSummary(true)
+                .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY)
+                .setAutoCancel(true)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setDefaults(NotificationCompat.DEFAULT_ALL)
+                .setContentIntent(PendingIntent.getActivity(context, nextRequestCode.incrementAndGet(), intent,
+                        PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE));
+    }
+
+    private PendingIntent contentIntent(Map<String, String> data) {
+        // Create intent to open app when notification is tapped
+        Intent intent = new Intent(context, MainActivity.class);
+        if (data != null) {
+            // Add all data fields to intent
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                intent.putExtra(entry.getKey(), entry.getValue());
+            }
+        }
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+
+        // Unique request code so each notification keeps its own extras
+        return PendingIntent.getActivity(context, nextRequestCode.incrementAndGet(), intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private CompletableFuture<Bitmap> fetchImage(String url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ImageLoader.fetch(url, pictureWidthPx, pictureHeightPx);
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Notification image failed: " + url, e);
+                return null;
+            }
+        }, imageExecutor);
+    }
+
+    private static Bitmap awaitImage(CompletableFuture<Bitmap> image, long deadline) {
+        if (image == null) {
+            return null;
+        }
+        long remaining = deadline - SystemClock.elapsedRealtime();
+        if (remaining <= 0) {
+            return image.getNow(null);
+        }
+        try {
+            return image.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // The notification as currently shown, or null once the user has dismissed or opened it
+    private StatusBarNotification findActive(String tag, int id) {
+        for (StatusBarNotification active : notificationManager.getActiveNotifications()) {
+            if (active.getId() == id && Objects.equals(active.getTag(), tag)) {
+                return active;
+            }
+        }
+        return null;
+    }
+
+    private void createNotificationChannel() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            CharSequence name = "Article Notifications";
+            String description = "Notifications for article updates";
+            int importance = NotificationManager.IMPORTANCE_HIGH;
+
+            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, name, importance);
+            channel.setDescription(description);
+            notificationManager.createNotificationChannel(channel);
+        }
+    }
+}
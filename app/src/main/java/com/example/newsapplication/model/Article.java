@@ -1,5 +1,7 @@
 package com.example.newsapplication.model;
 
+import com.example.newsapplication.utils.DateUtils;
+
 import java.io.Serializable;
 import java.util.List;
 
@@ -13,6 +15,8 @@ public class Article implements Serializable {
     private String category;
     private String channelName;
     private String publishedAt;
+    // publishedAt (or date) parsed once, so binding a row doesn't parse it again
+    private long publishedAtMillis = DateUtils.UNKNOWN;
     private String imageUrl;
     private int imageResId;
     private String date;
@@ -39,6 +43,7 @@ public class Article implements Serializable {
         this.date = date;
         this.isVideo = isVideo;
         this.isBookmarked = false;
+        updatePublishedAtMillis();
     }
 
     // Getters and Setters
@@ -74,7 +79,10 @@ public class Article implements Serializable {
     public void setImageResId(int imageResId) { this.imageResId = imageResId; }
 
     public String getDate() { return date; }
-    public void setDate(String date) { this.date = date; }
+    public void setDate(String date) {
+        this.date = date;
+        updatePublishedAtMillis();
+    }
 
     public boolean isBookmarked() { return isBookmarked; }
     public void setBookmarked(boolean bookmarked) { isBookmarked = bookmarked; }
@@ -92,8 +100,21 @@ public class Article implements Serializable {
     public void setChannelName(String channelName) { this.channelName = channelName; }
 
     public String getPublishedAt() { return publishedAt; }
-    public void setPublishedAt(String publishedAt) { this.publishedAt = publishedAt; }
+    public void setPublishedAt(String publishedAt) {
+        this.publishedAt = publishedAt;
+        updatePublishedAtMillis();
+    }
+
+    // Epoch millis of publishedAt, falling back to date; DateUtils.UNKNOWN if neither parses
+    public long getPublishedAtMillis() { return publishedAtMillis; }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
-}
\ No newline at end of file
+
+    private void updatePublishedAtMillis() {
+        publishedAtMillis = DateUtils.parseIso(publishedAt);
+        if (publishedAtMillis == DateUtils.UNKNOWN) {
+            publishedAtMillis = DateUtils.parseIso(date);
+        }
+    }
+}
@@ -6,6 +6,7 @@ public class Category {
     private int id;
     private String name;
     private String slug;
+    private String description;
 
     public Category() {}
 
@@ -20,6 +21,7 @@ public class Category {
         category.id = json.optInt("id", 0);
         category.name = json.optString("name", "");
         category.slug = json.optString("slug", "");
+        category.description = json.optString("description", "");
         return category;
     }
 
@@ -31,4 +33,7 @@ public class Category {
 
     public String getSlug() { return slug; }
     public void setSlug(String slug) { this.slug = slug; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
 }
@@ -1,5 +1,7 @@
 package com.example.newsapplication.model;
 
+import com.example.newsapplication.utils.DateUtils;
+
 import org.json.JSONObject;
 
 // Represents a comment on an article
@@ -11,6 +13,7 @@ public class Comment {
     private String userAvatar;
     private String content;
     private String createdAt;
+    private long createdAtMillis = DateUtils.UNKNOWN;
     private String updatedAt;
 
     public Comment() {}
@@ -23,7 +26,7 @@ public class Comment {
         this.userName = userName;
         this.userAvatar = userAvatar;
         this.content = content;
-        this.createdAt = createdAt;
+        setCreatedAt(createdAt);
     }
 
     // Create a Comment from JSON response
@@ -34,7 +37,7 @@ public class Comment {
             comment.articleId = json.optString("article_id", "");
             comment.userId = json.optString("user_id", "");
             comment.content = json.optString("body", "");
-            comment.createdAt = json.optString("created_at", "");
+            comment.setCreatedAt(json.optString("created_at", ""));
             comment.updatedAt = json.optString("updated_at", "");
             
             JSONObject profileObj = json.optJSONObject("profile");
@@ -106,6 +109,11 @@ public class Comment {
 
     public void setCreatedAt(String createdAt) {
         this.createdAt = createdAt;
+        this.createdAtMillis = DateUtils.parseIso(createdAt);
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
     }
 
     public String getUpdatedAt() {
@@ -118,31 +126,13 @@ public class Comment {
 
     // Get a formatted time ago string
     public String getTimeAgo() {
-        if (createdAt == null || createdAt.isEmpty()) {
-            return "";
-        }
-        try {
-            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", java.util.Locale.US);
-            java.util.Date date = sdf.parse(createdAt.replace("Z", "").split("\\.")[0]);
-            if (date == null) return createdAt;
-            
-            long diff = System.currentTimeMillis() - date.getTime();
-            long seconds = diff / 1000;
-            long minutes = seconds / 60;
-            long hours = minutes / 60;
-            long days = hours / 24;
-            
-            if (days > 0) {
-                return days + (days == 1 ? " day ago" : " days ago");
-            } else if (hours > 0) {
-                return hours + (hours == 1 ? " hour ago" : " hours ago");
-            } else if (minutes > 0) {
-                return minutes + (minutes == 1 ? " minute ago" : " minutes ago");
-            } else {
-                return "Just now";
-            }
-        } catch (Exception e) {
-            return createdAt;
+        return getTimeAgo(System.currentTimeMillis());
+    }
+
+    public String getTimeAgo(long nowMillis) {
+        if (createdAtMillis == DateUtils.UNKNOWN) {
+            return createdAt != null ? createdAt : "";
         }
+        return DateUtils.getRelativeTime(createdAtMillis, nowMillis);
     }
 }
@@ -0,0 +1,227 @@
+package com.example.newsapplication.notifications;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.newsapplication.api.ApiClient;
+import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.endpoints.NotificationEndpoints;
+
+import org.json.JSONObject;
+
+import java.util.Random;
+
+/**
+ * Keeps the server's record of this device (FCM token plus user id, or guest) in sync.
+ *
+ * The pair the server last acknowledged is remembered, so a request for the same pair is a
+ * no-op. A different pair becomes the pending registration, which is sent after a short
+ * quiet period; requests arriving in the meantime (a login right after a token refresh)
+ * replace it, so only the latest pair is sent. Failed sends are retried with exponential
+ * backoff and jitter. The pending pair and its retry schedule live in SharedPreferences
+ * and are picked up again by {@link #resume()} after the process restarts.
+ *
+ * All state is touched on the main thread only.
+ */
+public class DeviceRegistration {
+    private static final String TAG = "DeviceRegistration";
+    private static final String PREFS_NAME = "DeviceRegistrationPrefs";
+    private static final String KEY_ACKED_TOKEN = "acked_token";
+    private static final String KEY_ACKED_USER = "acked_user";
+    private static final String KEY_PENDING_TOKEN = "pending_token";
+    private static final String KEY_PENDING_USER = "pending_user";
+    private static final String KEY_ATTEMPT = "attempt";
+    private static final String KEY_NEXT_ATTEMPT_AT = "next_attempt_at";
+    private static final String DEVICE_TYPE = "android";
+    // Stored in place of a null user id
+    private static final String GUEST = "";
+
+    static final long COLLAPSE_MS = 2000;
+    static final long BASE_BACKOFF_MS = 5000;
+    static final long MAX_BACKOFF_MS = 60L * 60 * 1000;
+
+    private static DeviceRegistration instance;
+
+    private final SharedPreferences prefs;
+    private final NotificationEndpoints endpoints;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable sendTask = this::send;
+    private final Random random = new Random();
+    private boolean sendScheduled;
+    private boolean inFlight;
+
+    public static synchronized DeviceRegistration getInstance(Context context) {
+        if (instance == null) {
+            instance = new DeviceRegistration(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private DeviceRegistration(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.endpoints = new NotificationEndpoints(new ApiClient(context));
+    }
+
+    /**
+     * Ask for this device to be registered as the given pair. A null token keeps the last
+     * known one, for callers that only know the user changed. Safe to call from any thread.
+     */
+    public void update(String token, String userId) {
+        mainHandler.post(() -> applyUpdate(token, userId == null ? GUEST : userId));
+    }
+
+    // Continue a registration left pending by an earlier process
+    public void resume() {
+        mainHandler.post(() -> {
+            if (getPendingToken() != null) {
+                long wait = prefs.getLong(KEY_NEXT_ATTEMPT_AT, 0) - System.currentTimeMillis();
+                scheduleSend(Math.max(0, wait));
+            }
+        });
+    }
+
+    // Last token this device registered or tried to register, or null
+    public String getKnownToken() {
+        String pending = getPendingToken();
+        return pending != null ? pending : prefs.getString(KEY_ACKED_TOKEN, null);
+    }
+
+    private void applyUpdate(String token, String user) {
+        if (token == null) {
+            token = getKnownToken();
+            if (token == null) {
+                return;
+            }
+        }
+
+        boolean acknowledged = token.equals(prefs.getString(KEY_ACKED_TOKEN, null))
+                && user.equals(prefs.getString(KEY_ACKED_USER, null));
+        if (acknowledged && !inFlight) {
+            // Also drops a change that was switched back before it was sent
+            clearPending();
+            cancelSend();
+            Log.d(TAG, "Device already registered, skipping");
+            return;
+        }
+        // While a different pair is in flight even the acknowledged one is queued, to restore it
+        if (token.equals(getPendingToken()) && user.equals(prefs.getString(KEY_PENDING_USER, null))) {
+            // Already queued; keep its backoff schedule
+            if (!sendScheduled && !inFlight) {
+                scheduleSend(Math.max(0, prefs.getLong(KEY_NEXT_ATTEMPT_AT, 0) - System.currentTimeMillis()));
+            }
+            return;
+        }
+
+        prefs.edit()
+                .putString(KEY_PENDING_TOKEN, token)
+                .putString(KEY_PENDING_USER, user)
+                .putInt(KEY_ATTEMPT, 0)
+                .putLong(KEY_NEXT_ATTEMPT_AT, System.currentTimeMillis() + COLLAPSE_MS)
+                .apply();
+        // Restart the quiet period so a burst of changes ends in one call
+        cancelSend();
+        if (!inFlight) {
+            scheduleSend(COLLAPSE_MS);
+        }
+    }
+
+    private void send() {
+        sendScheduled = false;
+        String token = getPendingToken();
+        String user = prefs.getString(KEY_PENDING_USER, GUEST);
+        if (token == null || inFlight) {
+            return;
+        }
+
+        inFlight = true;
+        endpoints.setToken(token, DEVICE_TYPE, GUEST.equals(user) ? null : user, new ApiClient.ApiCallback<JSONObject>() {
+            @Override
+            public void onSuccess(ApiResponse<JSONObject> response) {
+                inFlight = false;
+                Log.d(TAG, "Device registered" + (GUEST.equals(user) ? " as guest" : " for user " + user));
+                prefs.edit()
+                        .putString(KEY_ACKED_TOKEN, token)
+                        .putString(KEY_ACKED_USER, user)
+                        .apply();
+                if (isPending(token, user)) {
+                    clearPending();
+                } else if (getPendingToken() != null) {
+                    // Changed while this call was in flight
+                    scheduleSend(COLLAPSE_MS);
+                }
+            }
+
+            @Override
+            public void onError(ApiResponse<JSONObject> error) {
+                inFlight = false;
+                if (!isPending(token, user)) {
+                    if (getPendingToken() != null) {
+                        scheduleSend(COLLAPSE_MS);
+                    }
+                    return;
+                }
+                if (isPermanentFailure(error.getStatusCode())) {
+                    Log.e(TAG, "Device registration rejected: " + error.getErrorMessage());
+                    clearPending();
+                    return;
+                }
+                int attempt = prefs.getInt(KEY_ATTEMPT, 0) + 1;
+                long delay = backoffDelayMs(attempt, random.nextDouble());
+                prefs.edit()
+                        .putInt(KEY_ATTEMPT, attempt)
+                        .putLong(KEY_NEXT_ATTEMPT_AT, System.currentTimeMillis() + delay)
+                        .apply();
+                Log.w(TAG, "Device registration failed (attempt " + attempt + "), retrying in "
+                        + delay / 1000 + "s: " + error.getErrorMessage());
+                scheduleSend(delay);
+            }
+        });
+    }
+
+    private void scheduleSend(long delayMs) {
+        cancelSend();
+        sendScheduled = true;
+        mainHandler.postDelayed(sendTask, delayMs);
+    }
+
+    private void cancelSend() {
+        mainHandler.removeCallbacks(sendTask);
+        sendScheduled = false;
+    }
+
+    private String getPendingToken() {
+        return prefs.getString(KEY_PENDING_TOKEN, null);
+    }
+
+    private boolean isPending(String token, String user) {
+        return token.equals(getPendingToken()) && user.equals(prefs.getString(KEY_PENDING_USER, null));
+    }
+
+    private void clearPending() {
+        prefs.edit()
+                .remove(KEY_PENDING_TOKEN)
+                .remove(KEY_PENDING_USER)
+                .remove(KEY_ATTEMPT)
+                .remove(KEY_NEXT_ATTEMPT_AT)
+                .apply();
+    }
+
+    // Client errors other than timeouts and rate limiting will not succeed on retry
+    static boolean isPermanentFailure(int statusCode) {
+        return statusCode >= 400 && statusCode < 500 && statusCode != 408 && statusCode != 429;
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1-based): the exponential step, capped at
+     * {@link #MAX_BACKOFF_MS}, of which a random half is added back so that devices that
+     * failed together don't retry together.
+     */
+    static long backoffDelayMs(int attempt, double jitter) {
+        int shift = Math.min(Math.max(attempt, 1) - 1, 20);
+        long step = Math.min(BASE_BACKOFF_MS << shift, MAX_BACKOFF_MS);
+        return step / 2 + (long) (step / 2 * jitter);
+    }
+}
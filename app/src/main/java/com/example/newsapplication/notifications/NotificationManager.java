@@ -14,10 +14,12 @@ public class NotificationManager {
     private static NotificationManager instance;
     private final Context context;
     private final NotificationEndpoints notificationEndpoints;
+    private final DeviceRegistration registration;
 
     private NotificationManager(Context context) {
         this.context = context.getApplicationContext();
         this.notificationEndpoints = new NotificationEndpoints(new ApiClient(this.context));
+        this.registration = DeviceRegistration.getInstance(this.context);
     }
 
     public static synchronized NotificationManager getInstance(Context context) {
@@ -32,90 +34,49 @@ public class NotificationManager {
      */
     public void initialize() {
         Log.d(TAG, "Initializing notification system");
+        registration.resume();
 
-        // Get FCM token and register with server
+        // Registers only if the token or user changed since the last acknowledged registration
         FirebaseMessaging.getInstance().getToken()
                 .addOnCompleteListener(task -> {
                     if (!task.isSuccessful()) {
                         Log.w(TAG, "Fetching FCM registration token failed", task.getException());
                         return;
                     }
-
-                    // Get new FCM registration token
-                    String token = task.getResult();
-                    Log.d(TAG, "FCM Token: " + token);
-
-                    // Only register if token is new or user has changed
-                    if (!isTokenAlreadyRegistered(token) || hasUserChanged()) {
-                        registerTokenWithServer(token);
-                    } else {
-                        Log.d(TAG, "Token already registered, skipping");
-                    }
+                    registration.update(task.getResult(), getCurrentUserId());
                 });
     }
 
+    /**
+     * Call this when FCM issues a new token
+     */
+    public void onTokenRefreshed(String token) {
+        registration.update(token, getCurrentUserId());
+    }
+
     /**
      * Call this after user logs in to update token with user ID
      */
     public void onUserLoggedIn() {
+        String userId = getCurrentUserId();
+        if (registration.getKnownToken() != null) {
+            registration.update(null, userId);
+            return;
+        }
         FirebaseMessaging.getInstance().getToken()
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful() && task.getResult() != null) {
-                        String token = task.getResult();
-                        Log.d(TAG, "Updating token after login");
-                        updateTokenWithUser(token);
+                        registration.update(task.getResult(), userId);
                     }
                 });
     }
 
     /**
-     * Check if user has changed (guest -> logged in)
-     */
-    private boolean hasUserChanged() {
-        android.content.SharedPreferences prefs = context.getSharedPreferences("NotificationPrefs", Context.MODE_PRIVATE);
-        boolean wasLoggedIn = prefs.getBoolean("was_logged_in", false);
-        boolean isLoggedIn = new com.example.newsapplication.auth.UserSessionManager(context).isLoggedIn();
-
-        if (wasLoggedIn != isLoggedIn) {
-            prefs.edit().putBoolean("was_logged_in", isLoggedIn).apply();
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Register device token with your API
+     * Call this after the user logs out, to receive guest pushes only
      */
-    private void registerTokenWithServer(String token) {
-        // Get current user ID (null for guest users)
-        String userId = getCurrentUserId();
-
-        notificationEndpoints.setToken(token, "android", userId, new ApiClient.ApiCallback<JSONObject>() {
-            @Override
-            public void onSuccess(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                Log.d(TAG, "Device token set successfully" + (userId != null ? " with user ID: " + userId : " as guest"));
-                // Save token locally to avoid re-registering
-                saveTokenLocally(token);
-            }
-
-            @Override
-            public void onError(com.example.newsapplication.api.ApiResponse<JSONObject> error) {
-                Log.e(TAG, "Failed to set device token: " + error.getErrorMessage());
-                // Retry after delay if failed
-                retryTokenRegistration(token);
-            }
-        });
-    }
-
-    /**
-     * Retry token registration with delay
-     */
-    private void retryTokenRegistration(String token) {
-        // Retry after 5 seconds
-        new android.os.Handler().postDelayed(() -> {
-            Log.d(TAG, "Retrying token registration...");
-            registerTokenWithServer(token);
-        }, 5000);
+    public void onUserLoggedOut() {
+        // Keeps the known token; nothing to do if this device never got one
+        registration.update(null, null);
     }
 
     /**
@@ -129,37 +90,14 @@ public class NotificationManager {
      * Update token with user ID after login
      */
     public void updateTokenWithUser(String token) {
-        String userId = getCurrentUserId();
-
-        notificationEndpoints.setToken(token, "android", userId, new ApiClient.ApiCallback<JSONObject>() {
-            @Override
-            public void onSuccess(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                Log.d(TAG, "Token updated with user ID: " + userId);
-                saveTokenLocally(token);
-            }
-
-            @Override
-            public void onError(com.example.newsapplication.api.ApiResponse<JSONObject> error) {
-                Log.e(TAG, "Failed to update token with user ID: " + error.getErrorMessage());
-            }
-        });
+        registration.update(token, getCurrentUserId());
     }
 
     /**
      * Reset token to guest mode (user_id = null) after logout
      */
     public void resetTokenToGuest(String token) {
-        notificationEndpoints.setToken(token, "android", null, new ApiClient.ApiCallback<JSONObject>() {
-            @Override
-            public void onSuccess(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                Log.d(TAG, "Token reset to guest mode successfully");
-            }
-
-            @Override
-            public void onError(com.example.newsapplication.api.ApiResponse<JSONObject> error) {
-                Log.e(TAG, "Failed to reset token to guest mode: " + error.getErrorMessage());
-            }
-        });
+        registration.update(token, null);
     }
 
     /**
@@ -198,21 +136,4 @@ public class NotificationManager {
         prefs.edit().putString("user_uuid", userId).apply();
         Log.d(TAG, "Saved user ID: " + userId);
     }
-
-    /**
-     * Save token locally to avoid re-registering
-     */
-    private void saveTokenLocally(String token) {
-        android.content.SharedPreferences prefs = context.getSharedPreferences("NotificationPrefs", Context.MODE_PRIVATE);
-        prefs.edit().putString("last_registered_token", token).apply();
-    }
-
-    /**
-     * Check if token is already registered
-     */
-    private boolean isTokenAlreadyRegistered(String token) {
-        android.content.SharedPreferences prefs = context.getSharedPreferences("NotificationPrefs", Context.MODE_PRIVATE);
-        String lastToken = prefs.getString("last_registered_token", "");
-        return token.equals(lastToken);
-    }
-}
\ No newline at end of file
+}
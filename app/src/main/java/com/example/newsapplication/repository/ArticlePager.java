@@ -0,0 +1,239 @@
+package com.example.newsapplication.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.model.Article;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Page-by-page loader for article feeds backed by the page/limit endpoints.
+ *
+ * Pages are requested ahead of the user: once the visible range comes within
+ * {@code prefetchDistance} items of either edge of the loaded window, the neighbouring
+ * page is fetched. Only {@code maxPages} pages are held at a time; far-off pages are
+ * dropped and fetched again if the user scrolls back to them. Failed loads are retried
+ * automatically with a growing delay before the error is surfaced for a manual retry.
+ *
+ * All methods must be called on the main thread.
+ */
+public class ArticlePager {
+    private static final int MAX_AUTO_RETRIES = 2;
+    private static final long RETRY_BASE_DELAY_MS = 1000;
+
+    public enum State {
+        IDLE,
+        LOADING,
+        ERROR,
+        END_REACHED
+    }
+
+    public interface PageSource {
+        void loadPage(int page, int limit, NewsRepository.RepositoryCallback<List<Article>> callback);
+    }
+
+    public interface Listener {
+        void onItemsChanged(List<Article> items);
+
+        void onStateChanged(State state, String errorMessage);
+    }
+
+    private final PageSource source;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPages;
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final TreeMap<Integer, List<Article>> pages = new TreeMap<>();
+    private List<Article> items = new ArrayList<>();
+    private int lastPage = Integer.MAX_VALUE;
+    private int loadingPage = -1;
+    private int failedPage = -1;
+    private int retryCount;
+    private int generation;
+    private State state = State.IDLE;
+
+    public ArticlePager(PageSource source, int pageSize, int prefetchDistance, int maxPages, Listener listener) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPages = Math.max(2, maxPages);
+        this.listener = listener;
+    }
+
+    public static PageSource latestArticles(NewsRepository repository, Integer categoryId) {
+        return (page, limit, callback) -> repository.getArticlesList(page, limit, categoryId, callback);
+    }
+
+    public static PageSource categoryArticles(NewsRepository repository, int categoryId) {
+        return (page, limit, callback) -> repository.getCategoryArticlesList(categoryId, page, limit, callback);
+    }
+
+    public static PageSource channelArticles(NewsRepository repository, int channelId) {
+        return (page, limit, callback) -> repository.getChannelArticlesList(channelId, page, limit, callback);
+    }
+
+    // Drop everything and load the first page again
+    public void refresh() {
+        cancel();
+        boolean hadItems = !items.isEmpty();
+        pages.clear();
+        items = new ArrayList<>();
+        lastPage = Integer.MAX_VALUE;
+        if (hadItems) {
+            listener.onItemsChanged(items);
+        }
+        load(1);
+    }
+
+    // Ignore any in-flight or scheduled load, e.g. when the feed is no longer on screen
+    public void cancel() {
+        generation++;
+        handler.removeCallbacksAndMessages(null);
+        loadingPage = -1;
+        failedPage = -1;
+        retryCount = 0;
+        setState(isEndReached() ? State.END_REACHED : State.IDLE, null);
+    }
+
+    public void retry() {
+        if (failedPage < 0) {
+            return;
+        }
+        int page = failedPage;
+        failedPage = -1;
+        retryCount = 0;
+        load(page);
+    }
+
+    /**
+     * Report the adapter positions currently on screen. Loads the next or previous page
+     * when the visible range is close enough to the edge of the window.
+     */
+    public void onVisibleRangeChanged(int firstVisible, int lastVisible) {
+        if (loadingPage > 0 || failedPage > 0 || pages.isEmpty()) {
+            return;
+        }
+        if (lastVisible >= items.size() - 1 - prefetchDistance && pages.lastKey() < lastPage) {
+            load(pages.lastKey() + 1);
+        } else if (firstVisible <= prefetchDistance && pages.firstKey() > 1) {
+            load(pages.firstKey() - 1);
+        }
+    }
+
+    public List<Article> getItems() {
+        return items;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isEndReached() {
+        return !pages.isEmpty() && pages.lastKey() >= lastPage;
+    }
+
+    private void load(int page) {
+        int requestGeneration = generation;
+        loadingPage = page;
+        setState(State.LOADING, null);
+
+        source.loadPage(page, pageSize, response -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            if (response.isSuccess() && response.getData() != null) {
+                onPageLoaded(page, response.getData());
+            } else if (loadingPage == page) {
+                onPageFailed(page, response);
+            }
+        });
+    }
+
+    private void onPageLoaded(int page, List<Article> pageItems) {
+        boolean firstDelivery = loadingPage == page;
+        if (!firstDelivery && !pages.containsKey(page)) {
+            // A late refresh of a page that has since been evicted
+            return;
+        }
+        if (firstDelivery) {
+            loadingPage = -1;
+            retryCount = 0;
+        }
+
+        if (pageItems.size() < pageSize) {
+            lastPage = page;
+            // Anything after a short page is stale
+            while (!pages.isEmpty() && pages.lastKey() > page) {
+                pages.pollLastEntry();
+            }
+        } else if (lastPage == page) {
+            lastPage = Integer.MAX_VALUE;
+        }
+
+        pages.put(page, new ArrayList<>(pageItems));
+
+        // Evict from the side furthest away from the page that just arrived
+        while (pages.size() > maxPages) {
+            if (page > pages.firstKey()) {
+                pages.pollFirstEntry();
+            } else {
+                pages.pollLastEntry();
+            }
+        }
+
+        items = flatten();
+        listener.onItemsChanged(items);
+        if (loadingPage < 0) {
+            setState(isEndReached() ? State.END_REACHED : State.IDLE, null);
+        }
+    }
+
+    private void onPageFailed(int page, ApiResponse<List<Article>> error) {
+        if (retryCount < MAX_AUTO_RETRIES) {
+            long delay = RETRY_BASE_DELAY_MS << retryCount;
+            retryCount++;
+            int scheduledGeneration = generation;
+            handler.postDelayed(() -> {
+                if (scheduledGeneration == generation) {
+                    load(page);
+                }
+            }, delay);
+            return;
+        }
+        loadingPage = -1;
+        failedPage = page;
+        retryCount = 0;
+        setState(State.ERROR, error.getErrorMessage());
+    }
+
+    // Pages can overlap when new articles are published between requests; keep the first copy
+    private List<Article> flatten() {
+        List<Article> result = new ArrayList<>(pages.size() * pageSize);
+        Set<String> seenIds = new HashSet<>();
+        for (Map.Entry<Integer, List<Article>> entry : pages.entrySet()) {
+            for (Article article : entry.getValue()) {
+                String id = article.getId();
+                if (id == null || id.isEmpty() || seenIds.add(id)) {
+                    result.add(article);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void setState(State newState, String errorMessage) {
+        if (newState == state && errorMessage == null) {
+            return;
+        }
+        state = newState;
+        listener.onStateChanged(newState, errorMessage);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.newsapplication.repository;
+
+import com.example.newsapplication.model.Article;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide lookup of articles by id, so screens can pass an id in their Intent instead
+ * of the whole article.
+ *
+ * The most recently used articles are held strongly up to {@link #MAX_CHARS} of text.
+ * Articles pushed out of that window are still found while something else (a feed list,
+ * an open screen) keeps them alive. A miss, for example after the process was restarted,
+ * is left to the caller, which falls back to the local store and then the network.
+ */
+public class ArticleRegistry {
+    // Roughly 2MB of UTF-16 text
+    static final long MAX_CHARS = 1024 * 1024;
+    private static final long ARTICLE_OVERHEAD_CHARS = 256;
+
+    private static ArticleRegistry instance;
+
+    private final long maxChars;
+    private final LinkedHashMap<String, Article> recent = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, WeakReference<Article>> evicted = new HashMap<>();
+    private long chars;
+
+    public static synchronized ArticleRegistry getInstance() {
+        if (instance == null) {
+            instance = new ArticleRegistry(MAX_CHARS);
+        }
+        return instance;
+    }
+
+    ArticleRegistry(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    // Articles without an id are ignored; there is nothing to look them up by
+    public synchronized void put(Article article) {
+        String id = article != null ? article.getId() : null;
+        if (id == null || id.isEmpty()) {
+            return;
+        }
+        Article previous = recent.put(id, article);
+        if (previous != null) {
+            chars -= sizeOf(previous);
+        }
+        evicted.remove(id);
+        chars += sizeOf(article);
+        trim();
+    }
+
+    public synchronized Article get(String id) {
+        if (id == null) {
+            return null;
+        }
+        Article article = recent.get(id);
+        if (article != null) {
+            return article;
+        }
+        WeakReference<Article> ref = evicted.remove(id);
+        article = ref != null ? ref.get() : null;
+        if (article != null) {
+            // Used again, so it earns its place back in the strong window
+            put(article);
+        }
+        return article;
+    }
+
+    synchronized long size() {
+        return chars;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Article>> it = recent.entrySet().iterator();
+        // Always keep the newest entry, even when it alone is over the limit
+        while (chars > maxChars && recent.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Article> eldest = it.next();
+            it.remove();
+            chars -= sizeOf(eldest.getValue());
+            evicted.put(eldest.getKey(), new WeakReference<>(eldest.getValue()));
+        }
+        if (evicted.size() > 2 * recent.size() + 64) {
+            evicted.values().removeIf(ref -> ref.get() == null);
+        }
+    }
+
+    static long sizeOf(Article article) {
+        long size = ARTICLE_OVERHEAD_CHARS;
+        size += article.getTitle() != null ? article.getTitle().length() : 0;
+        size += article.getDescription() != null ? article.getDescription().length() : 0;
+        size += article.getContent() != null ? article.getContent().length() : 0;
+        return size;
+    }
+}
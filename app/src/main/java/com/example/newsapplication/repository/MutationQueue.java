@@ -0,0 +1,410 @@
+package com.example.newsapplication.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+
+import com.example.newsapplication.api.ApiClient;
+import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.endpoints.ArticleEndpoints;
+import com.example.newsapplication.api.endpoints.ChannelEndpoints;
+import com.example.newsapplication.auth.UserSessionManager;
+import com.example.newsapplication.database.ArticleStoreHelper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * User actions (bookmarks, follows, comments) that still have to reach the server.
+ *
+ * NewsRepository applies an action to the local store straight away and appends it here.
+ * The log is saved to SharedPreferences on every change, so actions survive process death.
+ * A toggle that undoes one still waiting (bookmark, then unbookmark) cancels it instead of
+ * adding a second request. Entries are replayed in order shortly after they are added and
+ * whenever a network becomes available; each carries an idempotency key that is sent with
+ * every attempt, so a request whose response was lost is not applied twice.
+ *
+ * An action the server rejects, or that is given up on after {@link #MAX_ATTEMPTS}, is
+ * undone in the local store and the user is told with a toast. A failed comment is also
+ * reported to the registered {@link Listener}s, so a screen can take down the comment it
+ * showed ahead of the server.
+ *
+ * All state is touched on the main thread only.
+ */
+public class MutationQueue {
+    private static final String TAG = "MutationQueue";
+    private static final String PREFS_NAME = "MutationQueuePrefs";
+    private static final String KEY_MUTATIONS = "mutations";
+
+    static final String BOOKMARK = "bookmark";
+    static final String UNBOOKMARK = "unbookmark";
+    static final String FOLLOW = "follow";
+    static final String UNFOLLOW = "unfollow";
+    static final String COMMENT = "comment";
+
+    // Lets a quick double tap cancel out before anything is sent
+    private static final long SEND_DELAY_MS = 1000;
+    private static final long BASE_RETRY_MS = 5000;
+    private static final long MAX_RETRY_MS = 5 * 60 * 1000;
+    // Server errors give up after this many attempts; connection failures never do
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static MutationQueue instance;
+
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final ArticleEndpoints articleEndpoints;
+    private final ChannelEndpoints channelEndpoints;
+    private final ArticleStoreHelper articleStore;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable sendTask = this::sendNext;
+    private final List<Mutation> queue = new ArrayList<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private boolean inFlight;
+
+    public interface Listener {
+        // commentKey is the value addComment returned for it
+        void onCommentFailed(String articleId, String commentKey, String content);
+    }
+
+    static class Mutation {
+        final String type;
+        final String target;
+        final String content;
+        final String userId;
+        final String idempotencyKey;
+        int attempts;
+
+        Mutation(String type, String target, String content, String userId, String idempotencyKey) {
+            this.type = type;
+            this.target = target;
+            this.content = content;
+            this.userId = userId;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        // Toggles of the same article or channel share a key; comments never do
+        String coalesceKey() {
+            switch (type) {
+                case BOOKMARK:
+                case UNBOOKMARK:
+                    return "bookmark:" + target;
+                case FOLLOW:
+                case UNFOLLOW:
+                    return "follow:" + target;
+                default:
+                    return null;
+            }
+        }
+
+        boolean undoes(Mutation other) {
+            return (BOOKMARK.equals(type) && UNBOOKMARK.equals(other.type))
+                    || (UNBOOKMARK.equals(type) && BOOKMARK.equals(other.type))
+                    || (FOLLOW.equals(type) && UNFOLLOW.equals(other.type))
+                    || (UNFOLLOW.equals(type) && FOLLOW.equals(other.type));
+        }
+    }
+
+    public static synchronized MutationQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new MutationQueue(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private MutationQueue(Context context) {
+        this.context = context;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        ApiClient apiClient = new ApiClient(context);
+        this.articleEndpoints = new ArticleEndpoints(apiClient);
+        this.channelEndpoints = new ChannelEndpoints(apiClient);
+        this.articleStore = ArticleStoreHelper.getInstance(context);
+        load();
+
+        ConnectivityManager connectivity = context.getSystemService(ConnectivityManager.class);
+        if (connectivity != null) {
+            // Called right away when already online, so a queue left by a previous process is sent too
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    mainHandler.post(() -> scheduleSend(0));
+                }
+            });
+        }
+    }
+
+    public void setBookmarked(String articleId, boolean bookmarked) {
+        add(bookmarked ? BOOKMARK : UNBOOKMARK, articleId, null);
+    }
+
+    public void setFollowing(int channelId, boolean following) {
+        add(following ? FOLLOW : UNFOLLOW, String.valueOf(channelId), null);
+    }
+
+    // Returns a key that identifies this comment to the Listener
+    public String addComment(String articleId, String content) {
+        return add(COMMENT, articleId, content);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // A copy of the server bookmark ids with the toggles not yet sent applied on top
+    public Set<String> applyToBookmarkedIds(Set<String> serverIds) {
+        Set<String> ids = new HashSet<>(serverIds);
+        for (Mutation mutation : queue) {
+            if (BOOKMARK.equals(mutation.type)) {
+                ids.add(mutation.target);
+            } else if (UNBOOKMARK.equals(mutation.type)) {
+                ids.remove(mutation.target);
+            }
+        }
+        return ids;
+    }
+
+    // Whether the last toggle still waiting for this article removes its bookmark
+    public boolean isUnbookmarkPending(String articleId) {
+        return UNBOOKMARK.equals(lastToggleType("bookmark:" + articleId));
+    }
+
+    public boolean isUnfollowPending(int channelId) {
+        return UNFOLLOW.equals(lastToggleType("follow:" + channelId));
+    }
+
+    private String lastToggleType(String key) {
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            if (key.equals(queue.get(i).coalesceKey())) {
+                return queue.get(i).type;
+            }
+        }
+        return null;
+    }
+
+    private String add(String type, String target, String content) {
+        String userId = new UserSessionManager(context).getUserId();
+        Mutation mutation = new Mutation(type, target, content, userId, UUID.randomUUID().toString());
+        if (!coalesce(queue, mutation, inFlight)) {
+            queue.add(mutation);
+        }
+        save();
+        scheduleSend(SEND_DELAY_MS);
+        return mutation.idempotencyKey;
+    }
+
+    /**
+     * Fold a new toggle into an equal or opposite one that is still waiting. The head of the
+     * queue is skipped while it is being sent. Returns false when the mutation must be appended.
+     */
+    static boolean coalesce(List<Mutation> queue, Mutation mutation, boolean headInFlight) {
+        String key = mutation.coalesceKey();
+        if (key == null) {
+            return false;
+        }
+        int first = headInFlight ? 1 : 0;
+        for (int i = queue.size() - 1; i >= first; i--) {
+            Mutation queued = queue.get(i);
+            if (!key.equals(queued.coalesceKey())) {
+                continue;
+            }
+            if (mutation.undoes(queued)) {
+                queue.remove(i);
+            }
+            // Either cancelled out or already queued
+            return true;
+        }
+        return false;
+    }
+
+    private void scheduleSend(long delayMs) {
+        mainHandler.removeCallbacks(sendTask);
+        mainHandler.postDelayed(sendTask, delayMs);
+    }
+
+    private void sendNext() {
+        if (inFlight || queue.isEmpty()) {
+            return;
+        }
+        Mutation mutation = queue.get(0);
+        if (!mutation.userId.equals(new UserSessionManager(context).getUserId())) {
+            // Queued by an account that has since logged out
+            Log.w(TAG, "Dropping " + mutation.type + " queued by another account");
+            finish(mutation);
+            return;
+        }
+
+        inFlight = true;
+        ApiClient.ApiCallback<JSONObject> callback = new ApiClient.ApiCallback<JSONObject>() {
+            @Override
+            public void onSuccess(ApiResponse<JSONObject> response) {
+                inFlight = false;
+                finish(mutation);
+            }
+
+            @Override
+            public void onError(ApiResponse<JSONObject> error) {
+                inFlight = false;
+                onSendFailed(mutation, error);
+            }
+        };
+        switch (mutation.type) {
+            case BOOKMARK:
+                articleEndpoints.bookmarkArticle(mutation.target, mutation.idempotencyKey, callback);
+                break;
+            case UNBOOKMARK:
+                articleEndpoints.removeBookmark(mutation.target, mutation.idempotencyKey, callback);
+                break;
+            case FOLLOW:
+                channelEndpoints.followChannel(Integer.parseInt(mutation.target), mutation.idempotencyKey, callback);
+                break;
+            case UNFOLLOW:
+                channelEndpoints.unfollowChannel(Integer.parseInt(mutation.target), mutation.idempotencyKey, callback);
+                break;
+            default:
+                articleEndpoints.addComment(mutation.target, mutation.content, mutation.idempotencyKey, callback);
+                break;
+        }
+    }
+
+    private void onSendFailed(Mutation mutation, ApiResponse<JSONObject> error) {
+        int status = error.getStatusCode();
+        if (status <= 0) {
+            // No connection; wait for the next network or retry slowly in case the callback is missed
+            scheduleSend(MAX_RETRY_MS);
+            return;
+        }
+        if (status >= 400 && status < 500 && status != 408 && status != 429) {
+            if (isAlreadyApplied(mutation, status)) {
+                finish(mutation);
+                return;
+            }
+            Log.w(TAG, mutation.type + " " + mutation.target + " rejected: " + error.getErrorMessage());
+            fail(mutation);
+            return;
+        }
+
+        mutation.attempts++;
+        if (mutation.attempts >= MAX_ATTEMPTS) {
+            Log.w(TAG, "Giving up on " + mutation.type + " " + mutation.target + ": " + error.getErrorMessage());
+            fail(mutation);
+            return;
+        }
+        save();
+        scheduleSend(Math.min(BASE_RETRY_MS << (mutation.attempts - 1), MAX_RETRY_MS));
+    }
+
+    // A duplicate bookmark (400, 409) or an already-removed one (404) is the state we wanted
+    static boolean isAlreadyApplied(Mutation mutation, int status) {
+        boolean bookmark = BOOKMARK.equals(mutation.type) || UNBOOKMARK.equals(mutation.type);
+        return bookmark && (status == 400 || status == 404 || status == 409);
+    }
+
+    // The action will never reach the server: undo it here and let the user know
+    private void fail(Mutation mutation) {
+        revert(mutation);
+        Toast.makeText(context, failureMessage(mutation.type), Toast.LENGTH_LONG).show();
+        if (COMMENT.equals(mutation.type)) {
+            for (Listener listener : new ArrayList<>(listeners)) {
+                listener.onCommentFailed(mutation.target, mutation.idempotencyKey, mutation.content);
+            }
+        }
+        finish(mutation);
+    }
+
+    private static String failureMessage(String type) {
+        switch (type) {
+            case BOOKMARK:
+                return "Could not save the bookmark";
+            case UNBOOKMARK:
+                return "Could not remove the bookmark";
+            case FOLLOW:
+                return "Could not follow the channel";
+            case UNFOLLOW:
+                return "Could not unfollow the channel";
+            default:
+                return "Your comment could not be posted";
+        }
+    }
+
+    private void finish(Mutation mutation) {
+        queue.remove(mutation);
+        save();
+        scheduleSend(0);
+    }
+
+    // Put the local store back the way the server still has it
+    private void revert(Mutation mutation) {
+        articleStore.getExecutor().execute(() -> {
+            switch (mutation.type) {
+                case BOOKMARK:
+                case UNBOOKMARK:
+                    articleStore.setBookmarked(mutation.target, UNBOOKMARK.equals(mutation.type));
+                    break;
+                case FOLLOW:
+                case UNFOLLOW:
+                    articleStore.setFollowing(Integer.parseInt(mutation.target), UNFOLLOW.equals(mutation.type));
+                    break;
+                default:
+                    break;
+            }
+        });
+    }
+
+    private void load() {
+        String json = prefs.getString(KEY_MUTATIONS, null);
+        if (json == null) {
+            return;
+        }
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject item = array.getJSONObject(i);
+                Mutation mutation = new Mutation(item.getString("type"), item.getString("target"),
+                        item.optString("content", null), item.getString("user_id"), item.getString("key"));
+                mutation.attempts = item.optInt("attempts", 0);
+                queue.add(mutation);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Dropping unreadable mutation queue", e);
+            queue.clear();
+        }
+    }
+
+    private void save() {
+        JSONArray array = new JSONArray();
+        try {
+            for (Mutation mutation : queue) {
+                JSONObject item = new JSONObject();
+                item.put("type", mutation.type);
+                item.put("target", mutation.target);
+                if (mutation.content != null) {
+                    item.put("content", mutation.content);
+                }
+                item.put("user_id", mutation.userId);
+                item.put("key", mutation.idempotencyKey);
+                item.put("attempts", mutation.attempts);
+                array.put(item);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Error saving mutation queue", e);
+            return;
+        }
+        prefs.edit().putString(KEY_MUTATIONS, array.toString()).apply();
+    }
+}
@@ -1,20 +1,42 @@
 package com.example.newsapplication.repository;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import com.example.newsapplication.api.ApiClient;
 import com.example.newsapplication.api.ApiResponse;
+import com.example.newsapplication.api.DomainDecoders;
 import com.example.newsapplication.api.endpoints.*;
+import com.example.newsapplication.database.ArticleStoreHelper;
+import com.example.newsapplication.model.Article;
+import com.example.newsapplication.model.Category;
+import com.example.newsapplication.model.Channel;
+import com.example.newsapplication.model.Comment;
+import com.example.newsapplication.model.User;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
 // Repository class that acts as a single source of truth for all data operations
 public class NewsRepository {
+    private static final String TAG = "NewsRepository";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final ApiClient apiClient;
     private final AuthEndpoints authEndpoints;
     private final ArticleEndpoints articleEndpoints;
     private final UserEndpoints userEndpoints;
     private final CategoryEndpoints categoryEndpoints;
     private final ChannelEndpoints channelEndpoints;
+    private final ArticleStoreHelper articleStore;
+    private final MutationQueue mutationQueue;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     public NewsRepository(Context context) {
         this.apiClient = new ApiClient(context);
@@ -23,6 +45,8 @@ public class NewsRepository {
         this.userEndpoints = new UserEndpoints(apiClient);
         this.categoryEndpoints = new CategoryEndpoints(apiClient);
         this.channelEndpoints = new ChannelEndpoints(apiClient);
+        this.articleStore = ArticleStoreHelper.getInstance(context);
+        this.mutationQueue = MutationQueue.getInstance(context);
     }
 
     // ==================== Auth ====================
@@ -61,14 +85,46 @@ public class NewsRepository {
         articleEndpoints.getArticles(page, limit, categoryId, wrapCallback(callback));
     }
 
+    // Typed variants decode on the network thread and hand back ready-made lists.
+    // Feed reads are served from the local store first and reconciled with the network.
+    public void getArticlesList(int page, int limit, Integer categoryId, RepositoryCallback<List<Article>> callback) {
+        String feedKey = categoryId == null ? ArticleStoreHelper.FEED_LATEST : ArticleStoreHelper.categoryFeed(categoryId);
+        loadFeedPage(feedKey, page, limit,
+            apiCallback -> articleEndpoints.getArticles(page, limit, categoryId, DomainDecoders.ARTICLES, apiCallback),
+            callback);
+    }
+
+    public void getArticlesList(RepositoryCallback<List<Article>> callback) {
+        loadFeedPage(ArticleStoreHelper.FEED_LATEST, 1, DEFAULT_PAGE_SIZE,
+            apiCallback -> articleEndpoints.getArticles(DomainDecoders.ARTICLES, apiCallback),
+            callback);
+    }
+
     public void getArticle(String articleId, RepositoryCallback<JSONObject> callback) {
         articleEndpoints.getArticle(articleId, wrapCallback(callback));
     }
 
+    // Fetch one article and keep it in the local store so it can later be opened without waiting
+    public void prefetchArticle(String articleId, RepositoryCallback<Article> callback) {
+        articleEndpoints.getArticle(articleId, DomainDecoders.ARTICLE,
+            wrapCallback(callback, article -> writeToStore(ArticleStoreHelper::savePushedArticle, article)));
+    }
+
+    // Article from the local store only; fails when it was never stored
+    public void getStoredArticle(String articleId, RepositoryCallback<Article> callback) {
+        readFromStore(store -> store.getArticle(articleId), stored -> callback.onResult(stored != null
+            ? ApiResponse.success(stored)
+            : ApiResponse.error("Article not stored", 404)));
+    }
+
     public void searchArticles(String query, int page, int limit, RepositoryCallback<JSONObject> callback) {
         articleEndpoints.searchArticles(query, page, limit, wrapCallback(callback));
     }
 
+    public void searchArticlesList(String query, int page, int limit, RepositoryCallback<List<Article>> callback) {
+        articleEndpoints.searchArticles(query, page, limit, DomainDecoders.ARTICLES, wrapCallback(callback));
+    }
+
     public void createArticle(String title, String summary, String content, int categoryId, 
                               Integer channelId, String sourceUrl, String heroImageUrl, 
                               String language, RepositoryCallback<JSONObject> callback) {
@@ -90,40 +146,79 @@ public class NewsRepository {
         articleEndpoints.getComments(articleId, wrapCallback(callback));
     }
 
-    public void addComment(String articleId, String content, RepositoryCallback<JSONObject> callback) {
-        articleEndpoints.addComment(articleId, content, wrapCallback(callback));
+    public void getCommentsList(String articleId, RepositoryCallback<List<Comment>> callback) {
+        articleEndpoints.getComments(articleId, DomainDecoders.COMMENTS, wrapCallback(callback));
     }
 
-    // ==================== Bookmarks ====================
-
-    public void bookmarkArticle(String articleId, RepositoryCallback<JSONObject> callback) {
-        articleEndpoints.bookmarkArticle(articleId, wrapCallback(callback));
+    // Queued; sent by the MutationQueue as soon as there is a connection. Returns the key its Listener reports failures with
+    public String addComment(String articleId, String content) {
+        return mutationQueue.addComment(articleId, content);
     }
 
-    public void removeBookmark(String articleId, RepositoryCallback<JSONObject> callback) {
-        articleEndpoints.removeBookmark(articleId, wrapCallback(callback));
+    // ==================== Bookmarks ====================
+
+    // Applied locally at once; the MutationQueue brings the server in line
+    public void setBookmarked(String articleId, boolean bookmarked) {
+        writeToStore(store -> store.setBookmarked(articleId, bookmarked));
+        mutationQueue.setBookmarked(articleId, bookmarked);
     }
 
     public void getBookmarks(RepositoryCallback<JSONObject> callback) {
         articleEndpoints.getBookmarks(wrapCallback(callback));
     }
 
+    public void getBookmarkedArticles(RepositoryCallback<List<Article>> callback) {
+        loadOfflineFirst(ArticleStoreHelper::getBookmarkedArticles,
+            apiCallback -> articleEndpoints.getBookmarks(DomainDecoders.BOOKMARKED_ARTICLES,
+                withPendingMutations(apiCallback, articles -> removeIf(articles, a -> mutationQueue.isUnbookmarkPending(a.getId())))),
+            ArticleStoreHelper::saveBookmarkedArticles,
+            callback);
+    }
+
+    public void getBookmarkedIds(RepositoryCallback<Set<String>> callback) {
+        loadOfflineFirst(ArticleStoreHelper::getBookmarkedIds,
+            apiCallback -> articleEndpoints.getBookmarks(DomainDecoders.BOOKMARKED_IDS,
+                withPendingMutations(apiCallback, mutationQueue::applyToBookmarkedIds)),
+            ArticleStoreHelper::saveBookmarkedIds,
+            callback);
+    }
+
     // ==================== Categories ====================
 
     public void getCategories(RepositoryCallback<JSONObject> callback) {
         categoryEndpoints.getCategories(wrapCallback(callback));
     }
 
+    public void getCategoriesList(RepositoryCallback<List<Category>> callback) {
+        loadOfflineFirst(ArticleStoreHelper::getCategories,
+            apiCallback -> categoryEndpoints.getCategories(DomainDecoders.CATEGORIES, apiCallback),
+            ArticleStoreHelper::saveCategories,
+            callback);
+    }
+
     public void getCategoryArticles(int categoryId, int page, int limit, RepositoryCallback<JSONObject> callback) {
         categoryEndpoints.getCategoryArticles(categoryId, page, limit, wrapCallback(callback));
     }
 
+    public void getCategoryArticlesList(int categoryId, int page, int limit, RepositoryCallback<List<Article>> callback) {
+        loadFeedPage(ArticleStoreHelper.categoryFeed(categoryId), page, limit,
+            apiCallback -> categoryEndpoints.getCategoryArticles(categoryId, page, limit, DomainDecoders.ARTICLES, apiCallback),
+            callback);
+    }
+
     // ==================== Channels ====================
 
     public void getPublicChannels(RepositoryCallback<JSONObject> callback) {
         channelEndpoints.getPublicChannels(wrapCallback(callback));
     }
 
+    public void getPublicChannelsList(RepositoryCallback<List<Channel>> callback) {
+        loadOfflineFirst(ArticleStoreHelper::getPublicChannels,
+            apiCallback -> channelEndpoints.getPublicChannels(DomainDecoders.CHANNELS, apiCallback),
+            ArticleStoreHelper::savePublicChannels,
+            callback);
+    }
+
     public void getAllChannels(RepositoryCallback<JSONObject> callback) {
         channelEndpoints.getAllChannels(wrapCallback(callback));
     }
@@ -132,18 +227,30 @@ public class NewsRepository {
         channelEndpoints.getFollowedChannels(wrapCallback(callback));
     }
 
-    public void followChannel(int channelId, RepositoryCallback<JSONObject> callback) {
-        channelEndpoints.followChannel(channelId, wrapCallback(callback));
+    public void getFollowedChannelsList(RepositoryCallback<List<Channel>> callback) {
+        loadOfflineFirst(ArticleStoreHelper::getFollowedChannels,
+            apiCallback -> channelEndpoints.getFollowedChannels(DomainDecoders.CHANNELS,
+                withPendingMutations(apiCallback, channels -> removeIf(channels, c -> mutationQueue.isUnfollowPending(c.getId())))),
+            ArticleStoreHelper::saveFollowedChannels,
+            callback);
     }
 
-    public void unfollowChannel(int channelId, RepositoryCallback<JSONObject> callback) {
-        channelEndpoints.unfollowChannel(channelId, wrapCallback(callback));
+    // Applied locally at once; the MutationQueue brings the server in line
+    public void setFollowing(int channelId, boolean following) {
+        writeToStore(store -> store.setFollowing(channelId, following));
+        mutationQueue.setFollowing(channelId, following);
     }
 
     public void getChannelArticles(int channelId, int page, int limit, RepositoryCallback<JSONObject> callback) {
         channelEndpoints.getChannelArticles(channelId, page, limit, wrapCallback(callback));
     }
 
+    public void getChannelArticlesList(int channelId, int page, int limit, RepositoryCallback<List<Article>> callback) {
+        loadFeedPage(ArticleStoreHelper.channelFeed(channelId), page, limit,
+            apiCallback -> channelEndpoints.getChannelArticles(channelId, page, limit, DomainDecoders.ARTICLES, apiCallback),
+            callback);
+    }
+
 
 
     // ==================== User Profile ====================
@@ -214,22 +321,205 @@ public class NewsRepository {
         channelEndpoints.deleteChannel(channelId, wrapCallback(callback));
     }
 
+    // ==================== Local Store ====================
+
+    // The first page of a feed is shown from disk immediately; later pages fall back to disk offline
+    private void loadFeedPage(String feed, int page, int limit, NetworkFetch<List<Article>> fetch,
+                              RepositoryCallback<List<Article>> callback) {
+        String feedKey = ArticleStoreHelper.pagedFeed(feed, limit);
+        LocalRead<List<Article>> localRead = store -> store.getFeedPage(feedKey, page, limit);
+        LocalWrite<List<Article>> localWrite = (store, articles) -> store.saveFeedPage(feedKey, page, limit, articles);
+        if (page <= 1) {
+            loadOfflineFirst(localRead, fetch, localWrite, callback);
+        } else {
+            loadWithFallback(localRead, fetch, localWrite, callback);
+        }
+    }
+
+    /**
+     * Deliver the stored copy first, then the network result, writing it through to the store.
+     * The callback may therefore fire twice. A network error is only reported when there was
+     * nothing stored to show. All state is touched on the main thread.
+     */
+    private <T> void loadOfflineFirst(LocalRead<T> localRead, NetworkFetch<T> fetch, LocalWrite<T> localWrite,
+                                      RepositoryCallback<T> callback) {
+        OfflineFirstState<T> state = new OfflineFirstState<>();
+
+        readFromStore(localRead, stored -> {
+            state.localDone = true;
+            if (state.networkSucceeded) {
+                return;
+            }
+            if (hasData(stored)) {
+                state.localDelivered = true;
+                callback.onResult(ApiResponse.success(stored));
+            } else if (state.pendingError != null) {
+                callback.onResult(state.pendingError);
+            }
+        });
+
+        fetch.fetch(new ApiClient.ApiCallback<T>() {
+            @Override
+            public void onSuccess(ApiResponse<T> response) {
+                state.networkSucceeded = true;
+                callback.onResult(response);
+                writeToStore(localWrite, response.getData());
+            }
+
+            @Override
+            public void onError(ApiResponse<T> error) {
+                if (state.localDelivered || state.networkSucceeded) {
+                    Log.d(TAG, "Network refresh failed, keeping stored data: " + error.getMessage());
+                } else if (state.localDone) {
+                    callback.onResult(error);
+                } else {
+                    state.pendingError = error;
+                }
+            }
+        });
+    }
+
+    // Network first; the stored copy is only used when the request fails
+    private <T> void loadWithFallback(LocalRead<T> localRead, NetworkFetch<T> fetch, LocalWrite<T> localWrite,
+                                      RepositoryCallback<T> callback) {
+        fetch.fetch(new ApiClient.ApiCallback<T>() {
+            @Override
+            public void onSuccess(ApiResponse<T> response) {
+                callback.onResult(response);
+                writeToStore(localWrite, response.getData());
+            }
+
+            @Override
+            public void onError(ApiResponse<T> error) {
+                readFromStore(localRead, stored -> callback.onResult(hasData(stored) ? ApiResponse.success(stored) : error));
+            }
+        });
+    }
+
+    private <T> void readFromStore(LocalRead<T> localRead, StoreResult<T> result) {
+        articleStore.getExecutor().execute(() -> {
+            T stored = null;
+            try {
+                stored = localRead.read(articleStore);
+            } catch (Exception e) {
+                Log.w(TAG, "Local store read failed", e);
+            }
+            T finalStored = stored;
+            mainHandler.post(() -> result.onResult(finalStored));
+        });
+    }
+
+    private <T> void writeToStore(LocalWrite<T> localWrite, T data) {
+        if (data == null) {
+            return;
+        }
+        articleStore.getExecutor().execute(() -> {
+            try {
+                localWrite.write(articleStore, data);
+            } catch (Exception e) {
+                Log.w(TAG, "Local store write failed", e);
+            }
+        });
+    }
+
+    private void writeToStore(StoreUpdate update) {
+        articleStore.getExecutor().execute(() -> {
+            try {
+                update.apply(articleStore);
+            } catch (Exception e) {
+                Log.w(TAG, "Local store update failed", e);
+            }
+        });
+    }
+
+    private static boolean hasData(Object data) {
+        if (data instanceof Collection) {
+            return !((Collection<?>) data).isEmpty();
+        }
+        return data != null;
+    }
+
+    private interface LocalRead<T> {
+        T read(ArticleStoreHelper store);
+    }
+
+    private interface LocalWrite<T> {
+        void write(ArticleStoreHelper store, T data);
+    }
+
+    private interface StoreUpdate {
+        void apply(ArticleStoreHelper store);
+    }
+
+    private interface StoreResult<T> {
+        void onResult(T stored);
+    }
+
+    private interface NetworkFetch<T> {
+        void fetch(ApiClient.ApiCallback<T> callback);
+    }
+
+    private static class OfflineFirstState<T> {
+        boolean localDone;
+        boolean localDelivered;
+        boolean networkSucceeded;
+        ApiResponse<T> pendingError;
+    }
+
     // ==================== Helper Methods ====================
 
-    private ApiClient.ApiCallback<JSONObject> wrapCallback(RepositoryCallback<JSONObject> callback) {
-        return new ApiClient.ApiCallback<JSONObject>() {
+    private <T> ApiClient.ApiCallback<T> wrapCallback(RepositoryCallback<T> callback) {
+        return wrapCallback(callback, null);
+    }
+
+    private <T> ApiClient.ApiCallback<T> wrapCallback(RepositoryCallback<T> callback, SuccessHook<T> onSuccess) {
+        return new ApiClient.ApiCallback<T>() {
             @Override
-            public void onSuccess(ApiResponse<JSONObject> response) {
+            public void onSuccess(ApiResponse<T> response) {
+                if (onSuccess != null) {
+                    onSuccess.onSuccess(response.getData());
+                }
                 callback.onResult(response);
             }
 
             @Override
-            public void onError(ApiResponse<JSONObject> error) {
+            public void onError(ApiResponse<T> error) {
                 callback.onResult(error);
             }
         };
     }
 
+    // Server lists don't know about actions still queued; apply those before anyone sees the data.
+    // The overlay must return a copy: a coalesced response is shared by every joined caller.
+    private <T> ApiClient.ApiCallback<T> withPendingMutations(ApiClient.ApiCallback<T> callback, PendingOverlay<T> overlay) {
+        return new ApiClient.ApiCallback<T>() {
+            @Override
+            public void onSuccess(ApiResponse<T> response) {
+                T data = response.getData();
+                callback.onSuccess(ApiResponse.success(data != null ? overlay.apply(data) : null));
+            }
+
+            @Override
+            public void onError(ApiResponse<T> error) {
+                callback.onError(error);
+            }
+        };
+    }
+
+    private static <E> List<E> removeIf(List<E> items, Predicate<E> pending) {
+        List<E> kept = new ArrayList<>(items);
+        kept.removeIf(pending);
+        return kept;
+    }
+
+    private interface PendingOverlay<T> {
+        T apply(T data);
+    }
+
+    private interface SuccessHook<T> {
+        void onSuccess(T data);
+    }
+
     public interface RepositoryCallback<T> {
         void onResult(ApiResponse<T> response);
     }
@@ -0,0 +1,129 @@
+package com.example.newsapplication.ui;
+
+import android.content.ActivityNotFoundException;
+import android.content.Intent;
+import android.graphics.Color;
+import android.webkit.RenderProcessGoneDetail;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import com.example.newsapplication.utils.ArticleHtml;
+
+import org.json.JSONObject;
+
+/**
+ * Shows article bodies in a WebView that loads the page template only once.
+ *
+ * The template (assets/article/template.html) links its stylesheet and template.js as local
+ * assets. The script exposes setBody and setFontSize, so showing an article is one script
+ * call and a font size change only updates a CSS variable: neither reloads the page. The
+ * template's Content Security Policy allows no script but template.js, so markup that gets
+ * past {@link ArticleHtml} still cannot run any. Calls made before the
+ * template has finished loading are held back and the latest of each is applied then.
+ * Renderers are reused across screens through {@link ArticleWebViewPool}.
+ */
+public class ArticleHtmlRenderer {
+    static final String TEMPLATE_URL = "file:///android_asset/article/template.html";
+
+    private final WebView webView;
+    private boolean templateReady;
+    private boolean renderProcessGone;
+    private String pendingBody;
+    private float fontSize;
+
+    ArticleHtmlRenderer(WebView webView, float fontSize) {
+        this.webView = webView;
+        this.fontSize = fontSize;
+
+        WebSettings settings = webView.getSettings();
+        // Needed for template.js; its CSP keeps article markup from running script, and no bridge is exposed
+        settings.setJavaScriptEnabled(true);
+        settings.setAllowFileAccess(false);
+        settings.setAllowContentAccess(false);
+        settings.setLoadWithOverviewMode(true);
+        settings.setUseWideViewPort(true);
+        webView.setBackgroundColor(Color.TRANSPARENT);
+
+        webView.setWebViewClient(new WebViewClient() {
+            @Override
+            public void onPageFinished(WebView view, String url) {
+                if (!TEMPLATE_URL.equals(url)) {
+                    return;
+                }
+                templateReady = true;
+                applyFontSize();
+                if (pendingBody != null) {
+                    applyBody(pendingBody);
+                    pendingBody = null;
+                }
+            }
+
+            @Override
+            public boolean shouldOverrideUrlLoading(WebView view, WebResourceRequest request) {
+                // Links open in the browser so the template page stays loaded
+                try {
+                    view.getContext().startActivity(new Intent(Intent.ACTION_VIEW, request.getUrl())
+                            .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK));
+                } catch (ActivityNotFoundException e) {
+                    // Nothing can open it; stay on the article
+                }
+                return true;
+            }
+
+            @Override
+            public boolean onRenderProcessGone(WebView view, RenderProcessGoneDetail detail) {
+                // The view can only be destroyed now; the pool drops it instead of reusing it
+                renderProcessGone = true;
+                return true;
+            }
+        });
+        webView.loadUrl(TEMPLATE_URL);
+    }
+
+    public WebView getWebView() {
+        return webView;
+    }
+
+    boolean isUsable() {
+        return !renderProcessGone;
+    }
+
+    // Clear the previous article before the view goes back to the pool
+    void reset() {
+        pendingBody = null;
+        if (templateReady) {
+            applyBody("");
+        }
+        webView.clearHistory();
+    }
+
+    public void showArticle(String articleId, String html) {
+        String body = ArticleHtml.sanitized(articleId, html);
+        if (templateReady) {
+            applyBody(body);
+        } else {
+            pendingBody = body;
+        }
+    }
+
+    public void setFontSize(float fontSize) {
+        if (this.fontSize == fontSize) {
+            return;
+        }
+        this.fontSize = fontSize;
+        if (templateReady) {
+            applyFontSize();
+        }
+    }
+
+    private void applyBody(String body) {
+        // quote() yields a valid script string literal, including escaping "</script>"
+        webView.evaluateJavascript("setBody(" + JSONObject.quote(body) + ")", null);
+    }
+
+    private void applyFontSize() {
+        webView.evaluateJavascript("setFontSize(" + (int) fontSize + ")", null);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.newsapplication.ui;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.webkit.WebView;
+
+import com.example.newsapplication.utils.FontSizeManager;
+
+import java.util.ArrayDeque;
+
+/**
+ * Ready-made article WebViews for ArticleDetailActivity.
+ *
+ * The first WebView in a process pays for starting Chromium, and every new one is
+ * configured and loads the article template before it can show anything. The pool creates
+ * one while the main thread is idle after the first activity has started, so opening an
+ * article only attaches a view whose template is already loaded. Processes started only
+ * for a push, a job or audio playback never show an activity and never pay for a WebView.
+ *
+ * Views are created on a MutableContextWrapper: it points at the activity while in use and
+ * at the application while pooled, so a pooled view never holds on to a destroyed activity.
+ *
+ * Released views are reset and kept up to {@link #MAX_IDLE}. The idle views are destroyed
+ * under memory pressure and are not replaced until the pressure has passed.
+ *
+ * Main thread only.
+ */
+public class ArticleWebViewPool {
+    private static final String TAG = "ArticleWebViewPool";
+    // Views kept ready while none is in use; low-RAM devices only reuse released ones
+    private static final int WARM_COUNT = 1;
+    private static final int MAX_IDLE = 2;
+    // No new views are warmed for this long after a memory trim
+    private static final long TRIM_BACKOFF_MS = 60 * 1000;
+
+    private static final ArrayDeque<ArticleHtmlRenderer> idle = new ArrayDeque<>();
+    private static Context appContext;
+    private static boolean lowRam;
+    private static boolean warmUpScheduled;
+    private static long trimmedAt = -TRIM_BACKOFF_MS;
+
+    private ArticleWebViewPool() {
+    }
+
+    public static void install(Application application) {
+        if (appContext != null) {
+            return;
+        }
+        appContext = application;
+        ActivityManager am = (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+        lowRam = am != null && am.isLowRamDevice();
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityStarted(Activity activity) {
+                // Only the first start matters; acquire() keeps the pool topped up after that
+                application.unregisterActivityLifecycleCallbacks(this);
+                scheduleWarmUp();
+            }
+
+            @Override
+            public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityResumed(Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+            }
+
+            @Override
+            public void onActivityDestroyed(Activity activity) {
+            }
+        });
+    }
+
+    /**
+     * A renderer whose WebView is not attached to any parent and uses the given activity as
+     * its context. Hand it back with {@link #release} when the activity is destroyed.
+     */
+    public static ArticleHtmlRenderer acquire(Activity activity, float fontSize) {
+        ArticleHtmlRenderer renderer = null;
+        while (renderer == null && !idle.isEmpty()) {
+            renderer = idle.poll();
+            if (!renderer.isUsable()) {
+                renderer.getWebView().destroy();
+                renderer = null;
+            }
+        }
+        if (renderer == null) {
+            Log.d(TAG, "Pool empty, creating a WebView on demand");
+            renderer = create(activity.getApplicationContext(), fontSize);
+        }
+        ((MutableContextWrapper) renderer.getWebView().getContext()).setBaseContext(activity);
+        renderer.setFontSize(fontSize);
+        // Have the next one ready for an article opened from this one
+        scheduleWarmUp();
+        return renderer;
+    }
+
+    public static void release(ArticleHtmlRenderer renderer) {
+        WebView webView = renderer.getWebView();
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(webView.getContext().getApplicationContext());
+
+        if (!renderer.isUsable() || idle.size() >= MAX_IDLE || underMemoryPressure()) {
+            webView.destroy();
+            return;
+        }
+        renderer.reset();
+        idle.push(renderer);
+    }
+
+    public static void onTrimMemory(int level) {
+        // Same rule as the image cache: keep warm views when the UI is merely hidden
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                && level != ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            trimmedAt = SystemClock.elapsedRealtime();
+            while (!idle.isEmpty()) {
+                idle.poll().getWebView().destroy();
+            }
+        }
+    }
+
+    // Creates at most one view per idle pass, so startup frames are never held up
+    private static void scheduleWarmUp() {
+        if (warmUpScheduled || appContext == null || lowRam) {
+            return;
+        }
+        warmUpScheduled = true;
+        Looper.getMainLooper().getQueue().addIdleHandler(() -> {
+            if (idle.size() >= WARM_COUNT || underMemoryPressure()) {
+                warmUpScheduled = false;
+                return false;
+            }
+            idle.push(create(appContext, new FontSizeManager(appContext).getFontSize()));
+            warmUpScheduled = idle.size() < WARM_COUNT;
+            return warmUpScheduled;
+        });
+    }
+
+    private static ArticleHtmlRenderer create(Context context, float fontSize) {
+        return new ArticleHtmlRenderer(new WebView(new MutableContextWrapper(context)), fontSize);
+    }
+
+    private static boolean underMemoryPressure() {
+        return SystemClock.elapsedRealtime() - trimmedAt < TRIM_BACKOFF_MS;
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.newsapplication.ui.dashboard;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -35,11 +34,10 @@ import com.example.newsapplication.adapter.NewsAdapter;
 import com.example.newsapplication.auth.UserSessionManager;
 import com.example.newsapplication.databinding.FragmentDashboardBinding;
 import com.example.newsapplication.model.Article;
+import com.example.newsapplication.model.Category;
 import com.example.newsapplication.model.Channel;
 import com.example.newsapplication.repository.NewsRepository;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -316,39 +314,16 @@ public class DashboardFragment extends Fragment {
 
         if (selectedChannel == null) return;
 
-        boolean isFollowing = selectedChannel.isFollowing();
-        
-        if (isFollowing) {
-            // Unfollow
-            newsRepository.unfollowChannel(selectedChannel.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (response.isSuccess()) {
-                        selectedChannel.setFollowing(false);
-                        followedChannelIds.remove(selectedChannel.getId());
-                        updateFollowButton(false);
-                        Toast.makeText(getContext(), "Unfollowed " + selectedChannel.getName(), Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-            });
+        boolean following = !selectedChannel.isFollowing();
+        newsRepository.setFollowing(selectedChannel.getId(), following);
+        selectedChannel.setFollowing(following);
+        if (following) {
+            followedChannelIds.add(selectedChannel.getId());
         } else {
-            // Follow
-            newsRepository.followChannel(selectedChannel.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (response.isSuccess()) {
-                        selectedChannel.setFollowing(true);
-                        followedChannelIds.add(selectedChannel.getId());
-                        updateFollowButton(true);
-                        Toast.makeText(getContext(), "Following " + selectedChannel.getName(), Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-            });
+            followedChannelIds.remove(selectedChannel.getId());
         }
+        updateFollowButton(following);
+        Toast.makeText(getContext(), (following ? "Following " : "Unfollowed ") + selectedChannel.getName(), Toast.LENGTH_SHORT).show();
     }
 
     private void updateFollowButton(boolean isFollowing) {
@@ -362,54 +337,30 @@ public class DashboardFragment extends Fragment {
     }
 
     private void loadFollowedChannelsThenLoadAll() {
-        newsRepository.getFollowedChannels(new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getFollowedChannelsList(new NewsRepository.RepositoryCallback<List<Channel>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Channel>> response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    parseFollowedChannelIds(response.getData());
+                    setFollowedChannelIds(response.getData());
                 }
                 loadChannels();
             }
         });
     }
 
-    private void parseFollowedChannelIds(JSONObject data) {
+    private void setFollowedChannelIds(List<Channel> followedChannels) {
         followedChannelIds.clear();
-        try {
-            JSONArray channelsArray = null;
-            if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONObject) {
-                    JSONObject dataJson = (JSONObject) dataObj;
-                    if (dataJson.has("channels")) {
-                        channelsArray = dataJson.getJSONArray("channels");
-                    }
-                } else if (dataObj instanceof JSONArray) {
-                    channelsArray = (JSONArray) dataObj;
-                }
-            } else if (data.has("channels")) {
-                channelsArray = data.getJSONArray("channels");
-            }
-            
-            if (channelsArray != null) {
-                for (int i = 0; i < channelsArray.length(); i++) {
-                    JSONObject channelJson = channelsArray.getJSONObject(i);
-                    int id = channelJson.optInt("id", -1);
-                    if (id != -1) {
-                        followedChannelIds.add(id);
-                    }
-                }
-            }
-        } catch (Exception e) {
+        for (Channel channel : followedChannels) {
+            followedChannelIds.add(channel.getId());
         }
     }
 
     private void loadCategories() {
-        newsRepository.getCategories(new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getCategoriesList(new NewsRepository.RepositoryCallback<List<Category>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Category>> response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    parseCategories(response.getData());
+                    showCategories(response.getData());
                 } else {
                     loadDefaultCategories();
                 }
@@ -417,37 +368,14 @@ public class DashboardFragment extends Fragment {
         });
     }
 
-    private void parseCategories(JSONObject data) {
+    private void showCategories(List<Category> loadedCategories) {
         categories.clear();
-        try {
-            JSONArray categoriesArray = null;
-            if (data.has("categories")) {
-                categoriesArray = data.getJSONArray("categories");
-            } else if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONArray) {
-                    categoriesArray = (JSONArray) dataObj;
-                } else if (dataObj instanceof JSONObject) {
-                    JSONObject dataJson = (JSONObject) dataObj;
-                    if (dataJson.has("categories")) {
-                        categoriesArray = dataJson.getJSONArray("categories");
-                    }
-                }
-            } else if (data.has("results")) {
-                categoriesArray = data.getJSONArray("results");
-            }
-            
-            if (categoriesArray != null) {
-                for (int i = 0; i < categoriesArray.length(); i++) {
-                    JSONObject catJson = categoriesArray.getJSONObject(i);
-                    int id = catJson.optInt("id", i);
-                    String name = catJson.optString("name", "Category " + i);
-                    String slug = catJson.optString("slug", name.toLowerCase());
-                    String description = catJson.optString("description", "");
-                    categories.add(new CategoryListAdapter.Category(id, name, slug, description));
-                }
-            }
-        } catch (Exception e) {
+        for (int i = 0; i < loadedCategories.size(); i++) {
+            Category category = loadedCategories.get(i);
+            String name = category.getName() == null || category.getName().isEmpty() ? "Category " + i : category.getName();
+            String slug = category.getSlug() == null || category.getSlug().isEmpty() ? name.toLowerCase() : category.getSlug();
+            String description = category.getDescription() != null ? category.getDescription() : "";
+            categories.add(new CategoryListAdapter.Category(category.getId(), name, slug, description));
         }
         
         if (categories.isEmpty()) {
@@ -469,47 +397,23 @@ public class DashboardFragment extends Fragment {
     }
 
     private void loadChannels() {
-        newsRepository.getPublicChannels(new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getPublicChannelsList(new NewsRepository.RepositoryCallback<List<Channel>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Channel>> response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    parseChannels(response.getData());
+                    showChannels(response.getData());
                 }
             }
         });
     }
 
-    private void parseChannels(JSONObject data) {
+    private void showChannels(List<Channel> publicChannels) {
         channels.clear();
-        try {
-            JSONArray channelsArray = null;
-            if (data.has("channels")) {
-                channelsArray = data.getJSONArray("channels");
-            } else if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONArray) {
-                    channelsArray = (JSONArray) dataObj;
-                } else if (dataObj instanceof JSONObject) {
-                    JSONObject dataJson = (JSONObject) dataObj;
-                    if (dataJson.has("channels")) {
-                        channelsArray = dataJson.getJSONArray("channels");
-                    }
-                }
-            } else if (data.has("results")) {
-                channelsArray = data.getJSONArray("results");
-            }
-            
-            if (channelsArray != null) {
-                for (int i = 0; i < channelsArray.length(); i++) {
-                    JSONObject channelJson = channelsArray.getJSONObject(i);
-                    Channel channel = Channel.fromJson(channelJson);
-                    if (followedChannelIds.contains(channel.getId())) {
-                        channel.setFollowing(true);
-                    }
-                    channels.add(channel);
-                }
+        for (Channel channel : publicChannels) {
+            if (followedChannelIds.contains(channel.getId())) {
+                channel.setFollowing(true);
             }
-        } catch (Exception e) {
+            channels.add(channel);
         }
         
         channelChipAdapter.setChannels(channels);
@@ -528,12 +432,12 @@ public class DashboardFragment extends Fragment {
         filteredArticlesTitle.setText(categoryName);
         showArticlesLoading();
         
-        newsRepository.getCategoryArticles(categoryId, 1, 20, new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getCategoryArticlesList(categoryId, 1, 20, new NewsRepository.RepositoryCallback<List<Article>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                 hideArticlesLoading();
                 if (response.isSuccess() && response.getData() != null) {
-                    parseArticles(response.getData(), filteredArticles, filteredArticlesAdapter);
+                    showArticles(response.getData(), filteredArticles, filteredArticlesAdapter);
                     if (filteredArticles.isEmpty()) {
                         showNoArticles();
                     } else {
@@ -560,12 +464,12 @@ public class DashboardFragment extends Fragment {
         filteredArticlesTitle.setText(channel.getName());
         showArticlesLoading();
         
-        newsRepository.getChannelArticles(channel.getId(), 1, 20, new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getChannelArticlesList(channel.getId(), 1, 20, new NewsRepository.RepositoryCallback<List<Article>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                 hideArticlesLoading();
                 if (response.isSuccess() && response.getData() != null) {
-                    parseArticles(response.getData(), filteredArticles, filteredArticlesAdapter);
+                    showArticles(response.getData(), filteredArticles, filteredArticlesAdapter);
                     if (filteredArticles.isEmpty()) {
                         showNoArticles();
                     } else {
@@ -587,12 +491,12 @@ public class DashboardFragment extends Fragment {
         searchResultsTitle.setText("Results for \"" + query + "\"");
         showSearchLoading();
         
-        newsRepository.searchArticles(query, 1, 20, new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.searchArticlesList(query, 1, 20, new NewsRepository.RepositoryCallback<List<Article>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                 hideSearchLoading();
                 if (response.isSuccess() && response.getData() != null) {
-                    parseArticles(response.getData(), searchResults, searchResultsAdapter);
+                    showArticles(response.getData(), searchResults, searchResultsAdapter);
                     if (searchResults.isEmpty()) {
                         showNoSearchResults();
                     } else {
@@ -605,84 +509,10 @@ public class DashboardFragment extends Fragment {
         });
     }
 
-    private void parseArticles(JSONObject data, List<Article> targetList, NewsAdapter adapter) {
+    private void showArticles(List<Article> articles, List<Article> targetList, NewsAdapter adapter) {
         targetList.clear();
-        try {
-            JSONArray articlesArray = null;
-            if (data.has("articles")) {
-                articlesArray = data.getJSONArray("articles");
-            } else if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONArray) {
-                    articlesArray = (JSONArray) dataObj;
-                } else if (dataObj instanceof JSONObject) {
-                    JSONObject dataJson = (JSONObject) dataObj;
-                    if (dataJson.has("articles")) {
-                        articlesArray = dataJson.getJSONArray("articles");
-                    } else if (dataJson.has("results")) {
-                        articlesArray = dataJson.getJSONArray("results");
-                    }
-                }
-            } else if (data.has("results")) {
-                articlesArray = data.getJSONArray("results");
-            }
-            
-            if (articlesArray != null) {
-                for (int i = 0; i < articlesArray.length(); i++) {
-                    JSONObject articleJson = articlesArray.getJSONObject(i);
-                    Article article = parseArticleFromJson(articleJson);
-                    if (article != null) {
-                        targetList.add(article);
-                    }
-                }
-            }
-        } catch (Exception e) {
-        }
-        
-        adapter.notifyDataSetChanged();
-    }
-
-    private Article parseArticleFromJson(JSONObject articleJson) {
-        try {
-            String id = articleJson.optString("id", "");
-            String title = articleJson.optString("title", "Unknown Title");
-            String summary = articleJson.optString("summary", "");
-            String content = articleJson.optString("content", "");
-            
-            String source = articleJson.optString("source", "");
-            if (source.isEmpty()) {
-                source = articleJson.optString("source_url", "Unknown Source");
-                if (source.startsWith("http")) {
-                    try {
-                        java.net.URL url = new java.net.URL(source);
-                        source = url.getHost();
-                    } catch (Exception e) {
-                        // Keep original
-                    }
-                }
-            }
-            
-            String category = articleJson.optString("category", "General");
-            String author = articleJson.optString("author", "");
-            String imageUrl = articleJson.optString("hero_image_url", "");
-            // Use published_at first, fallback to created_at
-            String dateStr = articleJson.optString("published_at", "");
-            if (dateStr.isEmpty()) {
-                dateStr = articleJson.optString("created_at", "");
-            }
-            
-            int imageResId = imageUrl.isEmpty() ? R.drawable.placeholder_image : R.drawable.ic_launcher_foreground;
-            
-            Article article = new Article(id, title, summary, content, source, category, author, imageUrl, imageResId, dateStr, false);
-            // TTS fields
-            String ttsUrl = articleJson.optString("tts_audio_url", null);
-            int ttsDurationSeconds = articleJson.optInt("tts_duration_seconds", 0);
-            article.setTtsAudioUrl(ttsUrl);
-            article.setTtsDurationSeconds(ttsDurationSeconds);
-            return article;
-        } catch (Exception e) {
-            return null;
-        }
+        targetList.addAll(articles);
+        adapter.submitList(targetList);
     }
 
     private void handleBookmarkClick(Article article, int position, NewsAdapter adapter) {
@@ -695,31 +525,9 @@ public class DashboardFragment extends Fragment {
         
         boolean isBookmarked = article.isBookmarked();
         article.setBookmarked(!isBookmarked);
-        adapter.notifyItemChanged(position);
+        adapter.notifyArticleChanged(article);
         
-        if (!isBookmarked) {
-            newsRepository.bookmarkArticle(article.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (!response.isSuccess() && response.getStatusCode() != 400) {
-                        article.setBookmarked(false);
-                        adapter.notifyItemChanged(position);
-                        Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-            });
-        } else {
-            newsRepository.removeBookmark(article.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (!response.isSuccess()) {
-                        article.setBookmarked(true);
-                        adapter.notifyItemChanged(position);
-                        Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-            });
-        }
+        newsRepository.setBookmarked(article.getId(), !isBookmarked);
     }
 
     // Search UI helpers
@@ -747,7 +555,7 @@ public class DashboardFragment extends Fragment {
         searchResultsContainer.setVisibility(View.GONE);
         mainContentScrollView.setVisibility(View.VISIBLE);
         searchResults.clear();
-        searchResultsAdapter.notifyDataSetChanged();
+        searchResultsAdapter.submitList(searchResults);
     }
 
     // Articles UI helpers
@@ -777,14 +585,12 @@ public class DashboardFragment extends Fragment {
         filteredArticlesContainer.setVisibility(View.GONE);
         mainContentScrollView.setVisibility(View.VISIBLE);
         filteredArticles.clear();
-        filteredArticlesAdapter.notifyDataSetChanged();
+        filteredArticlesAdapter.submitList(filteredArticles);
     }
 
     private void openArticleDetail(Article article) {
         try {
-            Intent intent = new Intent(getContext(), ArticleDetailActivity.class);
-            intent.putExtra("article", article);
-            startActivity(intent);
+            startActivity(ArticleDetailActivity.newIntent(getContext(), article));
         } catch (Exception e) {
             e.printStackTrace();
         }
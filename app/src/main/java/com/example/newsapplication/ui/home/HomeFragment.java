@@ -10,6 +10,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.core.widget.NestedScrollView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
@@ -22,19 +23,18 @@ import com.example.newsapplication.R;
 import com.example.newsapplication.adapter.BreakingNewsAdapter;
 import com.example.newsapplication.adapter.ChannelsAdapter;
 import com.example.newsapplication.adapter.NewsAdapter;
+import com.example.newsapplication.audio.AudioPlayerService;
 import com.example.newsapplication.databinding.FragmentHomeBinding;
 import com.example.newsapplication.model.Article;
 import com.example.newsapplication.model.Channel;
-import com.example.newsapplication.utils.JsonParsingUtils;
 
 import com.example.newsapplication.auth.UserSessionManager;
 import com.example.newsapplication.auth.AuthService;
+import com.example.newsapplication.repository.ArticlePager;
 import com.example.newsapplication.repository.NewsRepository;
-import com.example.newsapplication.utils.CircleTransform;
 import com.example.newsapplication.ui.notifications.NotificationHistoryActivity;
 import com.example.newsapplication.database.NotificationHistoryHelper;
-import com.squareup.picasso.Picasso;
-import org.json.JSONObject;
+import com.example.newsapplication.utils.ImageLoader;
 import org.json.JSONArray;
 
 import java.util.ArrayList;
@@ -42,6 +42,12 @@ import java.util.List;
 
 public class HomeFragment extends Fragment {
 
+    private static final int FEED_PAGE_SIZE = 20;
+    // Start fetching the next page while this many rows are still below the viewport
+    private static final int FEED_PREFETCH_DISTANCE = 10;
+    // The feed list is laid out in full inside the scroll view, so only a few pages are kept
+    private static final int FEED_MAX_PAGES = 5;
+
     private FragmentHomeBinding binding;
     private NewsAdapter newsAdapter;
     private BreakingNewsAdapter breakingNewsAdapter;
@@ -63,9 +69,7 @@ public class HomeFragment extends Fragment {
     private NewsRepository newsRepository;
     
     private String currentTab = "feeds";
-    private int currentPage = 1;
-    private boolean isLoadingMore = false;
-    private boolean hasMoreData = true;
+    private ArticlePager articlePager;
 
     public View onCreateView(@NonNull LayoutInflater inflater,
                              ViewGroup container, Bundle savedInstanceState) {
@@ -85,10 +89,14 @@ public class HomeFragment extends Fragment {
         setupRecyclerViews();
         setupFollowingSection();
 
-        // Setup load more button (SAU KHI binding đã được inflate)
+        // Pages load as the user scrolls; the button only appears to retry a failed page
         binding.loadMoreButton.setOnClickListener(v -> {
-            loadMoreArticles();
+            if (articlePager != null) {
+                articlePager.retry();
+            }
         });
+        binding.homeScrollView.setOnScrollChangeListener(
+                (NestedScrollView.OnScrollChangeListener) (v, scrollX, scrollY, oldScrollX, oldScrollY) -> onFeedScrolled());
 
         loadMockNews();
 
@@ -97,6 +105,14 @@ public class HomeFragment extends Fragment {
         setupTabNavigation();
         setupHeaderClicks();
 
+        // Listen to the articles of the current feed back to back
+        binding.listenFeedButton.setOnClickListener(v -> {
+            if (popularNewsList != null && !popularNewsList.isEmpty()) {
+                AudioPlayerService.playQueue(requireContext(), new ArrayList<>(popularNewsList), 0);
+                Toast.makeText(getContext(), "Playing " + popularNewsList.size() + " articles", Toast.LENGTH_SHORT).show();
+            }
+        });
+
         // Handle see more click
         try {
             binding.seeMoreTextView.setOnClickListener(v -> {
@@ -137,35 +153,27 @@ public class HomeFragment extends Fragment {
             return;
         }
         
-        newsRepository.unfollowChannel(channel.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-            @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                if (response.isSuccess()) {
-                    followingChannelsList.remove(position);
-                    followingChannelsAdapter.notifyItemRemoved(position);
-                    
-                    if (followingChannelsList.isEmpty()) {
-                        noFollowingText.setVisibility(View.VISIBLE);
-                        followingChannelsRecyclerView.setVisibility(View.GONE);
-                    }
-                    
-                    Toast.makeText(getContext(), "Unfollowed " + channel.getName(), Toast.LENGTH_SHORT).show();
-                } else {
-                    Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                }
-            }
-        });
+        newsRepository.setFollowing(channel.getId(), false);
+        followingChannelsList.remove(channel);
+        followingChannelsAdapter.setChannels(followingChannelsList);
+
+        if (followingChannelsList.isEmpty()) {
+            noFollowingText.setVisibility(View.VISIBLE);
+            followingChannelsRecyclerView.setVisibility(View.GONE);
+        }
+
+        Toast.makeText(getContext(), "Unfollowed " + channel.getName(), Toast.LENGTH_SHORT).show();
     }
 
     private void loadArticlesFromChannel(int channelId) {
-        newsRepository.getChannelArticles(channelId, 1, 20, new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getChannelArticlesList(channelId, 1, 20, new NewsRepository.RepositoryCallback<List<Article>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                 if (response.isSuccess() && response.getData() != null) {
                     popularNewsList.clear();
-                    List<Article> articles = JsonParsingUtils.parseArticles(response.getData());
+                    List<Article> articles = response.getData();
                     popularNewsList.addAll(articles);
-                    newsAdapter.notifyDataSetChanged();
+                    newsAdapter.submitList(popularNewsList);
                 } else {
                     Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
                 }
@@ -173,81 +181,114 @@ public class HomeFragment extends Fragment {
         });
     }
 
-    private void loadMoreArticles() {
-        if (isLoadingMore || !hasMoreData) {
-            return;
-        }
-
-        isLoadingMore = true;
-        binding.loadMoreButton.setText("Loading...");
-        binding.loadMoreButton.setEnabled(false);
+    private void startPaging(ArticlePager.PageSource source) {
+        stopPaging();
+        articlePager = new ArticlePager(source, FEED_PAGE_SIZE, FEED_PREFETCH_DISTANCE, FEED_MAX_PAGES,
+                new ArticlePager.Listener() {
+                    @Override
+                    public void onItemsChanged(List<Article> items) {
+                        showPagedArticles(items);
+                    }
 
-        currentPage++;
+                    @Override
+                    public void onStateChanged(ArticlePager.State state, String errorMessage) {
+                        showPagingState(state, errorMessage);
+                    }
+                });
+        articlePager.refresh();
+    }
 
-        // Load theo tab hiện tại
-        if (currentTab.equals("feeds")) {
-            loadMoreFeedsContent();
-        } else if (currentTab.equals("popular")) {
-            loadMorePopularContent();
+    private void stopPaging() {
+        if (articlePager != null) {
+            articlePager.cancel();
+            articlePager = null;
         }
     }
 
-    private void loadMoreFeedsContent() {
-        newsRepository.getArticles(currentPage, 20, 1, new NewsRepository.RepositoryCallback<JSONObject>() {
-            @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                isLoadingMore = false;
-                binding.loadMoreButton.setText("Load More");
-                binding.loadMoreButton.setEnabled(true);
+    private void showPagedArticles(List<Article> items) {
+        if (binding == null || newsAdapter == null) {
+            return;
+        }
 
-                if (response.isSuccess() && response.getData() != null) {
-                    List<Article> newArticles = JsonParsingUtils.parseArticles(response.getData());
-
-                    if (newArticles.isEmpty()) {
-                        hasMoreData = false;
-                        binding.loadMoreButton.setVisibility(View.GONE);
-                        Toast.makeText(getContext(), "No more articles", Toast.LENGTH_SHORT).show();
-                    } else {
-                        int startPosition = popularNewsList.size();
-                        popularNewsList.addAll(newArticles);
-                        newsAdapter.notifyItemRangeInserted(startPosition, newArticles.size());
-                    }
-                } else {
-                    currentPage--; // Rollback page if failed
-                    Toast.makeText(getContext(), "Failed to load more", Toast.LENGTH_SHORT).show();
-                }
+        // Pages are added and evicted above the viewport too, so pin the first visible row in place
+        Article anchor = null;
+        int anchorTop = 0;
+        int listTop = feedListTopInViewport();
+        if (listTop < 0) {
+            View anchorView = popularNewsRecyclerView.findChildViewUnder(popularNewsRecyclerView.getWidth() / 2, -listTop);
+            int position = anchorView != null ? popularNewsRecyclerView.getChildAdapterPosition(anchorView) : RecyclerView.NO_POSITION;
+            if (position != RecyclerView.NO_POSITION && position < popularNewsList.size()) {
+                anchor = popularNewsList.get(position);
+                anchorTop = anchorView.getTop() + listTop;
             }
-        });
-    }
+        }
 
-    private void loadMorePopularContent() {
-        newsRepository.getArticles(currentPage, 20, null, new NewsRepository.RepositoryCallback<JSONObject>() {
-            @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                isLoadingMore = false;
-                binding.loadMoreButton.setText("Load More");
-                binding.loadMoreButton.setEnabled(true);
+        popularNewsList.clear();
+        popularNewsList.addAll(items);
 
-                if (response.isSuccess() && response.getData() != null) {
-                    List<Article> newArticles = JsonParsingUtils.parseArticles(response.getData());
-
-                    if (newArticles.isEmpty()) {
-                        hasMoreData = false;
-                        binding.loadMoreButton.setVisibility(View.GONE);
-                        Toast.makeText(getContext(), "No more articles", Toast.LENGTH_SHORT).show();
-                    } else {
-                        int startPosition = popularNewsList.size();
-                        popularNewsList.addAll(newArticles);
-                        newsAdapter.notifyItemRangeInserted(startPosition, newArticles.size());
+        Article finalAnchor = anchor;
+        int finalAnchorTop = anchorTop;
+        newsAdapter.submitList(popularNewsList, () -> popularNewsRecyclerView.post(() -> {
+            if (binding == null) {
+                return;
+            }
+            if (finalAnchor != null) {
+                int position = popularNewsList.indexOf(finalAnchor);
+                View anchorView = position >= 0 && popularNewsRecyclerView.getLayoutManager() != null
+                        ? popularNewsRecyclerView.getLayoutManager().findViewByPosition(position) : null;
+                if (anchorView != null) {
+                    int shift = anchorView.getTop() + feedListTopInViewport() - finalAnchorTop;
+                    if (shift != 0) {
+                        binding.homeScrollView.scrollBy(0, shift);
                     }
-                } else {
-                    currentPage--; // Rollback page if failed
-                    Toast.makeText(getContext(), "Failed to load more", Toast.LENGTH_SHORT).show();
                 }
             }
-        });
+            // A short page may not fill the screen; keep prefetching until it does
+            onFeedScrolled();
+        }));
     }
 
+    private void showPagingState(ArticlePager.State state, String errorMessage) {
+        if (binding == null) {
+            return;
+        }
+        if (state == ArticlePager.State.ERROR) {
+            binding.loadMoreButton.setText("Retry");
+            binding.loadMoreButton.setVisibility(View.VISIBLE);
+            Toast.makeText(getContext(), errorMessage != null ? errorMessage : "Failed to load more", Toast.LENGTH_SHORT).show();
+        } else {
+            binding.loadMoreButton.setVisibility(View.GONE);
+        }
+    }
+
+    private void onFeedScrolled() {
+        if (binding == null || articlePager == null || popularNewsList.isEmpty()
+                || binding.feedsPopularContainer.getVisibility() != View.VISIBLE) {
+            return;
+        }
+
+        int listTop = feedListTopInViewport();
+        int visibleHeight = binding.homeScrollView.getHeight();
+        if (listTop >= visibleHeight) {
+            return;
+        }
+
+        int x = popularNewsRecyclerView.getWidth() / 2;
+        View first = popularNewsRecyclerView.findChildViewUnder(x, Math.max(0, -listTop));
+        View last = popularNewsRecyclerView.findChildViewUnder(x, visibleHeight - listTop - 1);
+        int firstVisible = first != null ? popularNewsRecyclerView.getChildAdapterPosition(first) : 0;
+        int lastVisible = last != null ? popularNewsRecyclerView.getChildAdapterPosition(last) : popularNewsList.size() - 1;
+        articlePager.onVisibleRangeChanged(firstVisible, lastVisible);
+    }
+
+    // Offset of the feed list's top edge from the top of the visible scroll area
+    private int feedListTopInViewport() {
+        int[] scrollLocation = new int[2];
+        int[] listLocation = new int[2];
+        binding.homeScrollView.getLocationInWindow(scrollLocation);
+        popularNewsRecyclerView.getLocationInWindow(listLocation);
+        return listLocation[1] - scrollLocation[1];
+    }
 
     private void handleBookmarkClick(Article article, int position, NewsAdapter adapter) {
         // Check if user is logged in
@@ -261,40 +302,11 @@ public class HomeFragment extends Fragment {
         
         boolean isBookmarked = article.isBookmarked();
         article.setBookmarked(!isBookmarked);
-        adapter.notifyItemChanged(position);
+        adapter.notifyArticleChanged(article);
         
         if (newsRepository != null) {
-            if (!isBookmarked) {
-                newsRepository.bookmarkArticle(article.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                    @Override
-                    public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                        if (!response.isSuccess()) {
-                            if (response.getStatusCode() == 400 || (response.getErrorMessage() != null && response.getErrorMessage().contains("duplicate"))) {
-                                Toast.makeText(getContext(), "Article already bookmarked", Toast.LENGTH_SHORT).show();
-                            } else {
-                                article.setBookmarked(false);
-                                adapter.notifyItemChanged(position);
-                                Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                            }
-                        } else {
-                            Toast.makeText(getContext(), "Article bookmarked", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                });
-            } else {
-                newsRepository.removeBookmark(article.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                    @Override
-                    public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                        if (!response.isSuccess()) {
-                            article.setBookmarked(true);
-                            adapter.notifyItemChanged(position);
-                            Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                        } else {
-                            Toast.makeText(getContext(), "Bookmark removed", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                });
-            }
+            newsRepository.setBookmarked(article.getId(), !isBookmarked);
+            Toast.makeText(getContext(), isBookmarked ? "Bookmark removed" : "Article bookmarked", Toast.LENGTH_SHORT).show();
         }
     }
 
@@ -367,9 +379,7 @@ public class HomeFragment extends Fragment {
             
             // Load avatar image with circular transform
             if (avatarUrl != null && !avatarUrl.isEmpty()) {
-                Picasso.get()
-                        .load(avatarUrl)
-                        .transform(new CircleTransform())
+                ImageLoader.avatar(avatarUrl)
                         .placeholder(R.drawable.ic_launcher_foreground)
                         .error(R.drawable.ic_launcher_foreground)
                         .into(binding.userAvatar);
@@ -403,10 +413,6 @@ public class HomeFragment extends Fragment {
     }
 
     private void loadFeedsContent() {
-        // Reset pagination
-        currentPage = 1;
-        hasMoreData = true;
-
         // Show feeds content, hide following
         binding.feedsPopularContainer.setVisibility(View.VISIBLE);
         followingContainer.setVisibility(View.GONE);
@@ -415,18 +421,11 @@ public class HomeFragment extends Fragment {
         binding.popularNewsTitle.setText("Latest News");
         binding.popularNewsTitle.setVisibility(View.VISIBLE);
 
-        // Show load more button
-        binding.loadMoreButton.setVisibility(View.VISIBLE);
-
         // Load articles from category_id = 1
         loadArticlesFromCategory(1);
     }
 
     private void loadPopularContent() {
-        // Reset pagination
-        currentPage = 1;
-        hasMoreData = true;
-
         // Show popular content, hide following
         binding.feedsPopularContainer.setVisibility(View.VISIBLE);
         followingContainer.setVisibility(View.GONE);
@@ -435,15 +434,13 @@ public class HomeFragment extends Fragment {
         binding.popularNewsTitle.setText("Popular News");
         binding.popularNewsTitle.setVisibility(View.VISIBLE);
 
-        // Show load more button
-        binding.loadMoreButton.setVisibility(View.VISIBLE);
-
         // Load all articles (no category filter)
         loadArticlesFromAPI();
     }
 
     private void loadFollowingContent() {
-        // Hide load more button for following tab
+        // The following tab has no article feed; drop any page still in flight
+        stopPaging();
         binding.loadMoreButton.setVisibility(View.GONE);
 
         // Show following section, hide feeds/popular
@@ -471,11 +468,11 @@ public class HomeFragment extends Fragment {
     }
 
     private void loadFollowedChannels() {
-        newsRepository.getFollowedChannels(new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getFollowedChannelsList(new NewsRepository.RepositoryCallback<List<Channel>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Channel>> response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    parseFollowedChannels(response.getData());
+                    showFollowedChannels(response.getData());
                 } else {
                     noFollowingText.setVisibility(View.VISIBLE);
                     noFollowingText.setText("You haven't followed any channels yet.\nExplore channels to follow!");
@@ -485,10 +482,9 @@ public class HomeFragment extends Fragment {
         });
     }
 
-    private void parseFollowedChannels(JSONObject data) {
+    private void showFollowedChannels(List<Channel> channels) {
         followingChannelsList.clear();
         
-        List<Channel> channels = JsonParsingUtils.parseChannels(data);
         for (Channel channel : channels) {
             channel.setFollowing(true); // They are followed channels
             followingChannelsList.add(channel);
@@ -503,7 +499,7 @@ public class HomeFragment extends Fragment {
             followingChannelsRecyclerView.setVisibility(View.VISIBLE);
         }
         
-        followingChannelsAdapter.notifyDataSetChanged();
+        followingChannelsAdapter.setChannels(followingChannelsList);
     }
 
     private void setupRecyclerViews() {
@@ -560,16 +556,16 @@ public class HomeFragment extends Fragment {
 
     private void loadBreakingNews() {
         if (newsRepository != null) {
-            newsRepository.getArticles(1, 5, 9, new NewsRepository.RepositoryCallback<JSONObject>() {
+            newsRepository.getArticlesList(1, 5, 9, new NewsRepository.RepositoryCallback<List<Article>>() {
                 @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+                public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                     if (response.isSuccess() && response.getData() != null) {
                         breakingNewsList.clear();
-                        List<Article> articles = JsonParsingUtils.parseArticles(response.getData());
+                        List<Article> articles = response.getData();
                         breakingNewsList.addAll(articles);
                         
                         if (breakingNewsAdapter != null) {
-                            breakingNewsAdapter.notifyDataSetChanged();
+                            breakingNewsAdapter.submitList(breakingNewsList);
                         }
                     }
                 }
@@ -579,41 +575,13 @@ public class HomeFragment extends Fragment {
 
     private void loadArticlesFromCategory(int categoryId) {
         if (newsRepository != null) {
-            newsRepository.getArticles(1, 20, categoryId, new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (response.isSuccess() && response.getData() != null) {
-                        popularNewsList.clear();
-                        
-                        List<Article> articles = JsonParsingUtils.parseArticles(response.getData());
-                        popularNewsList.addAll(articles);
-                        
-                        if (newsAdapter != null) {
-                            newsAdapter.notifyDataSetChanged();
-                        }
-                    }
-                }
-            });
+            startPaging(ArticlePager.latestArticles(newsRepository, categoryId));
         }
     }
     
     private void loadArticlesFromAPI() {
         if (newsRepository != null) {
-            newsRepository.getArticles(new NewsRepository.RepositoryCallback<JSONObject>() {
-                @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                    if (response.isSuccess() && response.getData() != null) {
-                        popularNewsList.clear();
-                        
-                        List<Article> articles = JsonParsingUtils.parseArticles(response.getData());
-                        popularNewsList.addAll(articles);
-                        
-                        if (newsAdapter != null) {
-                            newsAdapter.notifyDataSetChanged();
-                        }
-                    }
-                }
-            });
+            startPaging(ArticlePager.latestArticles(newsRepository, null));
         }
     }
 
@@ -621,30 +589,30 @@ public class HomeFragment extends Fragment {
 
     private void loadBookmarksFromAPI() {
         if (newsRepository != null) {
-            newsRepository.getBookmarks(new NewsRepository.RepositoryCallback<JSONObject>() {
+            newsRepository.getBookmarkedIds(new NewsRepository.RepositoryCallback<java.util.Set<String>>() {
                 @Override
-                public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+                public void onResult(com.example.newsapplication.api.ApiResponse<java.util.Set<String>> response) {
                     if (response.isSuccess() && response.getData() != null) {
-                        java.util.Set<String> bookmarkedIds = JsonParsingUtils.parseBookmarkedIds(response.getData());
+                        java.util.Set<String> bookmarkedIds = response.getData();
                         
+                        // Only rows whose bookmark state actually changed are rebound
                         for (Article article : breakingNewsList) {
-                            if (bookmarkedIds.contains(article.getId())) {
+                            if (!article.isBookmarked() && bookmarkedIds.contains(article.getId())) {
                                 article.setBookmarked(true);
+                                if (breakingNewsAdapter != null) {
+                                    breakingNewsAdapter.notifyArticleChanged(article);
+                                }
                             }
                         }
                         
                         for (Article article : popularNewsList) {
-                            if (bookmarkedIds.contains(article.getId())) {
+                            if (!article.isBookmarked() && bookmarkedIds.contains(article.getId())) {
                                 article.setBookmarked(true);
+                                if (newsAdapter != null) {
+                                    newsAdapter.notifyArticleChanged(article);
+                                }
                             }
                         }
-                        
-                        if (breakingNewsAdapter != null) {
-                            breakingNewsAdapter.notifyDataSetChanged();
-                        }
-                        if (newsAdapter != null) {
-                            newsAdapter.notifyDataSetChanged();
-                        }
                     }
                 }
             });
@@ -659,9 +627,7 @@ public class HomeFragment extends Fragment {
     private void openArticleDetail(Article article) {
         try {
             if (getContext() != null) {
-                Intent intent = new Intent(getContext(), ArticleDetailActivity.class);
-                intent.putExtra("article", article);
-                startActivity(intent);
+                startActivity(ArticleDetailActivity.newIntent(getContext(), article));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -671,6 +637,7 @@ public class HomeFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        stopPaging();
         binding = null;
     }
 }
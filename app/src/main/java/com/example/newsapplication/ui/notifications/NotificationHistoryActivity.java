@@ -18,15 +18,20 @@ import com.example.newsapplication.database.NotificationHistoryHelper;
 import com.example.newsapplication.auth.UserSessionManager;
 import com.example.newsapplication.MainActivity;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class NotificationHistoryActivity extends AppCompatActivity {
 
+    private static final int PAGE_SIZE = 50;
+    // Load the next page when this many rows are left below the last visible one
+    private static final int LOAD_MORE_THRESHOLD = 15;
+
     private ImageView backButton;
     private TextView clearAllButton;
     private RecyclerView recyclerView;
@@ -35,6 +40,12 @@ public class NotificationHistoryActivity extends AppCompatActivity {
     private NotificationHistoryHelper dbHelper;
     private UserSessionManager sessionManager;
 
+    // History is read off the main thread, one keyset page at a time
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    private boolean loadingPage;
+    private boolean endReached;
+    private int pageGeneration;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -69,7 +80,9 @@ public class NotificationHistoryActivity extends AppCompatActivity {
                     .setMessage("Are you sure you want to clear all notification history?")
                     .setPositiveButton("Clear", (dialog, which) -> {
                         dbHelper.clearAllNotifications();
-                        loadNotifications();
+                        adapter.setNotifications(new ArrayList<>());
+                        restartPaging();
+                        updateEmptyState();
                         Toast.makeText(this, "All notifications cleared", Toast.LENGTH_SHORT).show();
                     })
                     .setNegativeButton("Cancel", null)
@@ -79,20 +92,77 @@ public class NotificationHistoryActivity extends AppCompatActivity {
 
     private void setupRecyclerView() {
         adapter = new NotificationHistoryAdapter(this::onNotificationClick, this::onNotificationLongClick);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView view, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - 1 - LOAD_MORE_THRESHOLD) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
+    // Reload from the newest notification
     private void loadNotifications() {
-        List<NotificationHistoryHelper.NotificationItem> notifications = dbHelper.getAllNotifications();
+        pageGeneration++;
+        endReached = false;
+        loadingPage = false;
+        loadPage(null);
+    }
+
+    /**
+     * The list was changed under the pager. A page still loading was read against the old list,
+     * so it is dropped and requested again after the new last row (the newest, once the list is
+     * empty); the page query waits for the pending delete to be written.
+     */
+    private void restartPaging() {
+        boolean pageDropped = loadingPage;
+        pageGeneration++;
+        loadingPage = false;
+        endReached = false;
+        if (pageDropped || adapter.getItemCount() == 0) {
+            loadNextPage();
+        }
+    }
+
+    private void loadNextPage() {
+        if (!loadingPage && !endReached) {
+            loadPage(adapter.getLastItem());
+        }
+    }
+
+    private void loadPage(NotificationHistoryHelper.NotificationItem after) {
+        int generation = pageGeneration;
+        loadingPage = true;
+        dbExecutor.execute(() -> {
+            List<NotificationHistoryHelper.NotificationItem> page = dbHelper.getNotificationsPage(after, PAGE_SIZE);
+            runOnUiThread(() -> {
+                if (generation != pageGeneration || isDestroyed()) {
+                    return;
+                }
+                loadingPage = false;
+                endReached = page.size() < PAGE_SIZE;
+                if (after == null) {
+                    adapter.setNotifications(page);
+                } else {
+                    adapter.appendNotifications(page);
+                }
+                updateEmptyState();
+            });
+        });
+    }
 
-        if (notifications.isEmpty()) {
+    private void updateEmptyState() {
+        if (adapter.getItemCount() == 0) {
             recyclerView.setVisibility(View.GONE);
             emptyStateText.setVisibility(View.VISIBLE);
         } else {
             recyclerView.setVisibility(View.VISIBLE);
             emptyStateText.setVisibility(View.GONE);
-            adapter.setNotifications(notifications);
         }
     }
 
@@ -107,7 +177,7 @@ public class NotificationHistoryActivity extends AppCompatActivity {
         // Navigate to article if has article_id
         if (notification.getArticleId() != null && !notification.getArticleId().isEmpty()) {
             Intent intent = new Intent(this, ArticleDetailActivity.class);
-            intent.putExtra("article_id", notification.getArticleId());
+            intent.putExtra(ArticleDetailActivity.EXTRA_ARTICLE_ID, notification.getArticleId());
             startActivity(intent);
         } else {
             Toast.makeText(this, "Article not available", Toast.LENGTH_SHORT).show();
@@ -132,7 +202,9 @@ public class NotificationHistoryActivity extends AppCompatActivity {
                             break;
                         case 1: // Delete
                             dbHelper.deleteNotification(notification.getId());
-                            loadNotifications();
+                            adapter.removeNotification(notification.getId());
+                            restartPaging();
+                            updateEmptyState();
                             Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
                             break;
                     }
@@ -140,14 +212,17 @@ public class NotificationHistoryActivity extends AppCompatActivity {
                 .show();
     }
 
-    public static String formatNotificationTime(String timestamp) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date date = sdf.parse(timestamp);
-            SimpleDateFormat outputSdf = new SimpleDateFormat("MMM dd, HH:mm", Locale.getDefault());
-            return outputSdf.format(date);
-        } catch (ParseException e) {
-            return timestamp;
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        dbExecutor.shutdown();
+    }
+
+    public static String formatNotificationTime(long createdAtMillis) {
+        if (createdAtMillis <= 0) {
+            return "";
         }
+        SimpleDateFormat outputSdf = new SimpleDateFormat("MMM dd, HH:mm", Locale.getDefault());
+        return outputSdf.format(new Date(createdAtMillis));
     }
 }
\ No newline at end of file
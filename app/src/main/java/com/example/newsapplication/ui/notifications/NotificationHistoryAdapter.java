@@ -71,10 +71,31 @@ public class NotificationHistoryAdapter extends RecyclerView.Adapter<Notificatio
     }
 
     public void setNotifications(List<NotificationHistoryHelper.NotificationItem> notifications) {
-        this.notifications = notifications;
+        this.notifications = new ArrayList<>(notifications);
         notifyDataSetChanged();
     }
 
+    // Add the next page below the current items
+    public void appendNotifications(List<NotificationHistoryHelper.NotificationItem> page) {
+        int start = notifications.size();
+        notifications.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    public void removeNotification(long notificationId) {
+        for (int i = 0; i < notifications.size(); i++) {
+            if (notifications.get(i).getId() == notificationId) {
+                notifications.remove(i);
+                notifyItemRemoved(i);
+                return;
+            }
+        }
+    }
+
+    public NotificationHistoryHelper.NotificationItem getLastItem() {
+        return notifications.isEmpty() ? null : notifications.get(notifications.size() - 1);
+    }
+
     public void updateNotification(NotificationHistoryHelper.NotificationItem notification) {
         int position = -1;
         for (int i = 0; i < notifications.size(); i++) {
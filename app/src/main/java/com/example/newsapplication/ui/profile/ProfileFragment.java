@@ -21,7 +21,7 @@ import com.example.newsapplication.auth.AuthService;
 import com.example.newsapplication.auth.EditProfileDialog;
 import com.example.newsapplication.databinding.FragmentProfileBinding;
 import com.squareup.picasso.Picasso;
-import com.example.newsapplication.utils.CircleTransform;
+import com.example.newsapplication.utils.ImageLoader;
 import org.json.JSONObject;
 
 public class ProfileFragment extends Fragment {
@@ -198,9 +198,7 @@ public class ProfileFragment extends Fragment {
             Log.d("ProfileFragment", "Loading avatar URL: " + avatarUrl);
 
             // First try to load from cache/network with better error handling
-            Picasso.get()
-                    .load(avatarUrl)
-                    .transform(new CircleTransform())
+            ImageLoader.avatar(avatarUrl)
                     .placeholder(R.drawable.ic_launcher_foreground)
                     .error(R.drawable.ic_launcher_foreground)
                     .into(userAvatar, new com.squareup.picasso.Callback() {
@@ -215,9 +213,7 @@ public class ProfileFragment extends Fragment {
                             // Retry once with memory cleared
                             Picasso.get()
                                     .invalidate(avatarUrl);
-                            Picasso.get()
-                                    .load(avatarUrl)
-                                    .transform(new CircleTransform())
+                            ImageLoader.avatar(avatarUrl)
                                     .placeholder(R.drawable.ic_launcher_foreground)
                                     .error(R.drawable.ic_launcher_foreground)
                                     .memoryPolicy(com.squareup.picasso.MemoryPolicy.NO_CACHE, com.squareup.picasso.MemoryPolicy.NO_STORE)
@@ -15,14 +15,12 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapplication.MainActivity;
-import com.example.newsapplication.R;
 import com.example.newsapplication.adapter.NewsAdapter;
+import com.example.newsapplication.audio.AudioPlayerService;
 import com.example.newsapplication.auth.UserSessionManager;
 import com.example.newsapplication.databinding.FragmentSavedBinding;
 import com.example.newsapplication.model.Article;
 import com.example.newsapplication.repository.NewsRepository;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +33,8 @@ public class SavedFragment extends Fragment {
     private List<Article> savedArticlesList;
 
     private LinearLayout emptyStateText;
+    private TextView listenAllButton;
+    private TextView resumeQueueButton;
     private LinearLayout loginButtonContainer;
     private UserSessionManager sessionManager;
     private NewsRepository newsRepository;
@@ -66,6 +66,8 @@ public class SavedFragment extends Fragment {
         savedNewsRecyclerView = binding.savedNewsRecyclerView;
         emptyStateText = binding.emptyStateText;
         loginButtonContainer = binding.loginButtonContainer;
+        listenAllButton = binding.listenAllButton;
+        resumeQueueButton = binding.resumeQueueButton;
     }
 
     private void setupClickListeners() {
@@ -76,6 +78,27 @@ public class SavedFragment extends Fragment {
                 mainActivity.showLoginDialog();
             }
         });
+
+        // Listen to every saved article back to back
+        listenAllButton.setOnClickListener(v -> {
+            if (savedArticlesList != null && !savedArticlesList.isEmpty()) {
+                AudioPlayerService.playQueue(requireContext(), new ArrayList<>(savedArticlesList), 0);
+                Toast.makeText(getContext(), "Playing " + savedArticlesList.size() + " saved articles", Toast.LENGTH_SHORT).show();
+                resumeQueueButton.setVisibility(View.GONE);
+            }
+        });
+
+        // Pick the listening queue up where it was left, e.g. after the app was closed
+        resumeQueueButton.setOnClickListener(v -> {
+            AudioPlayerService.resumeQueue(requireContext());
+            resumeQueueButton.setVisibility(View.GONE);
+        });
+    }
+
+    // Offered while nothing is playing and an earlier queue is saved
+    private void updateResumeQueueButton() {
+        boolean canResume = !AudioPlayerService.sIsPlaying && AudioPlayerService.hasSavedQueue(requireContext());
+        resumeQueueButton.setVisibility(canResume ? View.VISIBLE : View.GONE);
     }
 
     private void showLoggedOutState() {
@@ -83,6 +106,7 @@ public class SavedFragment extends Fragment {
         loginButtonContainer.setVisibility(View.GONE);
         savedNewsRecyclerView.setVisibility(View.GONE);
         emptyStateText.setVisibility(View.VISIBLE);
+        listenAllButton.setVisibility(View.GONE);
     }
 
     private void showLoggedInState() {
@@ -100,9 +124,7 @@ public class SavedFragment extends Fragment {
             public void onItemClick(Article article) {
                 // Handle article click - navigate to article detail
                 try {
-                    android.content.Intent intent = new android.content.Intent(getContext(), com.example.newsapplication.ArticleDetailActivity.class);
-                    intent.putExtra("article", article);
-                    startActivity(intent);
+                    startActivity(com.example.newsapplication.ArticleDetailActivity.newIntent(getContext(), article));
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
@@ -111,24 +133,17 @@ public class SavedFragment extends Fragment {
             @Override
             public void onBookmarkClick(Article article, int position) {
                 // Handle bookmark click (remove bookmark)
-                newsRepository.removeBookmark(article.getId(), new NewsRepository.RepositoryCallback<JSONObject>() {
-                    @Override
-                    public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
-                        if (response.isSuccess()) {
-                            savedArticlesList.remove(article);
-                            savedNewsAdapter.notifyDataSetChanged();
-                            
-                            if (savedArticlesList.isEmpty()) {
-                                savedNewsRecyclerView.setVisibility(View.GONE);
-                                emptyStateText.setVisibility(View.VISIBLE);
-                            }
-                            
-                            Toast.makeText(getContext(), "Article removed from saved", Toast.LENGTH_SHORT).show();
-                        } else {
-                            Toast.makeText(getContext(), response.getErrorMessage(), Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                });
+                newsRepository.setBookmarked(article.getId(), false);
+                savedArticlesList.remove(article);
+                savedNewsAdapter.submitList(savedArticlesList);
+
+                if (savedArticlesList.isEmpty()) {
+                    savedNewsRecyclerView.setVisibility(View.GONE);
+                    emptyStateText.setVisibility(View.VISIBLE);
+                    listenAllButton.setVisibility(View.GONE);
+                }
+
+                Toast.makeText(getContext(), "Article removed from saved", Toast.LENGTH_SHORT).show();
             }
         });
 
@@ -139,11 +154,11 @@ public class SavedFragment extends Fragment {
     private void loadSavedArticles() {
         if (newsRepository == null) return;
         
-        newsRepository.getBookmarks(new NewsRepository.RepositoryCallback<JSONObject>() {
+        newsRepository.getBookmarkedArticles(new NewsRepository.RepositoryCallback<List<Article>>() {
             @Override
-            public void onResult(com.example.newsapplication.api.ApiResponse<JSONObject> response) {
+            public void onResult(com.example.newsapplication.api.ApiResponse<List<Article>> response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    loadRealBookmarks(response.getData());
+                    showBookmarks(response.getData());
                 } else {
                     loadMockBookmarks();
                 }
@@ -151,119 +166,35 @@ public class SavedFragment extends Fragment {
         });
     }
 
-    private void loadRealBookmarks(JSONObject data) {
+    private void showBookmarks(List<Article> bookmarkedArticles) {
         savedArticlesList.clear();
-        
-        try {
-            JSONArray results = null;
-            
-            if (data.has("data")) {
-                Object dataObj = data.get("data");
-                if (dataObj instanceof JSONObject) {
-                    JSONObject dataJson = (JSONObject) dataObj;
-                    if (dataJson.has("bookmarks")) {
-                        results = dataJson.getJSONArray("bookmarks");
-                    } else if (dataJson.has("results")) {
-                        results = dataJson.getJSONArray("results");
-                    }
-                } else if (dataObj instanceof JSONArray) {
-                    results = (JSONArray) dataObj;
-                }
-            } else if (data.has("bookmarks")) {
-                results = data.getJSONArray("bookmarks");
-            } else if (data.has("results")) {
-                results = data.getJSONArray("results");
-            }
-            
-            if (results != null && results.length() > 0) {
-                for (int i = 0; i < results.length(); i++) {
-                    JSONObject bookmark = results.getJSONObject(i);
-                    
-                    Article article = null;
-                    
-                    if (bookmark.has("articles") && !bookmark.isNull("articles")) {
-                        JSONObject articleJson = bookmark.getJSONObject("articles");
-                        article = parseArticleFromJson(articleJson);
-                    }
-                    else if (bookmark.has("article") && !bookmark.isNull("article")) {
-                        JSONObject articleJson = bookmark.getJSONObject("article");
-                        article = parseArticleFromJson(articleJson);
-                    } 
-                    else if (bookmark.has("title") && bookmark.has("id")) {
-                        article = parseArticleFromJson(bookmark);
-                    }
-                    else if (bookmark.has("article_id")) {
-                        String articleId = bookmark.optString("article_id");
-                        article = new Article(
-                            articleId,
-                            bookmark.optString("title", "Saved Article"),
-                            bookmark.optString("summary", ""),
-                            bookmark.optString("content", ""),
-                            bookmark.optString("source", "Unknown"),
-                            bookmark.optString("category", "General"),
-                            bookmark.optString("author", ""),
-                            bookmark.optString("hero_image_url", bookmark.optString("image_url", "")),
-                            R.drawable.placeholder_image,
-                            bookmark.optString("created_at", ""),
-                            true
-                        );
-                    }
-                    
-                    if (article != null) {
-                        article.setBookmarked(true);
-                        savedArticlesList.add(article);
-                    }
-                }
-            }
-        } catch (Exception e) {
-        }
+        savedArticlesList.addAll(bookmarkedArticles);
         
         if (savedArticlesList.isEmpty()) {
             savedNewsRecyclerView.setVisibility(View.GONE);
             emptyStateText.setVisibility(View.VISIBLE);
+            listenAllButton.setVisibility(View.GONE);
         } else {
             savedNewsRecyclerView.setVisibility(View.VISIBLE);
             emptyStateText.setVisibility(View.GONE);
+            listenAllButton.setVisibility(View.VISIBLE);
         }
 
-        savedNewsAdapter.notifyDataSetChanged();
+        savedNewsAdapter.submitList(savedArticlesList);
     }
     
-    private Article parseArticleFromJson(JSONObject articleJson) {
-        try {
-            String id = articleJson.optString("id", "");
-            String title = articleJson.optString("title", "Unknown Title");
-            String summary = articleJson.optString("summary", "");
-            String content = articleJson.optString("content", "");
-            
-            String source = articleJson.optString("source", "");
-            if (source.isEmpty()) {
-                source = articleJson.optString("source_url", "Unknown Source");
-            }
-            
-            String category = articleJson.optString("category", "General");
-            String author = articleJson.optString("author", "Unknown Author");
-            String imageUrl = articleJson.optString("hero_image_url", "");
-            String createdAt = articleJson.optString("created_at", "");
-            
-            int imageResId = imageUrl.isEmpty() ? R.drawable.placeholder_image : R.drawable.ic_launcher_foreground;
-            
-            return new Article(id, title, summary, content, source, category, author, imageUrl, imageResId, createdAt, true);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     private void loadMockBookmarks() {
         savedArticlesList.clear();
         savedNewsRecyclerView.setVisibility(View.GONE);
         emptyStateText.setVisibility(View.VISIBLE);
-        savedNewsAdapter.notifyDataSetChanged();
+        listenAllButton.setVisibility(View.GONE);
+        savedNewsAdapter.submitList(savedArticlesList);
     }
 
     @Override
     public void onResume() {
         super.onResume();
+        updateResumeQueueButton();
         if (sessionManager != null && sessionManager.isLoggedIn()) {
             loadSavedArticles();
         }
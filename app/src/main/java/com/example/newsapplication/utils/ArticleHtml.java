@@ -0,0 +1,350 @@
+package com.example.newsapplication.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prepares article HTML from the API for the detail WebView.
+ *
+ * The body is rebuilt from an allowlist rather than filtered with patterns: it is split into
+ * text and tags the way the browser splits it (quoted attribute values may contain '>'), and
+ * only known article tags and attributes are written back out, each value in double quotes.
+ * URL attributes are kept only when, after decoding character references, they are relative
+ * or use a web scheme. Elements that can carry script or other documents (script, style,
+ * object, svg and the like) are dropped with their content. Embeds are kept for video, but
+ * every iframe gets a fixed sandbox, so an embed can run its own player script and nothing
+ * else: no popups, top-level navigation or forms. The page template's Content Security
+ * Policy is the second line of defence behind this.
+ *
+ * Results are cached per article id, so reopening an article or changing its font size does
+ * no work here.
+ */
+public class ArticleHtml {
+
+    private static final Set<String> ALLOWED_TAGS = new HashSet<>(Arrays.asList(
+            "a", "abbr", "article", "audio", "b", "blockquote", "br", "caption", "center", "cite",
+            "code", "col", "colgroup", "dd", "div", "dl", "dt", "em", "figcaption", "figure",
+            "footer", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "i", "iframe", "img",
+            "li", "mark", "ol", "p", "picture", "pre", "q", "s", "section", "small", "source",
+            "span", "strike", "strong", "sub", "sup", "table", "tbody", "td", "tfoot", "th",
+            "thead", "time", "tr", "u", "ul", "video"));
+    // Dropped together with everything up to their end tag
+    private static final Set<String> DROPPED_ELEMENTS = new HashSet<>(Arrays.asList(
+            "applet", "math", "noembed", "noframes", "noscript", "object", "script", "select",
+            "style", "svg", "template", "textarea", "title", "xmp"));
+    private static final Set<String> ALLOWED_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            "allowfullscreen", "alt", "class", "colspan", "controls", "datetime", "dir",
+            "frameborder", "height", "lang", "rowspan", "start", "style", "title", "type", "width"));
+    private static final Set<String> URL_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            "cite", "href", "poster", "src"));
+    // Enough for video players; the source can't widen it, as sandbox is not an allowed attribute
+    private static final String IFRAME_SANDBOX = "allow-scripts allow-same-origin allow-presentation";
+    private static final Set<String> SAFE_SCHEMES = new HashSet<>(Arrays.asList(
+            "http", "https", "mailto", "tel"));
+
+    private static final int MAX_CACHED = 16;
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(MAX_CACHED, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private static class Entry {
+        final String source;
+        final String sanitized;
+
+        Entry(String source, String sanitized) {
+            this.source = source;
+            this.sanitized = sanitized;
+        }
+    }
+
+    // Sanitized body for an article, reused while its content is unchanged
+    public static String sanitized(String articleId, String html) {
+        if (html == null) {
+            return "";
+        }
+        if (articleId == null || articleId.isEmpty()) {
+            return sanitize(html);
+        }
+        synchronized (cache) {
+            Entry entry = cache.get(articleId);
+            if (entry != null && entry.source.equals(html)) {
+                return entry.sanitized;
+            }
+        }
+        String result = sanitize(html);
+        synchronized (cache) {
+            cache.put(articleId, new Entry(html, result));
+        }
+        return result;
+    }
+
+    static String sanitize(String html) {
+        StringBuilder out = new StringBuilder(html.length());
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c != '<') {
+                out.append(c);
+                i++;
+            } else if (html.startsWith("<!--", i)) {
+                int end = html.indexOf("-->", i + 4);
+                i = end < 0 ? length : end + 3;
+            } else if (i + 1 < length && (html.charAt(i + 1) == '!' || html.charAt(i + 1) == '?')) {
+                // Doctypes and processing instructions
+                int end = html.indexOf('>', i);
+                i = end < 0 ? length : end + 1;
+            } else {
+                Tag tag = Tag.parse(html, i);
+                if (tag == null) {
+                    // Not markup, just a less-than sign in the text
+                    out.append("&lt;");
+                    i++;
+                    continue;
+                }
+                i = tag.end;
+                if (DROPPED_ELEMENTS.contains(tag.name)) {
+                    if (!tag.closing) {
+                        i = skipElement(html, tag);
+                    }
+                } else if (ALLOWED_TAGS.contains(tag.name)) {
+                    tag.appendTo(out);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    // Index just past the element's end tag; an element left open loses only its start tag
+    private static int skipElement(String html, Tag start) {
+        int from = start.end;
+        while (true) {
+            int close = html.indexOf("</", from);
+            if (close < 0) {
+                return start.end;
+            }
+            if (html.regionMatches(true, close + 2, start.name, 0, start.name.length())) {
+                Tag end = Tag.parse(html, close);
+                if (end != null && end.name.equals(start.name)) {
+                    return end.end;
+                }
+            }
+            from = close + 2;
+        }
+    }
+
+    // True for relative URLs and the web schemes; anything the browser could read as another scheme is rejected
+    static boolean isSafeUrl(String value) {
+        String url = decodeReferences(value);
+        StringBuilder compact = new StringBuilder(url.length());
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            // Browsers ignore control characters and whitespace in the scheme
+            if (c > ' ') {
+                compact.append(c);
+            }
+        }
+        String scheme = compact.toString();
+        for (int i = 0; i < scheme.length(); i++) {
+            char c = scheme.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                scheme = scheme.substring(0, i);
+                break;
+            }
+        }
+        int colon = scheme.indexOf(':');
+        if (colon < 0) {
+            // A reference left undecoded here could still be a colon to the browser
+            return scheme.indexOf('&') < 0;
+        }
+        return SAFE_SCHEMES.contains(scheme.substring(0, colon).toLowerCase(Locale.ROOT));
+    }
+
+    // Numeric references and the named ones that can spell out a scheme
+    static String decodeReferences(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c == '&') {
+                int end = i + 1;
+                if (end < value.length() && value.charAt(end) == '#') {
+                    end++;
+                }
+                while (end < value.length() && Character.isLetterOrDigit(value.charAt(end))) {
+                    end++;
+                }
+                String name = value.substring(i + 1, end);
+                int next = end < value.length() && value.charAt(end) == ';' ? end + 1 : end;
+                int codePoint = referenceCodePoint(name);
+                if (codePoint >= 0) {
+                    out.appendCodePoint(codePoint);
+                    i = next;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static int referenceCodePoint(String name) {
+        try {
+            if (name.startsWith("#x") || name.startsWith("#X")) {
+                int codePoint = Integer.parseInt(name.substring(2), 16);
+                return Character.isValidCodePoint(codePoint) ? codePoint : 0xFFFD;
+            }
+            if (name.startsWith("#")) {
+                int codePoint = Integer.parseInt(name.substring(1));
+                return Character.isValidCodePoint(codePoint) ? codePoint : 0xFFFD;
+            }
+        } catch (NumberFormatException e) {
+            // Too long for an int is not a valid code point either
+            return name.length() > 2 ? 0xFFFD : -1;
+        }
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "colon":
+                return ':';
+            case "tab":
+                return '\t';
+            case "newline":
+                return '\n';
+            case "sol":
+                return '/';
+            case "quest":
+                return '?';
+            case "num":
+                return '#';
+            case "amp":
+                return '&';
+            default:
+                return -1;
+        }
+    }
+
+    // One start or end tag as the browser's tokenizer would read it
+    private static class Tag {
+        final String name;
+        final boolean closing;
+        final int end;
+        final Map<String, String> attributes = new LinkedHashMap<>();
+
+        private Tag(String name, boolean closing, int end) {
+            this.name = name;
+            this.closing = closing;
+            this.end = end;
+        }
+
+        // Null when the '<' at start does not open a tag
+        static Tag parse(String html, int start) {
+            int length = html.length();
+            int i = start + 1;
+            boolean closing = i < length && html.charAt(i) == '/';
+            if (closing) {
+                i++;
+            }
+            if (i >= length || !isAsciiLetter(html.charAt(i))) {
+                return null;
+            }
+            int nameStart = i;
+            while (i < length && !isTagSpace(html.charAt(i)) && html.charAt(i) != '/' && html.charAt(i) != '>') {
+                i++;
+            }
+            String name = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+            Map<String, String> attributes = new LinkedHashMap<>();
+
+            while (i < length && html.charAt(i) != '>') {
+                char c = html.charAt(i);
+                if (isTagSpace(c) || c == '/') {
+                    i++;
+                    continue;
+                }
+                int attrStart = i;
+                // A leading '=' belongs to the name, as in the browser
+                i++;
+                while (i < length && !isTagSpace(html.charAt(i)) && "/>=".indexOf(html.charAt(i)) < 0) {
+                    i++;
+                }
+                String attrName = html.substring(attrStart, i).toLowerCase(Locale.ROOT);
+                while (i < length && isTagSpace(html.charAt(i))) {
+                    i++;
+                }
+                String value = "";
+                if (i < length && html.charAt(i) == '=') {
+                    i++;
+                    while (i < length && isTagSpace(html.charAt(i))) {
+                        i++;
+                    }
+                    if (i < length && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                        int close = html.indexOf(html.charAt(i), i + 1);
+                        if (close < 0) {
+                            return truncated(closing, length);
+                        }
+                        value = html.substring(i + 1, close);
+                        i = close + 1;
+                    } else {
+                        int valueStart = i;
+                        while (i < length && !isTagSpace(html.charAt(i)) && html.charAt(i) != '>') {
+                            i++;
+                        }
+                        value = html.substring(valueStart, i);
+                    }
+                }
+                if (!attributes.containsKey(attrName)) {
+                    attributes.put(attrName, value);
+                }
+            }
+            if (i >= length) {
+                return truncated(closing, length);
+            }
+            Tag tag = new Tag(name, closing, i + 1);
+            tag.attributes.putAll(attributes);
+            return tag;
+        }
+
+        // A tag cut off by the end of the input; the browser drops it with the rest, and so do we
+        private static Tag truncated(boolean closing, int length) {
+            return new Tag("", closing, length);
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append(closing ? "</" : "<").append(name);
+            if (!closing) {
+                for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                    String attrName = attribute.getKey();
+                    String value = attribute.getValue();
+                    boolean allowed = ALLOWED_ATTRIBUTES.contains(attrName)
+                            || URL_ATTRIBUTES.contains(attrName) && isSafeUrl(value);
+                    if (allowed) {
+                        out.append(' ').append(attrName).append("=\"")
+                                .append(value.replace("\"", "&quot;")).append('"');
+                    }
+                }
+                if (name.equals("iframe")) {
+                    out.append(" sandbox=\"").append(IFRAME_SANDBOX).append('"');
+                }
+            }
+            out.append('>');
+        }
+
+        private static boolean isAsciiLetter(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+        }
+
+        private static boolean isTagSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+        }
+    }
+}
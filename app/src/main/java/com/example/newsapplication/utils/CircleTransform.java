@@ -3,6 +3,7 @@ package com.example.newsapplication.utils;
 import android.graphics.Bitmap;
 import android.graphics.BitmapShader;
 import android.graphics.Canvas;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Shader;
 
@@ -15,26 +16,23 @@ public class CircleTransform implements Transformation {
     public Bitmap transform(Bitmap source) {
         int size = Math.min(source.getWidth(), source.getHeight());
         
-        int x = (source.getWidth() - size) / 2;
-        int y = (source.getHeight() - size) / 2;
+        // Centre the square crop through the shader instead of copying it into a second bitmap
+        Matrix matrix = new Matrix();
+        matrix.setTranslate(-(source.getWidth() - size) / 2f, -(source.getHeight() - size) / 2f);
+        BitmapShader shader = new BitmapShader(source, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        shader.setLocalMatrix(matrix);
         
-        Bitmap squaredBitmap = Bitmap.createBitmap(source, x, y, size, size);
-        if (squaredBitmap != source) {
-            source.recycle();
-        }
-        
-        Bitmap bitmap = Bitmap.createBitmap(size, size, source.getConfig());
+        // The corners must be transparent, whatever config the source was decoded with
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
         
         Canvas canvas = new Canvas(bitmap);
-        Paint paint = new Paint();
-        BitmapShader shader = new BitmapShader(squaredBitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
         paint.setShader(shader);
-        paint.setAntiAlias(true);
         
         float radius = size / 2f;
         canvas.drawCircle(radius, radius, radius, paint);
         
-        squaredBitmap.recycle();
+        source.recycle();
         return bitmap;
     }
     
@@ -1,150 +1,310 @@
 package com.example.newsapplication.utils;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 import java.util.TimeZone;
 
-// Utility class for date formatting
+/**
+ * Utility class for date parsing and formatting.
+ *
+ * API timestamps are parsed once, when a model is built, into epoch millis with a hand-rolled
+ * ISO-8601 parser; list rows then format those millis with integer arithmetic instead of
+ * creating and running SimpleDateFormat on every bind. Dates are shown in the device's time
+ * zone. The String overloads remain for callers that only hold the raw value.
+ */
 public class DateUtils {
 
+    // Returned by parseIso for missing or malformed values
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
     private static final String[] MONTH_NAMES = {
         "January", "February", "March", "April", "May", "June",
         "July", "August", "September", "October", "November", "December"
     };
+    private static final String[] SHORT_MONTH_NAMES = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
 
-    // Format ISO date string to human readable format (e.g., "April, 21")
-    public static String formatToMonthDay(String isoDate) {
-        if (isoDate == null || isoDate.isEmpty()) {
-            return "";
+    private static final long MINUTE_MS = 60 * 1000;
+    private static final long HOUR_MS = 60 * MINUTE_MS;
+    private static final long DAY_MS = 24 * HOUR_MS;
+
+    // TimeZone.getDefault() returns a copy, so the zone is re-read once a minute rather than per bind
+    private static final long ZONE_RECHECK_MS = MINUTE_MS;
+    private static volatile TimeZone localZone = TimeZone.getDefault();
+    private static volatile long zoneCheckedAt = System.currentTimeMillis();
+
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(24);
+        }
+    };
+
+    /**
+     * Parse an ISO-8601 timestamp such as "2025-12-02", "2025-12-02T08:15:30",
+     * "2025-12-02T08:15:30.123456Z" or "2025-12-02T08:15:30+07:00" into epoch millis.
+     * A value without an offset is taken as UTC, which is what the API sends.
+     * Returns {@link #UNKNOWN} when the value is missing or malformed.
+     */
+    public static long parseIso(String value) {
+        if (value == null || value.length() < 10) {
+            return UNKNOWN;
         }
-        
-        try {
-            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-            
-            String dateStr = isoDate;
-            if (dateStr.contains("+")) {
-                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
-            } else if (dateStr.lastIndexOf("-") > 10) {
-                dateStr = dateStr.substring(0, dateStr.lastIndexOf("-"));
+        int len = value.length();
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return UNKNOWN;
+        }
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        int pos = 10;
+        if (pos < len && (value.charAt(pos) == 'T' || value.charAt(pos) == ' ')) {
+            hour = digits(value, pos + 1, 2);
+            minute = digits(value, pos + 4, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || value.charAt(pos + 3) != ':') {
+                return UNKNOWN;
             }
-            
-            Date date = isoFormat.parse(dateStr);
-            if (date == null) return "";
-            
-            SimpleDateFormat outputFormat = new SimpleDateFormat("MMMM, d", Locale.US);
-            return outputFormat.format(date);
-            
-        } catch (Exception e) {
-            try {
-                String[] parts = isoDate.split("T")[0].split("-");
-                if (parts.length >= 3) {
-                    int month = Integer.parseInt(parts[1]) - 1;
-                    int day = Integer.parseInt(parts[2]);
-                    if (month >= 0 && month < 12) {
-                        return MONTH_NAMES[month] + ", " + day;
-                    }
+            pos += 6;
+            if (pos < len && value.charAt(pos) == ':') {
+                second = digits(value, pos + 1, 2);
+                if (second < 0 || second > 60) {
+                    return UNKNOWN;
+                }
+                pos += 3;
+            }
+            if (pos < len && (value.charAt(pos) == '.' || value.charAt(pos) == ',')) {
+                // Fractions finer than a millisecond (the API sends microseconds) are dropped
+                pos++;
+                int scale = 100;
+                int start = pos;
+                while (pos < len && isDigit(value.charAt(pos))) {
+                    millis += (value.charAt(pos) - '0') * scale;
+                    scale /= 10;
+                    pos++;
+                }
+                if (pos == start) {
+                    return UNKNOWN;
+                }
+            }
+        }
+
+        long offsetMs = 0;
+        if (pos < len) {
+            char sign = value.charAt(pos);
+            if (sign == 'Z' || sign == 'z') {
+                pos++;
+            } else if (sign == '+' || sign == '-') {
+                int offsetHours = digits(value, pos + 1, 2);
+                pos += 3;
+                if (pos < len && value.charAt(pos) == ':') {
+                    pos++;
+                }
+                int offsetMinutes = 0;
+                if (pos < len) {
+                    offsetMinutes = digits(value, pos, 2);
+                    pos += 2;
+                }
+                if (offsetHours < 0 || offsetMinutes < 0) {
+                    return UNKNOWN;
+                }
+                offsetMs = (offsetHours * 60L + offsetMinutes) * MINUTE_MS;
+                if (sign == '-') {
+                    offsetMs = -offsetMs;
                 }
-            } catch (Exception ex) {
             }
+        }
+        if (pos != len) {
+            return UNKNOWN;
+        }
+
+        long days = daysFromCivil(year, month, day);
+        return days * DAY_MS + hour * HOUR_MS + minute * MINUTE_MS + second * 1000L + millis - offsetMs;
+    }
+
+    // Format ISO date string to human readable format (e.g., "April, 21")
+    public static String formatToMonthDay(String isoDate) {
+        return formatToMonthDay(parseIso(isoDate));
+    }
+
+    public static String formatToMonthDay(long epochMillis) {
+        if (epochMillis == UNKNOWN) {
             return "";
         }
+        int civil = localCivilDate(epochMillis);
+        StringBuilder sb = builder();
+        sb.append(MONTH_NAMES[civilMonth(civil) - 1]).append(", ").append(civilDay(civil));
+        return sb.toString();
     }
 
     // Format ISO date string to short format (e.g., "Apr, 21")
     public static String formatToShortMonthDay(String isoDate) {
-        if (isoDate == null || isoDate.isEmpty()) {
-            return "";
-        }
-        
-        try {
-            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-            
-            String dateStr = isoDate;
-            if (dateStr.contains("+")) {
-                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
-            } else if (dateStr.lastIndexOf("-") > 10) {
-                dateStr = dateStr.substring(0, dateStr.lastIndexOf("-"));
-            }
-            
-            Date date = isoFormat.parse(dateStr);
-            if (date == null) return "";
-            
-            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM, d", Locale.US);
-            return outputFormat.format(date);
-            
-        } catch (Exception e) {
+        return formatToShortMonthDay(parseIso(isoDate));
+    }
+
+    public static String formatToShortMonthDay(long epochMillis) {
+        if (epochMillis == UNKNOWN) {
             return "";
         }
+        StringBuilder sb = builder();
+        appendShortMonthDay(sb, localCivilDate(epochMillis));
+        return sb.toString();
     }
 
     // Format ISO date string to full format (e.g., "Dec 2, 2025")
     public static String formatToFullDate(String isoDate) {
-        if (isoDate == null || isoDate.isEmpty()) {
-            return "";
-        }
-        
-        try {
-            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-            
-            String dateStr = isoDate.split("\\.")[0];
-            if (dateStr.contains("+")) {
-                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
-            }
-            
-            Date date = isoFormat.parse(dateStr);
-            if (date == null) return "";
-            
-            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM d, yyyy", Locale.US);
-            return outputFormat.format(date);
-            
-        } catch (Exception e) {
+        return formatToFullDate(parseIso(isoDate));
+    }
+
+    public static String formatToFullDate(long epochMillis) {
+        if (epochMillis == UNKNOWN) {
             return "";
         }
+        int civil = localCivilDate(epochMillis);
+        StringBuilder sb = builder();
+        sb.append(SHORT_MONTH_NAMES[civilMonth(civil) - 1]).append(' ').append(civilDay(civil))
+                .append(", ").append(civilYear(civil));
+        return sb.toString();
     }
 
     // Get relative time string (e.g., "2 hours ago", "Yesterday")
     public static String getRelativeTime(String isoDate) {
-        if (isoDate == null || isoDate.isEmpty()) {
+        return getRelativeTime(parseIso(isoDate), System.currentTimeMillis());
+    }
+
+    public static String getRelativeTime(long epochMillis, long nowMillis) {
+        if (epochMillis == UNKNOWN) {
             return "";
         }
-        
-        try {
-            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-            
-            String dateStr = isoDate;
-            if (dateStr.contains("+")) {
-                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
-            } else if (dateStr.lastIndexOf("-") > 10) {
-                dateStr = dateStr.substring(0, dateStr.lastIndexOf("-"));
-            }
-            
-            Date date = isoFormat.parse(dateStr);
-            if (date == null) return "";
-            
-            long diffMs = System.currentTimeMillis() - date.getTime();
-            long diffMinutes = diffMs / (60 * 1000);
-            long diffHours = diffMs / (60 * 60 * 1000);
-            long diffDays = diffMs / (24 * 60 * 60 * 1000);
-            
-            if (diffMinutes < 1) {
-                return "Just now";
-            } else if (diffMinutes < 60) {
-                return diffMinutes + " min ago";
-            } else if (diffHours < 24) {
-                return diffHours + " hour" + (diffHours > 1 ? "s" : "") + " ago";
-            } else if (diffDays < 7) {
-                return diffDays + " day" + (diffDays > 1 ? "s" : "") + " ago";
-            } else {
-                return formatToShortMonthDay(isoDate);
+        StringBuilder sb = builder();
+        appendRelativeTime(sb, epochMillis, nowMillis);
+        return sb.toString();
+    }
+
+    /**
+     * Append "Just now", "5 min ago", "2 hours ago" or "3 days ago"; anything a week old or
+     * more is shown as a short date instead.
+     */
+    public static void appendRelativeTime(StringBuilder out, long epochMillis, long nowMillis) {
+        long diffMs = nowMillis - epochMillis;
+        long diffMinutes = diffMs / MINUTE_MS;
+        long diffHours = diffMs / HOUR_MS;
+        long diffDays = diffMs / DAY_MS;
+
+        if (diffMinutes < 1) {
+            out.append("Just now");
+        } else if (diffMinutes < 60) {
+            out.append(diffMinutes).append(" min ago");
+        } else if (diffHours < 24) {
+            out.append(diffHours).append(diffHours > 1 ? " hours ago" : " hour ago");
+        } else if (diffDays < 7) {
+            out.append(diffDays).append(diffDays > 1 ? " days ago" : " day ago");
+        } else {
+            appendShortMonthDay(out, localCivilDate(epochMillis));
+        }
+    }
+
+    /**
+     * The moment the label from {@link #appendRelativeTime} next reads differently: the next
+     * whole minute, hour or day since {@code epochMillis}. Returns Long.MAX_VALUE once the
+     * label has settled into a date, and for {@link #UNKNOWN}.
+     */
+    public static long nextRelativeTimeChange(long epochMillis, long nowMillis) {
+        if (epochMillis == UNKNOWN) {
+            return Long.MAX_VALUE;
+        }
+        long diffMs = nowMillis - epochMillis;
+        long unit;
+        if (diffMs < HOUR_MS) {
+            unit = MINUTE_MS;
+        } else if (diffMs < DAY_MS) {
+            unit = HOUR_MS;
+        } else if (diffMs < 7 * DAY_MS) {
+            unit = DAY_MS;
+        } else {
+            return Long.MAX_VALUE;
+        }
+        // Timestamps slightly in the future read "Just now" until a minute after them
+        long elapsedUnits = Math.max(0, diffMs / unit);
+        return epochMillis + (elapsedUnits + 1) * unit;
+    }
+
+    private static void appendShortMonthDay(StringBuilder out, int civil) {
+        out.append(SHORT_MONTH_NAMES[civilMonth(civil) - 1]).append(", ").append(civilDay(civil));
+    }
+
+    private static StringBuilder builder() {
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static int localCivilDate(long epochMillis) {
+        long now = System.currentTimeMillis();
+        if (now - zoneCheckedAt > ZONE_RECHECK_MS || now < zoneCheckedAt) {
+            localZone = TimeZone.getDefault();
+            zoneCheckedAt = now;
+        }
+        long local = epochMillis + localZone.getOffset(epochMillis);
+        return civilFromDays(Math.floorDiv(local, DAY_MS));
+    }
+
+    private static int digits(String value, int start, int count) {
+        if (start + count > value.length()) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
             }
-            
-        } catch (Exception e) {
-            return "";
+            result = result * 10 + (c - '0');
         }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's algorithm)
+    static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    // Inverse of daysFromCivil, packed as yyyymmdd to avoid allocating a holder
+    static int civilFromDays(long days) {
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int civilYear(int civil) {
+        return civil / 10000;
+    }
+
+    private static int civilMonth(int civil) {
+        return civil / 100 % 100;
+    }
+
+    private static int civilDay(int civil) {
+        return civil % 100;
     }
 }
@@ -0,0 +1,163 @@
+package com.example.newsapplication.utils;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.StatFs;
+import android.util.Log;
+
+import com.squareup.picasso.Callback;
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.MemoryPolicy;
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.StatsSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+/**
+ * Picasso configuration shared by the whole app.
+ *
+ * The memory cache is an LRU sized from the device's memory class, and image bytes go
+ * through a bounded OkHttp disk cache. Feed images are always decoded at the size of the
+ * view they land in, and transformed images (circle avatars) are cached under a key that
+ * includes the target size and transformation, so the cropped copy is reused instead of
+ * being redrawn from the full download on every bind.
+ */
+public class ImageLoader {
+    private static final String TAG = "ImageLoader";
+    public static final String DISK_CACHE_DIR = "images";
+
+    // Fraction of the app heap given to decoded bitmaps; low-RAM devices get half as much
+    private static final int MEMORY_CACHE_DIVISOR = 7;
+    private static final int LOW_RAM_MEMORY_CACHE_DIVISOR = 14;
+    private static final long MIN_DISK_CACHE_BYTES = 10L * 1024 * 1024;
+    private static final long MAX_DISK_CACHE_BYTES = 50L * 1024 * 1024;
+
+    private static final CircleTransform CIRCLE = new CircleTransform();
+    private static LruCache memoryCache;
+
+    private ImageLoader() {
+    }
+
+    public static synchronized void install(Context context) {
+        if (memoryCache != null) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        memoryCache = new LruCache(memoryCacheSize(appContext));
+
+        File cacheDir = new File(appContext.getCacheDir(), DISK_CACHE_DIR);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .cache(new Cache(cacheDir, diskCacheSize(cacheDir)))
+                .build();
+
+        Picasso picasso = new Picasso.Builder(appContext)
+                .memoryCache(memoryCache)
+                .downloader(new OkHttp3Downloader(client))
+                // Disable Picasso debug indicators (blue/green/red corners)
+                .indicatorsEnabled(false)
+                .loggingEnabled(false)
+                .build();
+        Picasso.setSingletonInstance(picasso);
+    }
+
+    // Opaque article images decoded to the target view size at 2 bytes per pixel
+    public static RequestCreator thumbnail(String url) {
+        return Picasso.get()
+                .load(url)
+                .fit()
+                .centerCrop()
+                .config(Bitmap.Config.RGB_565);
+    }
+
+    // Circle-cropped avatar or logo, scaled down to the view before cropping
+    public static RequestCreator avatar(String url) {
+        return Picasso.get()
+                .load(url)
+                .fit()
+                .centerCrop()
+                .transform(CIRCLE);
+    }
+
+    // Square avatar or logo that the view clips itself
+    public static RequestCreator icon(String url) {
+        return Picasso.get()
+                .load(url)
+                .fit()
+                .centerCrop();
+    }
+
+    /**
+     * Blocking fetch for places without a view, such as notifications; never call it on the
+     * main thread. The download goes through the same disk cache as the feed, so an image
+     * the feed already loaded is decoded from disk instead of fetched again.
+     */
+    public static Bitmap fetch(String url, int widthPx, int heightPx) throws IOException {
+        return Picasso.get()
+                .load(url)
+                .resize(widthPx, heightPx)
+                .centerCrop()
+                .onlyScaleDown()
+                .get();
+    }
+
+    // Download into the disk cache ahead of a screen that will show the image; nothing is kept decoded
+    public static void prefetch(String url, Callback callback) {
+        Picasso.get()
+                .load(url)
+                .memoryPolicy(MemoryPolicy.NO_STORE)
+                .fetch(callback);
+    }
+
+    public static StatsSnapshot getStats() {
+        return Picasso.get().getSnapshot();
+    }
+
+    public static void logStats() {
+        StatsSnapshot stats = getStats();
+        Log.d(TAG, "memory " + stats.size / 1024 + "/" + stats.maxSize / 1024 + " KB, hits " + stats.cacheHits
+                + ", misses " + stats.cacheMisses + ", downloaded " + stats.totalDownloadSize / 1024 + " KB");
+    }
+
+    public static void onTrimMemory(int level) {
+        LruCache cache = memoryCache;
+        if (cache == null) {
+            return;
+        }
+        // Keep the cache when the UI is merely hidden so coming back is instant
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                && level != ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            cache.clear();
+        }
+    }
+
+    static int memoryCacheSize(Context context) {
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClassMb = am != null ? am.getMemoryClass() : 64;
+        boolean lowRam = am != null && am.isLowRamDevice();
+        long heapBytes = memoryClassMb * 1024L * 1024L;
+        return (int) (heapBytes / (lowRam ? LOW_RAM_MEMORY_CACHE_DIVISOR : MEMORY_CACHE_DIVISOR));
+    }
+
+    // 2% of the free space on the cache partition, clamped to [10 MB, 50 MB]
+    static long diskCacheSize(File dir) {
+        long size = MIN_DISK_CACHE_BYTES;
+        try {
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            StatFs statFs = new StatFs(dir.getAbsolutePath());
+            size = statFs.getAvailableBytes() / 50;
+        } catch (IllegalArgumentException e) {
+            // Path not available yet; keep the minimum
+        }
+        return Math.max(MIN_DISK_CACHE_BYTES, Math.min(size, MAX_DISK_CACHE_BYTES));
+    }
+}
@@ -4,6 +4,10 @@ import com.example.newsapplication.R;
 import com.example.newsapplication.model.Article;
 import com.example.newsapplication.model.Category;
 import com.example.newsapplication.model.Channel;
+import com.example.newsapplication.model.Comment;
+import com.example.newsapplication.model.User;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -189,6 +193,82 @@ public class JsonParsingUtils {
         return bookmarkedIds;
     }
 
+    // Parse bookmarked articles; each bookmark may embed its article under "articles"/"article" or be flat
+    public static List<Article> parseBookmarkedArticles(JSONObject response) {
+        List<Article> articles = new ArrayList<>();
+
+        try {
+            JSONArray bookmarksArray = extractBookmarksArray(response);
+
+            if (bookmarksArray != null) {
+                for (int i = 0; i < bookmarksArray.length(); i++) {
+                    JSONObject bookmark = bookmarksArray.getJSONObject(i);
+                    Article article = null;
+
+                    if (bookmark.optJSONObject("articles") != null) {
+                        article = parseArticle(bookmark.getJSONObject("articles"));
+                    } else if (bookmark.optJSONObject("article") != null) {
+                        article = parseArticle(bookmark.getJSONObject("article"));
+                    } else if (bookmark.has("title") && bookmark.has("id")) {
+                        article = parseArticle(bookmark);
+                    } else if (bookmark.has("article_id")) {
+                        article = parseArticle(bookmark);
+                        if (article != null) {
+                            article.setId(bookmark.optString("article_id"));
+                            article.setTitle(bookmark.optString("title", "Saved Article"));
+                        }
+                    }
+
+                    if (article != null) {
+                        article.setBookmarked(true);
+                        articles.add(article);
+                    }
+                }
+            }
+        } catch (Exception e) {
+        }
+
+        return articles;
+    }
+
+    // Parse article comments from various API response formats
+    public static List<Comment> parseComments(JSONObject response) {
+        List<Comment> comments = new ArrayList<>();
+
+        try {
+            JSONArray commentsArray = null;
+            if (response.has("comments")) {
+                commentsArray = response.getJSONArray("comments");
+            } else if (response.has("data")) {
+                Object dataObj = response.get("data");
+                if (dataObj instanceof JSONArray) {
+                    commentsArray = (JSONArray) dataObj;
+                } else if (dataObj instanceof JSONObject && ((JSONObject) dataObj).has("comments")) {
+                    commentsArray = ((JSONObject) dataObj).getJSONArray("comments");
+                }
+            } else if (response.has("items")) {
+                commentsArray = response.getJSONArray("items");
+            }
+
+            if (commentsArray != null) {
+                for (int i = 0; i < commentsArray.length(); i++) {
+                    comments.add(Comment.fromJson(commentsArray.getJSONObject(i)));
+                }
+            }
+        } catch (Exception e) {
+        }
+
+        return comments;
+    }
+
+    // Parse admin user profiles ("data.profiles" or "profiles") with Gson
+    public static List<User> parseUserProfiles(JSONObject response) throws Exception {
+        JSONObject data = response.has("data") ? response.getJSONObject("data") : response;
+        JSONArray profilesArray = data.getJSONArray("profiles");
+        List<User> users = new Gson().fromJson(profilesArray.toString(), new TypeToken<List<User>>(){}.getType());
+        return users != null ? users : new ArrayList<>();
+    }
+
     // Extract articles array from various response formats
     private static JSONArray extractArticlesArray(JSONObject response) {
         try {
@@ -302,6 +382,9 @@ public class JsonParsingUtils {
                 if (dataObj.has("bookmarks")) {
                     return dataObj.getJSONArray("bookmarks");
                 }
+                if (dataObj.has("results")) {
+                    return dataObj.getJSONArray("results");
+                }
             }
             
             if (response.has("bookmarks")) {
@@ -311,6 +394,10 @@ public class JsonParsingUtils {
             if (response.has("results")) {
                 return response.getJSONArray("results");
             }
+
+            if (response.has("data") && response.opt("data") instanceof JSONArray) {
+                return response.getJSONArray("data");
+            }
         } catch (Exception e) {
         }
         
@@ -0,0 +1,35 @@
+package com.example.newsapplication.utils;
+
+import android.util.Base64;
+import org.json.JSONObject;
+
+// Utility class for reading claims out of JWT access tokens (no signature verification)
+public class JwtUtils {
+
+    // Get the "exp" claim of a JWT in epoch millis, or -1 if it can't be read
+    public static long getExpiryMillis(String token) {
+        if (token == null || token.isEmpty()) {
+            return -1;
+        }
+
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return -1;
+        }
+
+        try {
+            byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_PADDING | Base64.NO_WRAP);
+            JSONObject claims = new JSONObject(new String(payload, "UTF-8"));
+            long exp = claims.optLong("exp", -1);
+            return exp > 0 ? exp * 1000L : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    // Check whether the token expires within the given window; unreadable tokens are never "expiring"
+    public static boolean isExpiringWithin(String token, long windowMs) {
+        long expiry = getExpiryMillis(token);
+        return expiry > 0 && expiry - System.currentTimeMillis() <= windowMs;
+    }
+}
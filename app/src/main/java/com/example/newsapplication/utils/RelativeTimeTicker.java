@@ -0,0 +1,96 @@
+package com.example.newsapplication.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One clock for every list that shows "5 min ago" style labels.
+ *
+ * Instead of ticking every second, each listener says when its earliest visible label next
+ * changes (see {@link DateUtils#nextRelativeTimeChange}) and the ticker posts a single
+ * callback for the soonest of those moments. A listener is called once when its moment has
+ * passed and must schedule itself again for the labels it still shows.
+ *
+ * Main thread only.
+ */
+public class RelativeTimeTicker {
+
+    public interface Listener {
+        void onTimeChanged(long nowMillis);
+    }
+
+    private static RelativeTimeTicker instance;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable tickTask = this::tick;
+    private final Map<Listener, Long> dueAt = new HashMap<>();
+    private long scheduledAt = Long.MAX_VALUE;
+
+    public static synchronized RelativeTimeTicker getInstance() {
+        if (instance == null) {
+            instance = new RelativeTimeTicker();
+        }
+        return instance;
+    }
+
+    private RelativeTimeTicker() {
+    }
+
+    // Call the listener at atMillis, or earlier if it is already due sooner
+    public void scheduleAt(Listener listener, long atMillis) {
+        if (atMillis == Long.MAX_VALUE) {
+            return;
+        }
+        Long current = dueAt.get(listener);
+        if (current != null && current <= atMillis) {
+            return;
+        }
+        dueAt.put(listener, atMillis);
+        if (atMillis < scheduledAt) {
+            post(atMillis);
+        }
+    }
+
+    public void cancel(Listener listener) {
+        dueAt.remove(listener);
+        if (dueAt.isEmpty()) {
+            mainHandler.removeCallbacks(tickTask);
+            scheduledAt = Long.MAX_VALUE;
+        }
+    }
+
+    private void tick() {
+        scheduledAt = Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        List<Listener> due = new ArrayList<>();
+        long next = Long.MAX_VALUE;
+        for (Map.Entry<Listener, Long> entry : dueAt.entrySet()) {
+            if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+            } else {
+                next = Math.min(next, entry.getValue());
+            }
+        }
+        for (Listener listener : due) {
+            dueAt.remove(listener);
+        }
+        if (next != Long.MAX_VALUE) {
+            post(next);
+        }
+        // Listeners reschedule themselves from here
+        for (Listener listener : due) {
+            listener.onTimeChanged(now);
+        }
+    }
+
+    private void post(long atMillis) {
+        mainHandler.removeCallbacks(tickTask);
+        scheduledAt = atMillis;
+        mainHandler.postDelayed(tickTask, Math.max(0, atMillis - System.currentTimeMillis()));
+    }
+}
@@ -2,7 +2,14 @@ package com.example.newsapplication.utils;
 
 import android.content.Context;
 import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.Volley;
+import com.android.volley.toolbox.BaseHttpStack;
+import com.android.volley.toolbox.BasicNetwork;
+import com.android.volley.toolbox.DiskBasedCache;
+import com.android.volley.toolbox.HurlStack;
+import com.example.newsapplication.api.ApiConfig;
+import com.example.newsapplication.api.OkHttpStack;
+
+import java.io.File;
 
 public class VolleySingleton {
     private static VolleySingleton instance;
@@ -23,8 +30,26 @@ public class VolleySingleton {
 
     public RequestQueue getRequestQueue() {
         if (requestQueue == null) {
-            requestQueue = Volley.newRequestQueue(context.getApplicationContext());
+            // Bounded disk cache for API responses (see ResponseCachePolicy for per-endpoint TTLs)
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), ApiConfig.RESPONSE_CACHE_DIR);
+            requestQueue = new RequestQueue(
+                new DiskBasedCache(cacheDir, ApiConfig.RESPONSE_CACHE_SIZE_BYTES),
+                new BasicNetwork(createHttpStack()),
+                ApiConfig.NETWORK_THREAD_POOL_SIZE);
+            requestQueue.start();
         }
         return requestQueue;
     }
+
+    // Pooled OkHttp transport by default, falling back to the stock HttpURLConnection stack
+    private static BaseHttpStack createHttpStack() {
+        if (ApiConfig.USE_OKHTTP_TRANSPORT) {
+            try {
+                return new OkHttpStack();
+            } catch (Throwable t) {
+                android.util.Log.e("VolleySingleton", "OkHttp transport unavailable, using HurlStack", t);
+            }
+        }
+        return new HurlStack();
+    }
 }
\ No newline at end of file
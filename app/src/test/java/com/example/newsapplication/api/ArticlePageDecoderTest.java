@@ -0,0 +1,86 @@
+package com.example.newsapplication.api;
+
+import com.example.newsapplication.model.Article;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ArticlePageDecoder
+ */
+public class ArticlePageDecoderTest {
+
+    private static List<Article> decode(String json, boolean includeContent) throws Exception {
+        return new ArticlePageDecoder(includeContent).decode(json.getBytes(StandardCharsets.UTF_8), "UTF-8");
+    }
+
+    @Test
+    public void testDecode_dataArticlesEnvelope() throws Exception {
+        // Arrange
+        String json = "{\"success\":true,\"data\":{\"total\":1,\"articles\":[{"
+            + "\"id\":\"a1\",\"title\":\"Title\",\"summary\":\"Sum\",\"content\":\"<p>Body</p>\","
+            + "\"author\":{\"display_name\":\"Jane\"},\"channels\":{\"name\":\"Tech Daily\"},"
+            + "\"status\":\"published\",\"created_at\":\"2024-12-02T10:00:00\"}]}}";
+
+        // Act
+        List<Article> result = decode(json, true);
+
+        // Assert
+        assertEquals(1, result.size());
+        Article article = result.get(0);
+        assertEquals("a1", article.getId());
+        assertEquals("Jane", article.getAuthor());
+        assertEquals("Tech Daily", article.getChannelName());
+        assertEquals("published", article.getStatus());
+        assertEquals("<p>Body</p>", article.getContent());
+        assertEquals("2024-12-02T10:00:00", article.getPublishedAt());
+    }
+
+    @Test
+    public void testDecode_skipsContentWhenNotRequested() throws Exception {
+        String json = "{\"results\":[{\"id\":\"1\",\"content\":\"<p>Large body</p>\",\"channel_id\":5}]}";
+
+        List<Article> result = decode(json, false);
+
+        assertEquals(1, result.size());
+        assertEquals("", result.get(0).getContent());
+        assertEquals("Channel 5", result.get(0).getCategory());
+    }
+
+    @Test
+    public void testDecode_topLevelDataArrayWithNulls() throws Exception {
+        String json = "{\"data\":[{\"id\":7,\"title\":null,\"source_url\":\"https://example.com/x\"}]}";
+
+        List<Article> result = decode(json, true);
+
+        assertEquals(1, result.size());
+        assertEquals("7", result.get(0).getId());
+        assertEquals("Unknown Title", result.get(0).getTitle());
+        assertEquals("example.com", result.get(0).getSource());
+    }
+
+    @Test
+    public void testDecode_unexpectedFieldTypesKeepDefaults() throws Exception {
+        String json = "{\"data\":[{\"id\":\"a1\",\"title\":{\"en\":\"Title\"},\"summary\":[\"x\"],"
+            + "\"author\":false,\"hero_image_url\":{},\"published_at\":true},{\"id\":\"a2\",\"title\":\"Second\"}]}";
+
+        List<Article> result = decode(json, true);
+
+        assertEquals(2, result.size());
+        assertEquals("a1", result.get(0).getId());
+        assertEquals("Unknown Title", result.get(0).getTitle());
+        assertEquals("Unknown Author", result.get(0).getAuthor());
+        assertEquals("Second", result.get(1).getTitle());
+    }
+
+    @Test
+    public void testDecode_noArticles() throws Exception {
+        List<Article> result = decode("{\"detail\":\"nothing here\"}", true);
+
+        assertNotNull(result);
+        assertEquals(0, result.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.newsapplication.api;
+
+import com.android.volley.Cache;
+import com.android.volley.Request;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ResponseCachePolicy
+ */
+public class ResponseCachePolicyTest {
+
+    @Test
+    public void testIsCacheable_onlyGetOutsideAuth() {
+        assertTrue(ResponseCachePolicy.isCacheable(Request.Method.GET, ApiConfig.API_VERSION + "/categories/"));
+        assertFalse(ResponseCachePolicy.isCacheable(Request.Method.POST, ApiConfig.API_VERSION + "/categories/"));
+        assertFalse(ResponseCachePolicy.isCacheable(Request.Method.GET, ApiConfig.API_VERSION + "/auth/me"));
+    }
+
+    @Test
+    public void testCacheKey_differsByAuthScope() {
+        String url = ApiConfig.BASE_URL + ApiConfig.API_VERSION + "/users/me/bookmarks";
+
+        String guestKey = ResponseCachePolicy.cacheKey(Request.Method.GET, url, "guest");
+        String userKey = ResponseCachePolicy.cacheKey(Request.Method.GET, url, "user-1");
+
+        assertNotEquals(guestKey, userKey);
+    }
+
+    @Test
+    public void testApplyTtl_categoriesStaleWhileRevalidate() {
+        // Arrange
+        Cache.Entry entry = new Cache.Entry();
+        long before = System.currentTimeMillis();
+
+        // Act
+        ResponseCachePolicy.applyTtl(ApiConfig.API_VERSION + "/categories/", entry);
+
+        // Assert
+        assertTrue(entry.softTtl > before);
+        assertTrue(entry.ttl > entry.softTtl);
+    }
+
+    @Test
+    public void testApplyTtl_categoryArticlesNotExtended() {
+        // Arrange
+        Cache.Entry entry = new Cache.Entry();
+
+        // Act
+        ResponseCachePolicy.applyTtl(ApiConfig.API_VERSION + "/categories/3?page=1", entry);
+
+        // Assert
+        assertEquals(0, entry.softTtl);
+        assertEquals(0, entry.ttl);
+    }
+
+    @Test
+    public void testInvalidatedBy_bookmarkMutation() {
+        String[] stale = ResponseCachePolicy.invalidatedBy(ApiConfig.API_VERSION + "/articles/42/bookmark");
+
+        assertEquals(1, stale.length);
+        assertEquals(ApiConfig.API_VERSION + "/users/me/bookmarks", stale[0]);
+    }
+
+    @Test
+    public void testInvalidatedBy_unrelatedMutation() {
+        assertEquals(0, ResponseCachePolicy.invalidatedBy(ApiConfig.API_VERSION + "/users/change-password").length);
+    }
+}
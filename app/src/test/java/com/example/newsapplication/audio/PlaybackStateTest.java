@@ -0,0 +1,54 @@
+package com.example.newsapplication.audio;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PlaybackState position extrapolation
+ */
+public class PlaybackStateTest {
+
+    @Test
+    public void testPosition_advancesWhilePlaying() {
+        // Arrange
+        PlaybackState state = new PlaybackState(true, 5000, 60000, "Title", "1", 1000);
+
+        // Act
+        int position = state.getPositionMs(3500);
+
+        // Assert
+        assertEquals(7500, position);
+    }
+
+    @Test
+    public void testPosition_frozenWhilePaused() {
+        // Arrange
+        PlaybackState state = new PlaybackState(false, 5000, 60000, "Title", "1", 1000);
+
+        // Act
+        int position = state.getPositionMs(10000);
+
+        // Assert
+        assertEquals(5000, position);
+    }
+
+    @Test
+    public void testPosition_cappedAtDuration() {
+        // Arrange
+        PlaybackState state = new PlaybackState(true, 58000, 60000, "Title", "1", 0);
+
+        // Act
+        int position = state.getPositionMs(10000);
+
+        // Assert
+        assertEquals(60000, position);
+    }
+
+    @Test
+    public void testIdle_hasNoAudio() {
+        assertFalse(PlaybackState.IDLE.hasAudio());
+        assertFalse(PlaybackState.IDLE.isPlaying());
+        assertEquals(0, PlaybackState.IDLE.getPositionMs(1000));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.newsapplication.notifications;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DeviceRegistration retry policy
+ */
+public class DeviceRegistrationTest {
+
+    @Test
+    public void testBackoff_doublesPerAttempt() {
+        // Act
+        long first = DeviceRegistration.backoffDelayMs(1, 1.0);
+        long second = DeviceRegistration.backoffDelayMs(2, 1.0);
+        long third = DeviceRegistration.backoffDelayMs(3, 1.0);
+
+        // Assert
+        assertEquals(DeviceRegistration.BASE_BACKOFF_MS, first);
+        assertEquals(2 * first, second);
+        assertEquals(4 * first, third);
+    }
+
+    @Test
+    public void testBackoff_jitterKeepsAtLeastHalfTheStep() {
+        // Act
+        long noJitter = DeviceRegistration.backoffDelayMs(3, 0.0);
+        long fullJitter = DeviceRegistration.backoffDelayMs(3, 1.0);
+
+        // Assert
+        assertEquals(fullJitter / 2, noJitter);
+    }
+
+    @Test
+    public void testBackoff_cappedForLargeAttempts() {
+        // Act
+        long delay = DeviceRegistration.backoffDelayMs(1000, 1.0);
+
+        // Assert
+        assertEquals(DeviceRegistration.MAX_BACKOFF_MS, delay);
+    }
+
+    @Test
+    public void testPermanentFailure_onlyForNonRetryableClientErrors() {
+        assertTrue(DeviceRegistration.isPermanentFailure(400));
+        assertTrue(DeviceRegistration.isPermanentFailure(422));
+        assertFalse(DeviceRegistration.isPermanentFailure(408));
+        assertFalse(DeviceRegistration.isPermanentFailure(429));
+        assertFalse(DeviceRegistration.isPermanentFailure(500));
+        assertFalse(DeviceRegistration.isPermanentFailure(0));
+    }
+}
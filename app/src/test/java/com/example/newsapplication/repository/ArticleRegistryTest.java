@@ -0,0 +1,95 @@
+package com.example.newsapplication.repository;
+
+import com.example.newsapplication.model.Article;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ArticleRegistry
+ */
+public class ArticleRegistryTest {
+
+    private static Article article(String id, int contentChars) {
+        Article article = new Article();
+        article.setId(id);
+        article.setContent(new String(new char[contentChars]));
+        return article;
+    }
+
+    @Test
+    public void testGet_returnsSameInstance() {
+        // Arrange
+        ArticleRegistry registry = new ArticleRegistry(10_000);
+        Article article = article("a1", 100);
+
+        // Act
+        registry.put(article);
+
+        // Assert
+        assertSame(article, registry.get("a1"));
+        assertNull(registry.get("missing"));
+    }
+
+    @Test
+    public void testPut_ignoresArticlesWithoutId() {
+        // Arrange
+        ArticleRegistry registry = new ArticleRegistry(10_000);
+
+        // Act
+        registry.put(article(null, 100));
+        registry.put(article("", 100));
+
+        // Assert
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsedPastLimit() {
+        // Arrange
+        long perArticle = ArticleRegistry.sizeOf(article("x", 1000));
+        ArticleRegistry registry = new ArticleRegistry(perArticle * 2);
+        Article first = article("a1", 1000);
+        Article second = article("a2", 1000);
+        registry.put(first);
+        registry.put(second);
+
+        // Act: a1 is used again, so a2 is the eldest when a3 arrives
+        registry.get("a1");
+        registry.put(article("a3", 1000));
+
+        // Assert
+        assertEquals(perArticle * 2, registry.size());
+        // Evicted entries are still found while referenced elsewhere
+        assertSame(second, registry.get("a2"));
+    }
+
+    @Test
+    public void testPut_replacingKeepsSizeAccurate() {
+        // Arrange
+        ArticleRegistry registry = new ArticleRegistry(1_000_000);
+        registry.put(article("a1", 1000));
+
+        // Act
+        Article updated = article("a1", 10);
+        registry.put(updated);
+
+        // Assert
+        assertEquals(ArticleRegistry.sizeOf(updated), registry.size());
+        assertSame(updated, registry.get("a1"));
+    }
+
+    @Test
+    public void testPut_keepsNewestEvenWhenOverLimit() {
+        // Arrange
+        ArticleRegistry registry = new ArticleRegistry(10);
+        Article huge = article("a1", 5000);
+
+        // Act
+        registry.put(huge);
+
+        // Assert
+        assertSame(huge, registry.get("a1"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.newsapplication.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MutationQueue coalescing
+ */
+public class MutationQueueTest {
+
+    private static MutationQueue.Mutation mutation(String type, String target) {
+        return new MutationQueue.Mutation(type, target, null, "user", type + ":" + target);
+    }
+
+    @Test
+    public void testCoalesce_oppositeToggleCancelsOut() {
+        // Arrange
+        List<MutationQueue.Mutation> queue = new ArrayList<>();
+        queue.add(mutation(MutationQueue.BOOKMARK, "a1"));
+
+        // Act
+        boolean coalesced = MutationQueue.coalesce(queue, mutation(MutationQueue.UNBOOKMARK, "a1"), false);
+
+        // Assert
+        assertTrue(coalesced);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testCoalesce_sameToggleIsNotQueuedTwice() {
+        // Arrange
+        List<MutationQueue.Mutation> queue = new ArrayList<>();
+        queue.add(mutation(MutationQueue.FOLLOW, "7"));
+
+        // Act
+        boolean coalesced = MutationQueue.coalesce(queue, mutation(MutationQueue.FOLLOW, "7"), false);
+
+        // Assert
+        assertTrue(coalesced);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testCoalesce_inFlightHeadIsKept() {
+        // Arrange
+        List<MutationQueue.Mutation> queue = new ArrayList<>();
+        queue.add(mutation(MutationQueue.BOOKMARK, "a1"));
+
+        // Act
+        boolean coalesced = MutationQueue.coalesce(queue, mutation(MutationQueue.UNBOOKMARK, "a1"), true);
+
+        // Assert
+        assertFalse(coalesced);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testCoalesce_otherTargetsAndCommentsAreAppended() {
+        // Arrange
+        List<MutationQueue.Mutation> queue = new ArrayList<>();
+        queue.add(mutation(MutationQueue.BOOKMARK, "a1"));
+        queue.add(mutation(MutationQueue.COMMENT, "a1"));
+
+        // Act & Assert
+        assertFalse(MutationQueue.coalesce(queue, mutation(MutationQueue.UNBOOKMARK, "a2"), false));
+        assertFalse(MutationQueue.coalesce(queue, mutation(MutationQueue.COMMENT, "a1"), false));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testIsAlreadyApplied_onlyForBookmarks() {
+        assertTrue(MutationQueue.isAlreadyApplied(mutation(MutationQueue.BOOKMARK, "a1"), 409));
+        assertTrue(MutationQueue.isAlreadyApplied(mutation(MutationQueue.UNBOOKMARK, "a1"), 404));
+        assertFalse(MutationQueue.isAlreadyApplied(mutation(MutationQueue.COMMENT, "a1"), 400));
+        assertFalse(MutationQueue.isAlreadyApplied(mutation(MutationQueue.FOLLOW, "7"), 404));
+        assertFalse(MutationQueue.isAlreadyApplied(mutation(MutationQueue.BOOKMARK, "a1"), 403));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.newsapplication.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ArticleHtml
+ */
+public class ArticleHtmlTest {
+    private static final String SANDBOX = "allow-scripts allow-same-origin allow-presentation";
+
+    @Test
+    public void testSanitize_keepsArticleMarkup() {
+        // Arrange
+        String html = "<p class=\"Normal\">One = two</p><img src=\"https://cdn.example.com/a.jpg\">"
+                + "<iframe src=\"https://www.youtube.com/embed/x\"></iframe>";
+        String expected = "<p class=\"Normal\">One = two</p><img src=\"https://cdn.example.com/a.jpg\">"
+                + "<iframe src=\"https://www.youtube.com/embed/x\" sandbox=\"" + SANDBOX + "\"></iframe>";
+
+        // Act & Assert
+        assertEquals(expected, ArticleHtml.sanitize(html));
+    }
+
+    @Test
+    public void testSanitize_removesScripts() {
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<script>alert(1)</script><p>ok</p>"));
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<SCRIPT src=\"x.js\"><p>ok</p>"));
+        assertEquals("", ArticleHtml.sanitize("<meta http-equiv=\"refresh\" content=\"0\"><base href=\"x\">"));
+    }
+
+    @Test
+    public void testSanitize_removesEventHandlers() {
+        assertEquals("<img src=\"x\">", ArticleHtml.sanitize("<img src=x onerror=alert(1) onload='y'>"));
+        assertEquals("<img src=\"a.jpg\">", ArticleHtml.sanitize("<img/onerror=\"x\" src=\"a.jpg\">"));
+    }
+
+    @Test
+    public void testSanitize_quotedGreaterThanDoesNotEndTag() {
+        assertEquals("<img src=\"x\" title=\">\">",
+                ArticleHtml.sanitize("<img src=x title=\">\" onerror=alert(1)>"));
+    }
+
+    @Test
+    public void testSanitize_removesScriptUrls() {
+        assertEquals("<a>x</a>", ArticleHtml.sanitize("<a href=\"javascript:alert(1)\">x</a>"));
+        assertEquals("<a>x</a>", ArticleHtml.sanitize("<a href = ' JavaScript:go()'>x</a>"));
+        assertEquals("<a>x</a>", ArticleHtml.sanitize("<a href=\"jav&#x61;script:alert(1)\">x</a>"));
+        assertEquals("<a>x</a>", ArticleHtml.sanitize("<a href=\"java&#9;script&colon;alert(1)\">x</a>"));
+        assertEquals("<iframe sandbox=\"" + SANDBOX + "\"></iframe>", ArticleHtml.sanitize("<iframe src=\"data:text/html,<script>x</script>\"></iframe>"));
+    }
+
+    @Test
+    public void testSanitize_sandboxesIframes() {
+        assertEquals("<iframe src=\"https://player.example.com/v\" sandbox=\"" + SANDBOX + "\"></iframe>",
+                ArticleHtml.sanitize("<iframe sandbox=\"allow-top-navigation allow-popups\" src=\"https://player.example.com/v\"></iframe>"));
+        assertEquals("<p>x</p>", ArticleHtml.sanitize("<p sandbox>x</p>"));
+    }
+
+    @Test
+    public void testSanitize_keepsWebUrls() {
+        assertEquals("<a href=\"https://example.com/a?b=1&amp;c=2\">x</a>",
+                ArticleHtml.sanitize("<a href=\"https://example.com/a?b=1&amp;c=2\">x</a>"));
+        assertEquals("<a href=\"/news/1#top\">x</a>", ArticleHtml.sanitize("<a href='/news/1#top'>x</a>"));
+    }
+
+    @Test
+    public void testSanitize_removesEmbeddedDocuments() {
+        assertEquals("<iframe sandbox=\"" + SANDBOX + "\"></iframe>",
+                ArticleHtml.sanitize("<iframe srcdoc=\"<script>alert(1)</script>\"></iframe>"));
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<object data=\"javascript:alert(1)\"><p>no</p></object><p>ok</p>"));
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<embed src=\"x.swf\"><svg><script>alert(1)</script></svg><p>ok</p>"));
+    }
+
+    @Test
+    public void testSanitize_escapesStrayMarkup() {
+        assertEquals("a &lt; b", ArticleHtml.sanitize("a < b"));
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<p>ok</p><!-- <img src=x onerror=alert(1)> -->"));
+        assertEquals("<p>ok</p>", ArticleHtml.sanitize("<p>ok</p><img src=\"x onerror=alert(1)>"));
+    }
+
+    @Test
+    public void testSanitized_cachedUntilContentChanges() {
+        // Arrange
+        String first = ArticleHtml.sanitized("cache-test", "<p>v1</p>");
+
+        // Act
+        String again = ArticleHtml.sanitized("cache-test", "<p>v1</p>");
+        String changed = ArticleHtml.sanitized("cache-test", "<p>v2</p>");
+
+        // Assert
+        assertSame(first, again);
+        assertEquals("<p>v2</p>", changed);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.newsapplication.utils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Per-bind cost of the feed's date label, before and after parsing moved to model build time.
+ *
+ * JMH is not a dependency of this project, so this follows its shape by hand: warmup
+ * iterations that are thrown away, then measured iterations reported as ns/op, with every
+ * result folded into a sink so the JIT cannot drop the work. Run the main method on a JVM;
+ * it is not part of the unit test suite.
+ */
+public class DateUtilsBenchmark {
+
+    private static final String[] SAMPLES = {
+        "2025-12-02T08:15:30.123456+00:00",
+        "2025-11-28T19:02:11.000001+07:00",
+        "2025-10-14T06:45:00",
+        "2024-02-29T23:59:59.5Z"
+    };
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final int OPS_PER_ITERATION = 200_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        long now = System.currentTimeMillis();
+        // The new path parses once per article, as Article does when it is built
+        long[] parsed = new long[SAMPLES.length];
+        for (int i = 0; i < SAMPLES.length; i++) {
+            parsed[i] = DateUtils.parseIso(SAMPLES[i]);
+        }
+
+        run("legacy SimpleDateFormat bind", op -> {
+            String sample = SAMPLES[op % SAMPLES.length];
+            return legacyFormatToFullDate(sample).length() + legacyRelativeTime(sample, now).length();
+        });
+        run("parse once, format millis", op -> {
+            long millis = parsed[op % parsed.length];
+            return DateUtils.formatToFullDate(millis).length() + DateUtils.getRelativeTime(millis, now).length();
+        });
+        run("parseIso only", op -> (int) DateUtils.parseIso(SAMPLES[op % SAMPLES.length]));
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private interface Op {
+        int run(int op);
+    }
+
+    private static void run(String name, Op op) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            double nsPerOp = iteration(op);
+            best = Math.min(best, nsPerOp);
+            total += nsPerOp;
+        }
+        System.out.printf(Locale.US, "%-30s %10.1f ns/op (best %.1f)%n", name, total / MEASURED_ITERATIONS, best);
+    }
+
+    private static double iteration(Op op) {
+        long start = System.nanoTime();
+        long acc = 0;
+        for (int i = 0; i < OPS_PER_ITERATION; i++) {
+            acc += op.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += acc;
+        return (double) elapsed / OPS_PER_ITERATION;
+    }
+
+    // The pre-change DateUtils.formatToFullDate, as NewsAdapter called it on every bind
+    private static String legacyFormatToFullDate(String isoDate) {
+        try {
+            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+            String dateStr = isoDate.split("\\.")[0];
+            if (dateStr.contains("+")) {
+                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
+            }
+            Date date = isoFormat.parse(dateStr);
+            return new SimpleDateFormat("MMM d, yyyy", Locale.US).format(date);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // The pre-change DateUtils.getRelativeTime, with the clock passed in
+    private static String legacyRelativeTime(String isoDate, long now) {
+        try {
+            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+            isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+            String dateStr = isoDate;
+            if (dateStr.contains("+")) {
+                dateStr = dateStr.substring(0, dateStr.indexOf("+"));
+            } else if (dateStr.lastIndexOf("-") > 10) {
+                dateStr = dateStr.substring(0, dateStr.lastIndexOf("-"));
+            }
+            Date date = isoFormat.parse(dateStr);
+            long diffMs = now - date.getTime();
+            long diffMinutes = diffMs / (60 * 1000);
+            long diffHours = diffMs / (60 * 60 * 1000);
+            long diffDays = diffMs / (24 * 60 * 60 * 1000);
+            if (diffMinutes < 1) {
+                return "Just now";
+            } else if (diffMinutes < 60) {
+                return diffMinutes + " min ago";
+            } else if (diffHours < 24) {
+                return diffHours + " hour" + (diffHours > 1 ? "s" : "") + " ago";
+            } else if (diffDays < 7) {
+                return diffDays + " day" + (diffDays > 1 ? "s" : "") + " ago";
+            }
+            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM, d", Locale.US);
+            return outputFormat.format(isoFormat.parse(dateStr));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.newsapplication.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DateUtils
+ */
+public class DateUtilsTest {
+
+    private static final long DEC_2_2025_UTC = 1764633600000L;
+
+    @Test
+    public void testParseIso_dateOnly() {
+        assertEquals(DEC_2_2025_UTC, DateUtils.parseIso("2025-12-02"));
+    }
+
+    @Test
+    public void testParseIso_withoutOffsetIsUtc() {
+        // Act
+        long result = DateUtils.parseIso("2025-12-02T08:15:30");
+
+        // Assert
+        assertEquals(DEC_2_2025_UTC + ((8 * 60 + 15) * 60 + 30) * 1000L, result);
+    }
+
+    @Test
+    public void testParseIso_microsecondsAndZulu() {
+        // Act
+        long result = DateUtils.parseIso("2025-12-02T00:00:00.123456Z");
+
+        // Assert
+        assertEquals(DEC_2_2025_UTC + 123, result);
+    }
+
+    @Test
+    public void testParseIso_offsets() {
+        assertEquals(DEC_2_2025_UTC - 7 * 3600000L, DateUtils.parseIso("2025-12-02T00:00:00+07:00"));
+        assertEquals(DEC_2_2025_UTC - 7 * 3600000L, DateUtils.parseIso("2025-12-02T00:00:00+0700"));
+        assertEquals(DEC_2_2025_UTC + 5 * 3600000L + 30 * 60000L, DateUtils.parseIso("2025-12-02T00:00:00-05:30"));
+    }
+
+    @Test
+    public void testParseIso_leapDayAndPreEpoch() {
+        assertEquals(1709164800000L, DateUtils.parseIso("2024-02-29T00:00:00Z"));
+        assertEquals(-1000L, DateUtils.parseIso("1969-12-31T23:59:59Z"));
+    }
+
+    @Test
+    public void testParseIso_malformed() {
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso(null));
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso(""));
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso("yesterday"));
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso("2025-13-01"));
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso("2025-12-02T08:15:30.Z"));
+        assertEquals(DateUtils.UNKNOWN, DateUtils.parseIso("2025-12-02T08:15:30 extra"));
+    }
+
+    @Test
+    public void testRelativeTime_buckets() {
+        long now = DEC_2_2025_UTC;
+
+        assertEquals("Just now", DateUtils.getRelativeTime(now - 30000, now));
+        assertEquals("5 min ago", DateUtils.getRelativeTime(now - 5 * 60000, now));
+        assertEquals("1 hour ago", DateUtils.getRelativeTime(now - 3600000, now));
+        assertEquals("3 hours ago", DateUtils.getRelativeTime(now - 3 * 3600000, now));
+        assertEquals("1 day ago", DateUtils.getRelativeTime(now - 86400000, now));
+        assertEquals("6 days ago", DateUtils.getRelativeTime(now - 6 * 86400000L, now));
+    }
+
+    @Test
+    public void testNextRelativeTimeChange_nextBucketBoundary() {
+        long published = DEC_2_2025_UTC;
+
+        assertEquals(published + 60000, DateUtils.nextRelativeTimeChange(published, published + 10000));
+        assertEquals(published + 6 * 60000, DateUtils.nextRelativeTimeChange(published, published + 5 * 60000 + 30000));
+        assertEquals(published + 3600000, DateUtils.nextRelativeTimeChange(published, published + 59 * 60000));
+        assertEquals(published + 3 * 3600000, DateUtils.nextRelativeTimeChange(published, published + 2 * 3600000));
+        assertEquals(published + 2 * 86400000L, DateUtils.nextRelativeTimeChange(published, published + 86400000L));
+    }
+
+    @Test
+    public void testNextRelativeTimeChange_labelMatchesBoundary() {
+        // Arrange
+        long published = DEC_2_2025_UTC;
+        long now = published + 45 * 60000 + 12345;
+
+        // Act
+        long changesAt = DateUtils.nextRelativeTimeChange(published, now);
+
+        // Assert
+        assertEquals(DateUtils.getRelativeTime(published, now), DateUtils.getRelativeTime(published, changesAt - 1));
+        assertNotEquals(DateUtils.getRelativeTime(published, now), DateUtils.getRelativeTime(published, changesAt));
+    }
+
+    @Test
+    public void testNextRelativeTimeChange_settledOrUnknown() {
+        long published = DEC_2_2025_UTC;
+
+        assertEquals(published + 60000, DateUtils.nextRelativeTimeChange(published, published - 5000));
+        assertEquals(Long.MAX_VALUE, DateUtils.nextRelativeTimeChange(published, published + 7 * 86400000L));
+        assertEquals(Long.MAX_VALUE, DateUtils.nextRelativeTimeChange(DateUtils.UNKNOWN, published));
+    }
+
+    @Test
+    public void testFormat_unknownIsEmpty() {
+        assertEquals("", DateUtils.formatToFullDate(DateUtils.UNKNOWN));
+        assertEquals("", DateUtils.getRelativeTime(DateUtils.UNKNOWN, 0));
+        assertEquals("", DateUtils.formatToShortMonthDay("not a date"));
+    }
+
+    @Test
+    public void testCivilConversion_roundTrips() {
+        for (long days = -200000; days <= 200000; days += 97) {
+            int civil = DateUtils.civilFromDays(days);
+            assertEquals(days, DateUtils.daysFromCivil(civil / 10000, civil / 100 % 100, civil % 100));
+        }
+    }
+}
@@ -263,4 +263,45 @@ public class JsonParsingUtilsTest {
         assertNotNull(result);
         assertEquals(0, result.size());
     }
+
+    @Test
+    public void testParseBookmarkedArticles_embeddedArticle() throws Exception {
+        // Arrange
+        JSONObject article = new JSONObject();
+        article.put("id", "42");
+        article.put("title", "Saved");
+        JSONObject bookmark = new JSONObject();
+        bookmark.put("article_id", "42");
+        bookmark.put("articles", article);
+        JSONObject data = new JSONObject();
+        data.put("bookmarks", new JSONArray().put(bookmark));
+        JSONObject response = new JSONObject();
+        response.put("data", data);
+
+        // Act
+        List<Article> result = JsonParsingUtils.parseBookmarkedArticles(response);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("42", result.get(0).getId());
+        assertEquals("Saved", result.get(0).getTitle());
+        assertTrue(result.get(0).isBookmarked());
+    }
+
+    @Test
+    public void testParseBookmarkedArticles_idOnlyBookmark() throws Exception {
+        // Arrange
+        JSONObject bookmark = new JSONObject();
+        bookmark.put("article_id", "7");
+        JSONObject response = new JSONObject();
+        response.put("bookmarks", new JSONArray().put(bookmark));
+
+        // Act
+        List<Article> result = JsonParsingUtils.parseBookmarkedArticles(response);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("7", result.get(0).getId());
+        assertEquals("Saved Article", result.get(0).getTitle());
+    }
 }